@@ -0,0 +1,149 @@
+package org.lin.lin_admin.common.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预先序列化并压缩好的JSON响应
+ * 同时保存原始、gzip 和 deflate 三种编码，按请求的 Accept-Encoding 选择一种直接写出。
+ * 压缩后不比原始字节小的编码不保存，协商时退回原始字节。
+ * 客户端以 q=0 拒绝了所有已保存的编码（包括 identity;q=0 或未列出 identity 时的 *;q=0）时返回 406。
+ */
+public class EncodedResponse {
+
+    public static final String IDENTITY = "identity";
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final byte[] deflate;
+
+    private EncodedResponse(byte[] identity, byte[] gzip, byte[] deflate) {
+        this.identity = identity;
+        this.gzip = gzip;
+        this.deflate = deflate;
+    }
+
+    /**
+     * 压缩序列化后的响应
+     * @param json 序列化后的JSON
+     * @param minCompressBytes 小于该字节数时不压缩
+     * @return 编码后的响应
+     */
+    public static EncodedResponse of(byte[] json, int minCompressBytes) {
+        if (json.length < minCompressBytes) {
+            return new EncodedResponse(json, null, null);
+        }
+        byte[] gzip = compress(json, true);
+        byte[] deflate = compress(json, false);
+        return new EncodedResponse(json,
+                gzip.length < json.length ? gzip : null,
+                deflate.length < json.length ? deflate : null);
+    }
+
+    /**
+     * 按 Accept-Encoding 选择编码，生成响应
+     * @param acceptEncoding 请求头 Accept-Encoding，可为null
+     * @return 200 响应，响应体为选中编码的字节；没有可接受的编码时返回 406
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+        String encoding = negotiate(acceptEncoding);
+        if (encoding == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        byte[] body = GZIP.equals(encoding) ? gzip : DEFLATE.equals(encoding) ? deflate : identity;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentLength(body.length);
+        if (!IDENTITY.equals(encoding)) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * 按 Accept-Encoding 的 q 值选择已保存的编码，q 值相同时优先 gzip。
+     * 未列出的编码取 * 的 q 值；identity 只有被 identity;q=0 或（未列出 identity 时）*;q=0 显式拒绝时才不可用
+     * @param acceptEncoding 请求头 Accept-Encoding，可为null
+     * @return gzip、deflate 或 identity；所有已保存的编码都被拒绝时返回null
+     */
+    public String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        double gzipQ = -1;
+        double deflateQ = -1;
+        double identityQ = -1;
+        double wildcardQ = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzipQ = q;
+                case "deflate" -> deflateQ = q;
+                case IDENTITY -> identityQ = q;
+                case "*" -> wildcardQ = q;
+                default -> {
+                }
+            }
+        }
+        if (gzipQ < 0) {
+            gzipQ = wildcardQ;
+        }
+        if (deflateQ < 0) {
+            deflateQ = wildcardQ;
+        }
+        if (gzip != null && gzipQ > 0 && (deflate == null || gzipQ >= deflateQ)) {
+            return GZIP;
+        }
+        if (deflate != null && deflateQ > 0) {
+            return DEFLATE;
+        }
+        if (identityQ < 0) {
+            identityQ = wildcardQ == 0 ? 0 : 1;
+        }
+        return identityQ > 0 ? IDENTITY : null;
+    }
+
+    /**
+     * @return 三种编码占用的总字节数
+     */
+    public int weight() {
+        return identity.length + (gzip != null ? gzip.length : 0) + (deflate != null ? deflate.length : 0);
+    }
+
+    private static byte[] compress(byte[] data, boolean gzip) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package org.lin.lin_admin.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 公开接口的响应字节缓存
+ * 以 路由 + 参数 + 内容版本 为键，保存序列化并压缩好的 {@link EncodedResponse}。
+ * 命中时既不序列化也不压缩；内容变化后版本号随之变化，旧版本的条目不再被访问，由容量和过期策略淘汰。
+ */
+@Component
+public class EncodedResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EncodedResponseCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<String, EncodedResponse> cache;
+
+    private final int minCompressBytes;
+
+    public EncodedResponseCache(@Value("${response.cache.max-weight:33554432}") long maxWeight,
+                                @Value("${response.cache.expire-minutes:60}") long expireMinutes,
+                                @Value("${response.cache.min-compress-bytes:256}") int minCompressBytes) {
+        this.minCompressBytes = minCompressBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, EncodedResponse response) -> key.length() * 2 + response.weight())
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        logger.info("响应缓存初始化，最大权重：{}字节，过期时间：{}分钟", maxWeight, expireMinutes);
+    }
+
+    /**
+     * 获取缓存的响应，未命中时调用加载函数并序列化、压缩
+     * @param route 路由，如 articles
+     * @param params 影响响应内容的参数
+     * @param version 内容版本
+     * @param loader 加载函数，返回要序列化的响应对象；返回null时不缓存
+     * @return 编码后的响应，加载函数返回null时返回null
+     */
+    public EncodedResponse get(String route, String params, String version, Supplier<?> loader) {
+        return cache.get(route + '?' + params + '#' + version, key -> {
+            Object body = loader.get();
+            if (body == null) {
+                return null;
+            }
+            try {
+                return EncodedResponse.of(objectMapper.writeValueAsBytes(body), minCompressBytes);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("序列化响应失败：" + key, e);
+            }
+        });
+    }
+
+    /**
+     * 获取缓存统计信息，用于评估缓存容量
+     * @return 命中、未命中、淘汰等计数
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("weightedSize", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+}
@@ -49,9 +49,12 @@ public class SecurityConfig {
                 .requestMatchers("/", "/index.html", "/css/**", "/js/**", "/img/**", "/fonts/**", "/*.js", "/*.json", "/*.ico").permitAll()
                 // 允许公共API访问
                 .requestMatchers("/articles", "/articles/**").permitAll()
-                .requestMatchers("/tools").permitAll()
+                .requestMatchers("/tools", "/tags").permitAll()
+                .requestMatchers("/feed.xml", "/atom.xml", "/sitemap.xml", "/sitemap-*.xml").permitAll()
                 // 允许访问上传文件
                 .requestMatchers("/uploads/**").permitAll()
+                // 允许访问公开页面快照
+                .requestMatchers("/snapshots/**").permitAll()
                 // 允许OPTIONS请求通过
                 .requestMatchers("/**").permitAll()
                 // 需要登录访问的API路径
@@ -2,9 +2,12 @@ package org.lin.lin_admin.common.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -18,6 +21,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    @Value("${snapshot.dir:snapshots}")
+    private String snapshotDir;
+
     /**
      * 配置CORS跨域
      */
@@ -46,5 +52,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:" + uploadPath.toString() + "/");
                 
         System.out.println("配置上传目录映射: /uploads/** -> " + uploadPath.toString());
+        
+        // 公开页面静态快照，客户端支持gzip时直接返回预压缩的 .gz 文件
+        Path snapshotPath = Paths.get(snapshotDir).toAbsolutePath().normalize();
+        registry.addResourceHandler("/snapshots/**")
+                .addResourceLocations("file:" + snapshotPath.toString() + "/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
     }
 } 
\ No newline at end of file
@@ -47,6 +47,17 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(404, e.getMessage());
     }
 
+    /**
+     * 处理版本冲突异常
+     * @param e 版本冲突异常
+     * @return API响应
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Void> handleVersionConflictException(VersionConflictException e) {
+        return ApiResponse.error(409, e.getMessage());
+    }
+
     /**
      * 处理通用异常
      * @param e 异常
@@ -0,0 +1,16 @@
+package org.lin.lin_admin.common.exception;
+
+/**
+ * 版本冲突异常
+ * 用于表示乐观锁校验失败，即资源在读取之后已被其他请求修改
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    public VersionConflictException(String message) {
+        super(message);
+    }
+    
+    public VersionConflictException(String resourceType, Long id) {
+        super(resourceType + "已被修改，请刷新后重试，ID: " + id);
+    }
+} 
@@ -0,0 +1,54 @@
+package org.lin.lin_admin.common.response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量操作结果，记录每个ID的处理结果
+ */
+public class BatchResult {
+    private List<Long> succeeded = new ArrayList<>();
+    private Map<Long, String> failed = new LinkedHashMap<>();
+
+    /**
+     * 记录处理成功的ID
+     * @param id ID
+     */
+    public void succeed(Long id) {
+        succeeded.add(id);
+    }
+
+    /**
+     * 记录处理失败的ID
+     * @param id ID
+     * @param reason 失败原因
+     */
+    public void fail(Long id, String reason) {
+        failed.put(id, reason);
+    }
+
+    /**
+     * @return 是否全部处理成功
+     */
+    public boolean isAllSucceeded() {
+        return failed.isEmpty();
+    }
+
+    public List<Long> getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(List<Long> succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Map<Long, String> getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Map<Long, String> failed) {
+        this.failed = failed;
+    }
+}
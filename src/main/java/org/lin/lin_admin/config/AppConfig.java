@@ -1,11 +1,13 @@
 package org.lin.lin_admin.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 应用全局配置类
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
     // 已移除objectMapper方法，因为JacksonConfig中有更完善的实现
 } 
\ No newline at end of file
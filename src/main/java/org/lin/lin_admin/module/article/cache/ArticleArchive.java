@@ -0,0 +1,169 @@
+package org.lin.lin_admin.module.article.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.lin.lin_admin.common.response.ApiResponse;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.vo.ArchiveEntryVO;
+import org.lin.lin_admin.module.article.vo.ArchiveMonthVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 文章归档时间线
+ * 在内存中按月份维护已发布文章的标题列表，文章发布、取消发布、删除时增量更新。
+ * 读取时返回预先序列化好的响应字节，只在内容变化后的第一次读取时重新序列化。
+ */
+@Component
+public class ArticleArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleArchive.class);
+
+    private static final Comparator<ArchiveEntryVO> NEWEST_FIRST = Comparator
+            .comparing(ArchiveEntryVO::getPublishedAt)
+            .thenComparing(ArchiveEntryVO::getId)
+            .reversed();
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 月份（倒序）到该月文章（倒序）
+     */
+    private final NavigableMap<YearMonth, NavigableSet<ArchiveEntryVO>> months = new TreeMap<>(Comparator.reverseOrder());
+
+    private final Map<Long, ArchiveEntryVO> entries = new HashMap<>();
+
+    /**
+     * 序列化后的响应，内容变化时置空
+     */
+    private volatile byte[] json;
+
+    /**
+     * 应用启动后加载归档
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("加载文章归档失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载归档
+     */
+    public synchronized void reload() {
+        months.clear();
+        entries.clear();
+        for (ArticleSummary article : articleMapper.findPublishedTimeline()) {
+            add(new ArchiveEntryVO(article.getId(), article.getTitle(), article.getPublishedAt()));
+        }
+        json = null;
+        logger.info("文章归档加载完成，文章数：{}，月份数：{}", entries.size(), months.size());
+    }
+
+    /**
+     * 文章变更事务提交后增量更新归档
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.wasPublished() && !event.isPublished()) {
+            return;
+        }
+        ArchiveEntryVO previous = remove(event.getArticleId());
+        Article after = event.getAfter();
+        if (event.isPublished() && after.getPublishedAt() != null) {
+            String title = after.getTitle() != null ? after.getTitle() : previous != null ? previous.getTitle() : null;
+            add(new ArchiveEntryVO(after.getId(), title, after.getPublishedAt()));
+        }
+        json = null;
+    }
+
+    /**
+     * 批量变更后重新加载归档
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * 获取归档响应
+     * @return 序列化后的 ApiResponse&lt;List&lt;ArchiveMonthVO&gt;&gt;
+     */
+    public byte[] getJson() {
+        byte[] cached = json;
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            if (json == null) {
+                try {
+                    json = objectMapper.writeValueAsBytes(ApiResponse.success(toMonths()));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("序列化文章归档失败", e);
+                }
+            }
+            return json;
+        }
+    }
+
+    private List<ArchiveMonthVO> toMonths() {
+        List<ArchiveMonthVO> result = new ArrayList<>(months.size());
+        for (Map.Entry<YearMonth, NavigableSet<ArchiveEntryVO>> month : months.entrySet()) {
+            result.add(new ArchiveMonthVO(month.getKey().toString(), new ArrayList<>(month.getValue())));
+        }
+        return result;
+    }
+
+    private void add(ArchiveEntryVO entry) {
+        entries.put(entry.getId(), entry);
+        months.computeIfAbsent(monthOf(entry.getPublishedAt()), k -> new TreeSet<>(NEWEST_FIRST)).add(entry);
+    }
+
+    private ArchiveEntryVO remove(Long id) {
+        ArchiveEntryVO entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        YearMonth month = monthOf(entry.getPublishedAt());
+        NavigableSet<ArchiveEntryVO> monthEntries = months.get(month);
+        if (monthEntries != null) {
+            monthEntries.remove(entry);
+            if (monthEntries.isEmpty()) {
+                months.remove(month);
+            }
+        }
+        return entry;
+    }
+
+    private static YearMonth monthOf(LocalDateTime time) {
+        return YearMonth.from(time);
+    }
+}
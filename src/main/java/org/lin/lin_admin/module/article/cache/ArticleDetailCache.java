@@ -0,0 +1,149 @@
+package org.lin.lin_admin.module.article.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 已发布文章详情缓存
+ * 基于Caffeine（W-TinyLFU准入策略），按估算字节数限制总权重，
+ * 并给每个条目设置最小权重，从而同时限制条目数量。
+ * 文章写操作提交后按ID精确失效；标签重命名、删除后缓存的标签名称全部过期，整体清空。
+ */
+@Component
+public class ArticleDetailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleDetailCache.class);
+
+    /**
+     * 每个条目的固定开销估算（对象头、时间字段、标签列表等）
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final Cache<Long, ArticleVO> cache;
+
+    public ArticleDetailCache(@Value("${article.cache.max-size:1000}") long maxSize,
+                              @Value("${article.cache.max-weight:67108864}") long maxWeight,
+                              @Value("${article.cache.expire-minutes:60}") long expireMinutes) {
+        // 每个条目至少占 maxWeight / maxSize 的权重，因此条目数不会超过 maxSize
+        int minEntryWeight = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxWeight / Math.max(1, maxSize)));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, ArticleVO vo) -> Math.max(minEntryWeight, estimateBytes(vo)))
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        logger.info("文章详情缓存初始化，最大条目数：{}，最大权重：{}字节，过期时间：{}分钟", maxSize, maxWeight, expireMinutes);
+    }
+
+    /**
+     * 获取缓存的文章，未命中时调用加载函数
+     * 加载函数返回null时不缓存（文章不存在或未发布）
+     * @param id 文章ID
+     * @param loader 加载函数
+     * @return 文章VO，可能为null
+     */
+    public ArticleVO get(Long id, Function<Long, ArticleVO> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * 获取缓存的文章，未命中时不加载
+     * @param id 文章ID
+     * @return 文章VO，未缓存时返回null
+     */
+    public ArticleVO getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * 失效指定文章
+     * @param id 文章ID
+     */
+    public void invalidate(Long id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 文章变更事务提交后失效对应缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        logger.debug("文章{}已{}，失效详情缓存", event.getArticleId(), event.getType());
+        invalidate(event.getArticleId());
+    }
+
+    /**
+     * 标签变更事务提交后清空缓存
+     * 标签写操作很少，整体清空比按标签查找引用它的文章更简单。
+     * 在标签字典重新加载之后、版本号递增之前执行，新版本的响应缓存不会从这里读到旧标签名称
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onTagChanged(TagChangedEvent event) {
+        logger.debug("标签{}已变更，清空详情缓存", event.getTagId());
+        invalidateAll();
+    }
+
+    /**
+     * 获取缓存统计信息，用于评估缓存容量
+     * @return 命中、未命中、淘汰等计数
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("weightedSize", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+
+    /**
+     * 估算文章VO占用的字节数（Java字符串按每字符2字节估算）
+     */
+    private static int estimateBytes(ArticleVO vo) {
+        long chars = length(vo.getTitle()) + length(vo.getSummary()) + length(vo.getContent())
+                + length(vo.getContentHtml()) + length(vo.getToc()) + length(vo.getCoverImage());
+        if (vo.getTags() != null) {
+            for (String tag : vo.getTags()) {
+                chars += length(tag);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,113 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文章内容版本跟踪，用于生成条件请求(ETag / Last-Modified)的校验值
+ * 公开列表的版本号在已发布文章发生变化时递增；详情的ETag由文章ID、更新时间和标签版本生成。
+ * 标签重命名、删除不会修改文章的更新时间，但会改变列表和详情中的标签名称，因此同时递增列表版本和标签版本。
+ */
+@Component
+public class ArticleVersionTracker {
+
+    /**
+     * 启动标识，保证重启后生成的列表ETag不会与重启前的重复
+     */
+    private final long bootId = System.currentTimeMillis();
+
+    private final AtomicLong listVersion = new AtomicLong();
+
+    private volatile long listLastModified = bootId;
+
+    private final AtomicLong tagVersion = new AtomicLong();
+
+    private volatile long tagLastModified = bootId;
+
+    /**
+     * 已发布文章变更事务提交后递增列表版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.wasPublished() || event.isPublished()) {
+            listVersion.incrementAndGet();
+            listLastModified = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 批量变更后递增列表版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        listVersion.incrementAndGet();
+        listLastModified = System.currentTimeMillis();
+    }
+
+    /**
+     * 标签变更事务提交后递增标签版本和列表版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        long now = System.currentTimeMillis();
+        tagVersion.incrementAndGet();
+        tagLastModified = now;
+        listVersion.incrementAndGet();
+        listLastModified = now;
+    }
+
+    /**
+     * @return 公开文章列表的当前版本号
+     */
+    public long getListVersion() {
+        return listVersion.get();
+    }
+
+    /**
+     * @return 公开文章列表的ETag
+     */
+    public String listETag() {
+        return "\"articles-" + Long.toString(bootId, 36) + "-" + listVersion.get() + "\"";
+    }
+
+    /**
+     * @return 公开文章列表最后变更时间(毫秒)
+     */
+    public long listLastModified() {
+        return listLastModified;
+    }
+
+    /**
+     * 生成文章详情的强ETag
+     * @param id 文章ID
+     * @param updatedAt 文章更新时间
+     * @return ETag
+     */
+    public String detailETag(Long id, LocalDateTime updatedAt) {
+        return "\"article-" + id + "-" + toEpochMilli(updatedAt) + "-"
+                + Long.toString(bootId, 36) + "-" + tagVersion.get() + "\"";
+    }
+
+    /**
+     * 文章详情最后变更时间(毫秒)，取文章更新时间和标签最后变更时间中较晚的一个
+     * @param updatedAt 文章更新时间
+     * @return 毫秒时间戳
+     */
+    public long detailLastModified(LocalDateTime updatedAt) {
+        return Math.max(toEpochMilli(updatedAt), tagLastModified);
+    }
+
+    /**
+     * 将数据库时间转换为毫秒时间戳，用于 Last-Modified
+     */
+    public static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
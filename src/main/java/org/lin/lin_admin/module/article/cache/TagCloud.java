@@ -0,0 +1,114 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.lin.lin_admin.module.article.search.ArticleTagIndex;
+import org.lin.lin_admin.module.article.vo.TagCountVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 标签云
+ * 每个标签的已发布文章数量直接取自 {@link ArticleTagIndex} 中该标签位图的基数，
+ * 位图在启动时加载，并随文章发布、归档、删除和标签修改增量维护，因此统计不需要 COUNT 查询。
+ * 已发布文章或标签变化后版本号递增，版本号用作ETag和响应缓存的键。
+ */
+@Component
+public class TagCloud {
+
+    private static final Comparator<TagCountVO> MOST_USED_FIRST = Comparator
+            .comparingInt(TagCountVO::getCount).reversed()
+            .thenComparing(TagCountVO::getName);
+
+    @Autowired
+    private ArticleTagIndex articleTagIndex;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    /**
+     * 启动标识，保证重启后生成的ETag不会与重启前的重复
+     */
+    private final long bootId = System.currentTimeMillis();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile long lastModified = bootId;
+
+    /**
+     * 已发布文章变更事务提交后递增版本，此时标签索引已更新
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.wasPublished() || event.isPublished()) {
+            changed();
+        }
+    }
+
+    /**
+     * 批量变更后递增版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        changed();
+    }
+
+    /**
+     * 标签新增、重命名、删除后递增版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        changed();
+    }
+
+    /**
+     * 生成标签云
+     * @return 至少有一篇已发布文章的标签，按文章数量降序、名称升序
+     */
+    public List<TagCountVO> build() {
+        List<Tag> tags = tagDictionary.findAll();
+        List<TagCountVO> result = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            int count = articleTagIndex.count(tag.getId());
+            if (count > 0) {
+                result.add(new TagCountVO(tag.getId(), tag.getName(), count));
+            }
+        }
+        result.sort(MOST_USED_FIRST);
+        return result;
+    }
+
+    /**
+     * @return 当前版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return 标签云的ETag
+     */
+    public String etag() {
+        return "\"tags-" + Long.toString(bootId, 36) + "-" + version.get() + "\"";
+    }
+
+    /**
+     * @return 最后变更时间(毫秒)
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+}
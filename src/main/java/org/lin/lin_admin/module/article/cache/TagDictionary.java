@@ -0,0 +1,199 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标签字典
+ * 标签表很小且很少修改，整体加载为不可变的 ID↔名称 快照，读取时不加锁也不访问数据库。
+ * 标签写操作提交后重新加载并整体替换快照（写时复制），读取方每次只使用同一个快照，不会看到修改了一半的数据。
+ * 返回给调用方的 {@link Tag} 都是副本，修改它们不影响快照。
+ */
+@Component
+public class TagDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagDictionary.class);
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 应用启动后加载字典
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("加载标签字典失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载并替换快照
+     */
+    public synchronized void reload() {
+        Snapshot loaded = new Snapshot(tagMapper.findAll());
+        snapshot = loaded;
+        logger.info("标签字典加载完成，标签数：{}", loaded.all.size());
+    }
+
+    /**
+     * 标签新增、重命名、删除事务提交后替换快照，先于标签云等依赖标签名的监听方执行
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTagChanged(TagChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * 批量导入可能创建了新标签，重新加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * @return 所有标签（副本），按ID升序
+     */
+    public List<Tag> findAll() {
+        List<Tag> all = current().all;
+        List<Tag> result = new ArrayList<>(all.size());
+        for (Tag tag : all) {
+            result.add(copy(tag));
+        }
+        return result;
+    }
+
+    /**
+     * @param id 标签ID
+     * @return 标签副本，不存在时返回null
+     */
+    public Tag findById(Long id) {
+        return copy(current().byId.get(id));
+    }
+
+    /**
+     * @param name 标签名
+     * @return 标签副本，不存在时返回null
+     */
+    public Tag findByName(String name) {
+        return copy(current().byName.get(name));
+    }
+
+    /**
+     * @param id 标签ID
+     * @return 标签名，不存在时返回null
+     */
+    public String nameOf(Long id) {
+        Tag tag = current().byId.get(id);
+        return tag != null ? tag.getName() : null;
+    }
+
+    /**
+     * 过滤出存在的标签ID
+     * @param ids 标签ID
+     * @return 存在的标签ID，保持传入顺序
+     */
+    public List<Long> filterExisting(Collection<Long> ids) {
+        Map<Long, Tag> byId = current().byId;
+        List<Long> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (byId.containsKey(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 把标签ID转换为标签名
+     * @param ids 标签ID
+     * @return 标签名，保持传入顺序，不存在的标签被跳过
+     */
+    public List<String> names(Collection<Long> ids) {
+        Map<Long, Tag> byId = current().byId;
+        List<String> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Tag tag = byId.get(id);
+            if (tag != null) {
+                result.add(tag.getName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 尚未加载时（如启动完成前被调用）立即加载
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static Tag copy(Tag tag) {
+        if (tag == null) {
+            return null;
+        }
+        Tag copy = new Tag();
+        copy.setId(tag.getId());
+        copy.setName(tag.getName());
+        return copy;
+    }
+
+    /**
+     * 不可变的字典快照
+     */
+    private static final class Snapshot {
+        final List<Tag> all;
+        final Map<Long, Tag> byId;
+        final Map<String, Tag> byName;
+
+        Snapshot(List<Tag> tags) {
+            List<Tag> sorted = new ArrayList<>(tags.size());
+            Map<Long, Tag> ids = new HashMap<>();
+            Map<String, Tag> names = new HashMap<>();
+            for (Tag tag : tags) {
+                Tag copy = copy(tag);
+                sorted.add(copy);
+                ids.put(copy.getId(), copy);
+                names.put(copy.getName(), copy);
+            }
+            sorted.sort(Comparator.comparing(Tag::getId));
+            this.all = List.copyOf(sorted);
+            this.byId = Map.copyOf(ids);
+            this.byName = Map.copyOf(names);
+        }
+    }
+}
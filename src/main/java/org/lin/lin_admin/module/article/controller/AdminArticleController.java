@@ -1,21 +1,45 @@
 package org.lin.lin_admin.module.article.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.lin.lin_admin.common.cache.EncodedResponseCache;
 import org.lin.lin_admin.common.response.ApiResponse;
+import org.lin.lin_admin.common.response.BatchResult;
 import org.lin.lin_admin.common.paging.PageResult;
 import org.lin.lin_admin.common.exception.ResourceNotFoundException;
+import org.lin.lin_admin.common.exception.VersionConflictException;
+import org.lin.lin_admin.module.article.cache.ArticleDetailCache;
 import org.lin.lin_admin.module.article.dto.ArticleDTO;
+import org.lin.lin_admin.module.article.dto.ArticleQuery;
+import org.lin.lin_admin.module.article.render.ArticleRenderBackfillJob;
 import org.lin.lin_admin.module.article.service.ArticleService;
+import org.lin.lin_admin.module.article.storage.ArticleContentCodec;
+import org.lin.lin_admin.module.article.storage.ArticleContentCompressionJob;
+import org.lin.lin_admin.module.article.transfer.ArticleExporter;
+import org.lin.lin_admin.module.article.transfer.ArticleImporter;
+import org.lin.lin_admin.module.article.transfer.ImportProgress;
+import org.lin.lin_admin.module.article.service.ArticleStatsService;
 import org.lin.lin_admin.module.article.vo.ArticleVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 文章管理控制器 - 提供管理端的文章API
@@ -26,9 +50,37 @@ public class AdminArticleController {
     
     private static final Logger logger = LoggerFactory.getLogger(AdminArticleController.class);
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private ArticleService articleService;
     
+    @Autowired
+    private ArticleStatsService articleStatsService;
+    
+    @Autowired
+    private ArticleDetailCache articleDetailCache;
+    
+    @Autowired
+    private ArticleRenderBackfillJob articleRenderBackfillJob;
+    
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+    
+    @Autowired
+    private ArticleContentCompressionJob articleContentCompressionJob;
+    
+    @Autowired
+    private ArticleImporter articleImporter;
+    
+    @Autowired
+    private ArticleExporter articleExporter;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * 获取所有文章(包括草稿)
      * @return 文章列表
@@ -49,18 +101,37 @@ public class AdminArticleController {
      * 分页获取文章
      * @param page 页码
      * @param size 每页数量
-     * @param status 状态(可选)
+     * @param status 状态(可选，可传多个，如 status=draft,published)
+     * @param authorId 作者ID(可选)
+     * @param startTime 创建时间起点(可选，包含)
+     * @param endTime 创建时间终点(可选，不包含)
      * @return 文章分页列表
      */
     @GetMapping("/page")
     public ApiResponse<PageResult<ArticleVO>> getArticlePage(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
         try {
             logger.info("分页获取文章，页码：{}，每页数量：{}，状态：{}", page, size, status);
-        PageResult<ArticleVO> result = articleService.page(page, size, status);
-        return ApiResponse.success(result);
+            ArticleQuery query = new ArticleQuery();
+            query.setPageNum(page);
+            query.setPageSize(size);
+            if (status != null) {
+                query.setStatuses(status.stream()
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .distinct()
+                        .collect(Collectors.toList()));
+            }
+            query.setAuthorId(authorId);
+            query.setCreatedFrom(startTime);
+            query.setCreatedTo(endTime);
+            PageResult<ArticleVO> result = articleService.page(query);
+            return ApiResponse.success(result);
         } catch (Exception e) {
             logger.error("分页获取文章失败", e);
             return ApiResponse.serverError("分页获取文章失败: " + e.getMessage());
@@ -69,42 +140,135 @@ public class AdminArticleController {
     
     /**
      * 获取文章统计数据
+     * @param refresh 是否先从数据库重新加载计数器
      * @return 文章统计信息
      */
     @GetMapping("/stats")
-    public ApiResponse<Map<String, Object>> getArticleStats() {
+    public ApiResponse<Map<String, Object>> getArticleStats(@RequestParam(defaultValue = "false") boolean refresh) {
         try {
-            logger.info("获取文章统计数据");
-            Map<String, Object> stats = new HashMap<>();
-            
-            // 这里可以根据需求添加各种统计数据
-            List<ArticleVO> allArticles = articleService.findAll();
-            int totalCount = allArticles.size();
-            
-            long publishedCount = allArticles.stream()
-                .filter(a -> "published".equals(a.getStatus()))
-                .count();
-                
-            long draftCount = allArticles.stream()
-                .filter(a -> "draft".equals(a.getStatus()))
-                .count();
-                
-            long archivedCount = allArticles.stream()
-                .filter(a -> "archived".equals(a.getStatus()))
-                .count();
-            
-            stats.put("totalCount", totalCount);
-            stats.put("publishedCount", publishedCount);
-            stats.put("draftCount", draftCount);
-            stats.put("archivedCount", archivedCount);
-            
-            return ApiResponse.success(stats);
+            logger.info("获取文章统计数据，重新加载：{}", refresh);
+            if (refresh) {
+                articleStatsService.reload();
+            }
+            return ApiResponse.success(articleStatsService.getStats());
         } catch (Exception e) {
             logger.error("获取文章统计数据失败", e);
             return ApiResponse.serverError("获取文章统计数据失败: " + e.getMessage());
         }
     }
     
+    /**
+     * 获取文章详情缓存统计
+     * @return 命中、未命中、淘汰等计数
+     */
+    @GetMapping("/cache/stats")
+    public ApiResponse<Map<String, Object>> getCacheStats() {
+        return ApiResponse.success(articleDetailCache.stats());
+    }
+    
+    /**
+     * 获取公开接口响应缓存统计
+     * @return 命中、未命中、淘汰等计数
+     */
+    @GetMapping("/cache/response-stats")
+    public ApiResponse<Map<String, Object>> getResponseCacheStats() {
+        return ApiResponse.success(encodedResponseCache.stats());
+    }
+    
+    /**
+     * 回填历史文章的渲染字段(HTML、目录、字数、阅读时间)
+     * @return 回填的文章数量
+     */
+    @PostMapping("/render/backfill")
+    public ApiResponse<Integer> backfillRendered() {
+        try {
+            logger.info("回填历史文章渲染字段");
+            int count = articleRenderBackfillJob.run();
+            if (count < 0) {
+                return ApiResponse.error(409, "回填任务正在执行");
+            }
+            return ApiResponse.success(count);
+        } catch (Exception e) {
+            logger.error("回填文章渲染字段失败", e);
+            return ApiResponse.serverError("回填文章渲染字段失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 压缩历史文章的正文，正文不小于压缩阈值且仍以未编码文本存储的文章按当前格式重新写入
+     * @return 重新写入的文章数量
+     */
+    @PostMapping("/storage/compress")
+    public ApiResponse<Integer> compressStoredContent() {
+        try {
+            logger.info("压缩历史文章正文");
+            int count = articleContentCompressionJob.run();
+            if (count < 0) {
+                return ApiResponse.error(409, "正文压缩任务正在执行");
+            }
+            return ApiResponse.success(count);
+        } catch (Exception e) {
+            logger.error("压缩文章正文失败", e);
+            return ApiResponse.serverError("压缩文章正文失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取正文存储编码统计
+     * @return 编码、解码次数和平均耗时，压缩率
+     */
+    @GetMapping("/storage/stats")
+    public ApiResponse<Map<String, Object>> getStorageStats() {
+        return ApiResponse.success(ArticleContentCodec.getStats());
+    }
+    
+    /**
+     * 批量导入文章
+     * 请求体为 NDJSON，每行一篇文章（格式同导出）；边读取边分批写入，
+     * 响应同样为 NDJSON，每写入一批返回一行进度，出错的行返回错误信息，最后一行为导入结果
+     * @param request 请求
+     * @param response 响应
+     * @throws IOException 写出响应失败
+     */
+    @PostMapping(value = "/import", produces = NDJSON)
+    public void importArticles(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long userId = getCurrentUserId();
+        logger.info("批量导入文章，操作者ID: {}", userId);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        Consumer<ImportProgress> writeLine = progress -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            writeLine.accept(articleImporter.importArticles(request.getInputStream(), userId, writeLine));
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("批量导入文章中断", e);
+        }
+    }
+    
+    /**
+     * 导出全部文章
+     * 响应为 NDJSON，每行一篇文章，可直接用于导入；文章逐行从数据库读取并写出
+     * @param response 响应
+     * @throws IOException 写出响应失败
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportArticles(HttpServletResponse response) throws IOException {
+        logger.info("导出全部文章");
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"articles-" + LocalDate.now() + ".ndjson\"");
+        articleExporter.export(response.getOutputStream());
+    }
+    
     /**
      * 根据ID获取文章
      * @param id 文章ID
@@ -148,6 +312,10 @@ public class AdminArticleController {
             if (dto.getContent() == null || dto.getContent().trim().isEmpty()) {
                 return ApiResponse.error(400, "文章内容不能为空");
             }
+            String scheduleError = validateSchedule(dto.getStatus(), dto.getPublishAt());
+            if (scheduleError != null) {
+                return ApiResponse.error(400, scheduleError);
+            }
             
         Long userId = getCurrentUserId();
             logger.info("当前用户ID: {}", userId);
@@ -178,6 +346,10 @@ public class AdminArticleController {
             if (dto.getContent() == null || dto.getContent().trim().isEmpty()) {
                 return ApiResponse.error(400, "文章内容不能为空");
             }
+            String scheduleError = validateSchedule(dto.getStatus(), dto.getPublishAt());
+            if (scheduleError != null) {
+                return ApiResponse.error(400, scheduleError);
+            }
             
         dto.setId(id);
         Long userId = getCurrentUserId();
@@ -189,6 +361,9 @@ public class AdminArticleController {
         } catch (ResourceNotFoundException e) {
             logger.error("文章不存在，ID: {}", id);
             return ApiResponse.error(404, e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("文章版本冲突，ID: {}", id);
+            return ApiResponse.error(409, e.getMessage());
         } catch (Exception e) {
             logger.error("更新文章失败，ID: {}", id, e);
             return ApiResponse.serverError("更新文章失败: " + e.getMessage());
@@ -197,48 +372,91 @@ public class AdminArticleController {
     
     /**
      * 批量删除文章
+     * 所有文章在一个事务中批量校验和删除，部分文章不存在或无权删除时返回207和每篇文章的结果
      * @param request 包含要删除的文章ID列表
-     * @return 成功响应
+     * @return 批量处理结果
      */
     @DeleteMapping("/batch")
-    public ApiResponse<Void> batchDeleteArticles(@RequestBody BatchDeleteRequest request) {
+    public ApiResponse<BatchResult> batchDeleteArticles(@RequestBody BatchRequest request) {
         try {
             logger.info("批量删除文章请求，ID列表: {}", request.getIds());
-            if (request.getIds() == null || request.getIds().isEmpty()) {
-                return ApiResponse.error(400, "文章ID列表不能为空");
+            ApiResponse<BatchResult> invalid = validateBatch(request);
+            if (invalid != null) {
+                return invalid;
             }
             
             Long userId = getCurrentUserId();
             logger.info("当前用户ID: {}", userId);
             
-            int successCount = 0;
-            StringBuilder errorMsg = new StringBuilder();
-            
-            for (Long id : request.getIds()) {
-                try {
-                    articleService.delete(id, userId);
-                    successCount++;
-                } catch (ResourceNotFoundException e) {
-                    errorMsg.append("文章ID ").append(id).append(" 不存在; ");
-                } catch (Exception e) {
-                    errorMsg.append("删除文章ID ").append(id).append(" 失败: ").append(e.getMessage()).append("; ");
-                }
-            }
-            
-            if (successCount == request.getIds().size()) {
-                logger.info("所有文章删除成功，共 {} 篇", successCount);
-                return ApiResponse.success(null);
-            } else {
-                logger.warn("部分文章删除成功，成功: {}, 总数: {}, 错误: {}", 
-                    successCount, request.getIds().size(), errorMsg.toString());
-                return ApiResponse.error(207, "部分文章删除成功: " + errorMsg.toString());
-            }
+            BatchResult result = articleService.deleteBatch(request.getIds(), userId);
+            return batchResponse(result, "删除");
         } catch (Exception e) {
             logger.error("批量删除文章失败", e);
             return ApiResponse.serverError("批量删除文章失败: " + e.getMessage());
         }
     }
     
+    /**
+     * 批量发布文章
+     * @param request 包含要发布的文章ID列表
+     * @return 批量处理结果
+     */
+    @PutMapping("/batch/publish")
+    public ApiResponse<BatchResult> batchPublishArticles(@RequestBody BatchRequest request) {
+        return batchChangeStatus(request, "published", "发布");
+    }
+    
+    /**
+     * 批量归档文章
+     * @param request 包含要归档的文章ID列表
+     * @return 批量处理结果
+     */
+    @PutMapping("/batch/archive")
+    public ApiResponse<BatchResult> batchArchiveArticles(@RequestBody BatchRequest request) {
+        return batchChangeStatus(request, "archived", "归档");
+    }
+    
+    private ApiResponse<BatchResult> batchChangeStatus(BatchRequest request, String status, String action) {
+        try {
+            logger.info("批量{}文章请求，ID列表: {}", action, request.getIds());
+            ApiResponse<BatchResult> invalid = validateBatch(request);
+            if (invalid != null) {
+                return invalid;
+            }
+            
+            Long userId = getCurrentUserId();
+            logger.info("当前用户ID: {}", userId);
+            
+            BatchResult result = articleService.changeStatusBatch(request.getIds(), status, userId);
+            return batchResponse(result, action);
+        } catch (Exception e) {
+            logger.error("批量{}文章失败", action, e);
+            return ApiResponse.serverError("批量" + action + "文章失败: " + e.getMessage());
+        }
+    }
+    
+    private ApiResponse<BatchResult> validateBatch(BatchRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            return ApiResponse.error(400, "文章ID列表不能为空");
+        }
+        if (request.getIds().size() > MAX_BATCH_SIZE) {
+            return ApiResponse.error(400, "每次最多处理" + MAX_BATCH_SIZE + "篇文章");
+        }
+        return null;
+    }
+    
+    /**
+     * 全部成功时返回200，否则返回207，响应数据中包含每篇文章的结果
+     */
+    private ApiResponse<BatchResult> batchResponse(BatchResult result, String action) {
+        if (result.isAllSucceeded()) {
+            logger.info("所有文章{}成功，共 {} 篇", action, result.getSucceeded().size());
+            return ApiResponse.success(result);
+        }
+        logger.warn("部分文章{}成功，成功: {}, 失败: {}", action, result.getSucceeded().size(), result.getFailed());
+        return new ApiResponse<>(207, "部分文章" + action + "成功", result);
+    }
+    
     /**
      * 删除文章
      * @param id 文章ID
@@ -266,59 +484,113 @@ public class AdminArticleController {
     /**
      * 发布文章
      * @param id 文章ID
+     * @param version 读取文章时的版本号(可选)，与当前版本不一致时返回409
      * @return 成功响应
      */
     @PutMapping("/{id}/publish")
-    public ApiResponse<ArticleVO> publishArticle(@PathVariable Long id) {
+    public ApiResponse<ArticleVO> publishArticle(@PathVariable Long id, @RequestParam(required = false) Integer version) {
         try {
             logger.info("发布文章请求，ID: {}", id);
             Long userId = getCurrentUserId();
             logger.info("当前用户ID: {}", userId);
             
-            ArticleDTO dto = new ArticleDTO();
-            dto.setId(id);
-            dto.setStatus("published");
-            
-            ArticleVO article = articleService.update(dto, userId);
+            // 只修改状态列，不读取和重写正文
+            ArticleVO article = articleService.changeStatus(id, "published", version, userId);
             logger.info("文章发布成功，ID: {}", id);
             return ApiResponse.success(article);
         } catch (ResourceNotFoundException e) {
             logger.error("文章不存在，ID: {}", id);
             return ApiResponse.error(404, e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("文章版本冲突，ID: {}", id);
+            return ApiResponse.error(409, e.getMessage());
         } catch (Exception e) {
             logger.error("发布文章失败，ID: {}", id, e);
             return ApiResponse.serverError("发布文章失败: " + e.getMessage());
         }
     }
     
+    /**
+     * 定时发布文章，到达发布时间后自动改为已发布
+     * @param id 文章ID
+     * @param publishAt 计划发布时间，格式 yyyy-MM-dd HH:mm:ss，必须晚于当前时间
+     * @param version 读取文章时的版本号(可选)，与当前版本不一致时返回409
+     * @return 修改后的文章
+     */
+    @PutMapping("/{id}/schedule")
+    public ApiResponse<ArticleVO> scheduleArticle(@PathVariable Long id,
+                                                  @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime publishAt,
+                                                  @RequestParam(required = false) Integer version) {
+        try {
+            logger.info("定时发布文章请求，ID: {}，发布时间: {}", id, publishAt);
+            String scheduleError = validateSchedule("scheduled", publishAt);
+            if (scheduleError != null) {
+                return ApiResponse.error(400, scheduleError);
+            }
+            Long userId = getCurrentUserId();
+            logger.info("当前用户ID: {}", userId);
+            
+            ArticleVO article = articleService.schedule(id, publishAt, version, userId);
+            logger.info("文章定时发布设置成功，ID: {}", id);
+            return ApiResponse.success(article);
+        } catch (ResourceNotFoundException e) {
+            logger.error("文章不存在，ID: {}", id);
+            return ApiResponse.error(404, e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("文章版本冲突，ID: {}", id);
+            return ApiResponse.error(409, e.getMessage());
+        } catch (Exception e) {
+            logger.error("定时发布文章失败，ID: {}", id, e);
+            return ApiResponse.serverError("定时发布文章失败: " + e.getMessage());
+        }
+    }
+    
     /**
      * 归档文章
      * @param id 文章ID
+     * @param version 读取文章时的版本号(可选)，与当前版本不一致时返回409
      * @return 成功响应
      */
     @PutMapping("/{id}/archive")
-    public ApiResponse<ArticleVO> archiveArticle(@PathVariable Long id) {
+    public ApiResponse<ArticleVO> archiveArticle(@PathVariable Long id, @RequestParam(required = false) Integer version) {
         try {
             logger.info("归档文章请求，ID: {}", id);
             Long userId = getCurrentUserId();
             logger.info("当前用户ID: {}", userId);
             
-            ArticleDTO dto = new ArticleDTO();
-            dto.setId(id);
-            dto.setStatus("archived");
-            
-            ArticleVO article = articleService.update(dto, userId);
+            // 只修改状态列，不读取和重写正文
+            ArticleVO article = articleService.changeStatus(id, "archived", version, userId);
             logger.info("文章归档成功，ID: {}", id);
             return ApiResponse.success(article);
         } catch (ResourceNotFoundException e) {
             logger.error("文章不存在，ID: {}", id);
             return ApiResponse.error(404, e.getMessage());
+        } catch (VersionConflictException e) {
+            logger.warn("文章版本冲突，ID: {}", id);
+            return ApiResponse.error(409, e.getMessage());
         } catch (Exception e) {
             logger.error("归档文章失败，ID: {}", id, e);
             return ApiResponse.serverError("归档文章失败: " + e.getMessage());
         }
     }
     
+    /**
+     * 校验定时发布参数：状态为scheduled时必须提供晚于当前时间的发布时间
+     * @return 错误信息，校验通过时返回null
+     */
+    private String validateSchedule(String status, LocalDateTime publishAt) {
+        if (!"scheduled".equals(status)) {
+            return null;
+        }
+        if (publishAt == null) {
+            return "定时发布时间不能为空";
+        }
+        if (!publishAt.isAfter(LocalDateTime.now())) {
+            return "定时发布时间必须晚于当前时间";
+        }
+        return null;
+    }
+    
     /**
      * 获取当前用户ID
      * @return 用户ID
@@ -340,9 +612,9 @@ public class AdminArticleController {
     }
     
     /**
-     * 批量删除请求类
+     * 批量操作请求类
      */
-    public static class BatchDeleteRequest {
+    public static class BatchRequest {
         private List<Long> ids;
         
         public List<Long> getIds() {
@@ -0,0 +1,77 @@
+package org.lin.lin_admin.module.article.controller;
+
+import org.lin.lin_admin.module.article.feed.ArticleFeedGenerator;
+import org.lin.lin_admin.module.article.feed.FeedDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 订阅与站点地图控制器 - 提供 RSS、Atom 和 sitemap.xml
+ * 内容预先生成为字节，支持 ETag / Last-Modified 条件请求
+ */
+@RestController
+public class FeedController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final MediaType XML = MediaType.parseMediaType("application/xml;charset=UTF-8");
+
+    @Autowired
+    private ArticleFeedGenerator articleFeedGenerator;
+
+    /**
+     * RSS 2.0 订阅
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> rss(ServletWebRequest webRequest) {
+        return respond(articleFeedGenerator.getRss(), RSS, webRequest);
+    }
+
+    /**
+     * Atom 订阅
+     */
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> atom(ServletWebRequest webRequest) {
+        return respond(articleFeedGenerator.getAtom(), ATOM, webRequest);
+    }
+
+    /**
+     * 站点地图，文章数超过单个文件上限时返回站点地图索引
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemap(ServletWebRequest webRequest) {
+        return respond(articleFeedGenerator.getSitemap(), XML, webRequest);
+    }
+
+    /**
+     * 站点地图分片
+     * @param number 分片序号，从1开始
+     */
+    @GetMapping("/sitemap-{number:\\d+}.xml")
+    public ResponseEntity<byte[]> sitemapChunk(@PathVariable int number, ServletWebRequest webRequest) {
+        FeedDocument document = articleFeedGenerator.getSitemapChunk(number);
+        if (document == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return respond(document, XML, webRequest);
+    }
+
+    private ResponseEntity<byte[]> respond(FeedDocument document, MediaType mediaType, ServletWebRequest webRequest) {
+        boolean notModified = document.getLastModified() > 0
+                ? webRequest.checkNotModified(document.getEtag(), document.getLastModified())
+                : webRequest.checkNotModified(document.getEtag());
+        if (notModified) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(document.getBody());
+    }
+}
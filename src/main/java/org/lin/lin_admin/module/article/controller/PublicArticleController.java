@@ -1,79 +1,292 @@
 package org.lin.lin_admin.module.article.controller;
 
+import org.lin.lin_admin.common.cache.EncodedResponse;
+import org.lin.lin_admin.common.cache.EncodedResponseCache;
 import org.lin.lin_admin.common.response.ApiResponse;
 import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.module.article.cache.ArticleArchive;
+import org.lin.lin_admin.module.article.cache.ArticleVersionTracker;
+import org.lin.lin_admin.module.article.counter.ArticleViewCounter;
+import org.lin.lin_admin.module.article.search.ArticleSearchIndex;
 import org.lin.lin_admin.module.article.service.ArticleService;
+import org.lin.lin_admin.module.article.vo.ArticleSearchVO;
 import org.lin.lin_admin.module.article.vo.ArticleVO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 公开文章控制器 - 提供前台展示的文章API
+ * 支持条件请求：客户端携带 If-None-Match / If-Modified-Since 且内容未变化时直接返回304，
+ * 不构建VO也不序列化响应体。
+ * 文章列表和详情的成功响应按内容版本缓存为预先压缩的字节，按 Accept-Encoding 选择编码直接写出。
  */
 @RestController
 @RequestMapping("/articles")
 public class PublicArticleController {
 
+    private static final int MAX_SEARCH_SIZE = 50;
+
+    /**
+     * 搜索结果最多翻到的页数，更深的页码按最后一页处理
+     */
+    private static final int MAX_SEARCH_PAGE = 100;
+
+    /**
+     * 文章列表每页最多数量，与游标分页的上限一致
+     */
+    private static final int MAX_LIST_SIZE = 100;
+
+    /**
+     * 文章列表最多翻到的页数，更深的页码按最后一页处理
+     */
+    private static final int MAX_LIST_PAGE = 1000;
+
+    private static final int MAX_RELATED_LIMIT = 20;
+
+    private static final int MAX_POPULAR_LIMIT = 50;
+
     @Autowired
     private ArticleService articleService;
     
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+    
+    @Autowired
+    private ArticleVersionTracker articleVersionTracker;
+    
+    @Autowired
+    private ArticleArchive articleArchive;
+    
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+    
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+    
     /**
      * 获取所有已发布的文章(分页)
+     * 传入after参数时使用游标分页（首页传空字符串），返回结果中包含下一页游标；
+     * 传入tag参数时按标签过滤（可重复传入或逗号分隔），match=all 表示须包含全部标签，match=any 表示包含任一标签
      * @param page 页码
      * @param size 每页数量
-     * @return 文章列表
+     * @param after 上一页返回的游标(可选)
+     * @param tags 标签名(可选)
+     * @param match 多标签匹配方式(all/any)，默认all
+     * @param acceptEncoding 客户端支持的压缩编码
+     * @return 文章列表，游标模式下为游标分页结果，标签模式下为分页结果；内容未变化时返回304。
+     *         成功的响应按列表版本缓存为已压缩的字节，缓存键使用限制范围后的页码和每页数量
      */
     @GetMapping
-    public ApiResponse<List<ArticleVO>> getPublishedArticles(
+    public ResponseEntity<?> getPublishedArticles(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        List<ArticleVO> articles = articleService.findAllPublished(page, size);
-        return ApiResponse.success(articles);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(name = "tag", required = false) List<String> tags,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
+        if (page < 1 || size < 1) {
+            return ResponseEntity.ok(ApiResponse.badRequest("页码和每页数量必须大于0"));
+        }
+        int pageNum = Math.min(page, MAX_LIST_PAGE);
+        int pageSize = Math.min(size, MAX_LIST_SIZE);
+        if (checkListNotModified(webRequest)) {
+            return null;
+        }
+        String version = articleVersionTracker.listETag();
+        if (tags != null) {
+            List<String> names = tags.stream().map(String::trim).filter(name -> !name.isEmpty()).distinct().toList();
+            if (names.isEmpty()) {
+                return ResponseEntity.ok(ApiResponse.badRequest("标签不能为空"));
+            }
+            if (!"all".equals(match) && !"any".equals(match)) {
+                return ResponseEntity.ok(ApiResponse.badRequest("match 只能为 all 或 any"));
+            }
+            String params = "tag=" + String.join(",", names) + "&match=" + match + "&page=" + pageNum + "&size=" + pageSize;
+            return encodedResponseCache.get("articles", params, version, () -> ApiResponse.success(
+                            articleService.findPublishedByTags(names, "all".equals(match), pageNum, pageSize)))
+                    .toResponseEntity(acceptEncoding);
+        }
+        if (after != null) {
+            try {
+                return encodedResponseCache.get("articles", "after=" + after + "&size=" + pageSize, version,
+                                () -> ApiResponse.success(articleService.findPublishedAfter(after, pageSize)))
+                        .toResponseEntity(acceptEncoding);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.ok(ApiResponse.badRequest(e.getMessage()));
+            }
+        }
+        return encodedResponseCache.get("articles", "page=" + pageNum + "&size=" + pageSize, version,
+                        () -> ApiResponse.success(articleService.findAllPublished(pageNum, pageSize)))
+                .toResponseEntity(acceptEncoding);
     }
     
     /**
      * 分页获取已发布文章
      * @param page 页码
      * @param size 每页数量 
-     * @return 文章分页列表
+     * @return 文章分页列表；内容未变化时返回304
      */
     @GetMapping("/page")
     public ApiResponse<PageResult<ArticleVO>> getArticlePage(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            ServletWebRequest webRequest) {
+        if (checkListNotModified(webRequest)) {
+            return null;
+        }
         PageResult<ArticleVO> result = articleService.page(page, size, "published");
         return ApiResponse.success(result);
     }
     
+    /**
+     * 获取文章归档（按月份分组的文章数量和标题列表）
+     * 归档在内存中维护并预先序列化，读取时不查询数据库也不做JSON序列化
+     * @return 归档JSON，按月份倒序；内容未变化时返回304
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<byte[]> getArchive(ServletWebRequest webRequest) {
+        if (checkListNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(articleArchive.getJson());
+    }
+    
+    /**
+     * 获取热门文章
+     * 排名在内存中按浏览量维护，浏览量变化频繁，不做条件请求校验
+     * @param limit 最多返回的数量
+     * @return 按浏览量降序的文章列表
+     */
+    @GetMapping("/popular")
+    public ApiResponse<List<ArticleVO>> getPopularArticles(@RequestParam(defaultValue = "10") int limit) {
+        List<ArticleVO> articles = articleService.findPopular(Math.max(1, Math.min(limit, MAX_POPULAR_LIMIT)));
+        return ApiResponse.success(articles);
+    }
+    
+    /**
+     * 全文搜索已发布文章
+     * 标题、摘要、正文均参与检索，按相关度排序，结果中包含高亮标题和正文摘录
+     * @param q 搜索关键词
+     * @param page 页码
+     * @param size 每页数量
+     * @return 搜索结果分页列表
+     */
+    @GetMapping("/search")
+    public ApiResponse<PageResult<ArticleSearchVO>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (q.isBlank()) {
+            return ApiResponse.badRequest("搜索关键词不能为空");
+        }
+        if (page < 1 || size < 1) {
+            return ApiResponse.badRequest("页码和每页数量必须大于0");
+        }
+        if (page > MAX_SEARCH_PAGE) {
+            page = MAX_SEARCH_PAGE;
+        }
+        if (size > MAX_SEARCH_SIZE) {
+            size = MAX_SEARCH_SIZE;
+        }
+        return ApiResponse.success(articleSearchIndex.search(q, page, size));
+    }
+
     /**
      * 根据ID获取已发布的文章
      * @param id 文章ID
-     * @return 文章详情
+     * @param acceptEncoding 客户端支持的压缩编码
+     * @return 文章详情；内容未变化时返回304。响应按文章更新时间缓存为已压缩的字节
      */
     @GetMapping("/{id}")
-    public ApiResponse<ArticleVO> getArticleById(@PathVariable Long id) {
+    public ResponseEntity<?> getArticleById(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
         try {
             if (id == null) {
-                return ApiResponse.error(400, "文章ID不能为空");
+                return ResponseEntity.ok(ApiResponse.error(400, "文章ID不能为空"));
             }
             
-            ArticleVO article = articleService.getById(id);
+            // 先用更新时间和标签版本校验条件请求，未变化时不加载正文
+            LocalDateTime updatedAt = articleService.getPublishedUpdatedAt(id);
+            if (updatedAt == null) {
+                return ResponseEntity.ok(ApiResponse.error(404, "文章不存在或未发布"));
+            }
+            // 浏览量只在内存中累加，定时批量写入；304 同样计为一次浏览
+            articleViewCounter.increment(id);
+            markRevalidate(webRequest);
+            if (webRequest.checkNotModified(articleVersionTracker.detailETag(id, updatedAt),
+                    articleVersionTracker.detailLastModified(updatedAt))) {
+                return null;
+            }
             
-            // 检查文章是否存在
-            if (article == null) {
-                return ApiResponse.error(404, "文章不存在");
+            // 只返回已发布的文章，命中详情缓存时不访问数据库；
+            // 响应缓存按详情ETag区分版本，标签变更后不再命中旧标签名称的响应；
+            // 详情缓存尚未失效时读到的旧内容与更新时间不一致，不放入响应缓存
+            EncodedResponse cached = encodedResponseCache.get("articles/" + id, "",
+                    articleVersionTracker.detailETag(id, updatedAt), () -> {
+                        ArticleVO article = articleService.getPublishedById(id);
+                        return article != null && updatedAt.equals(article.getUpdatedAt()) ? ApiResponse.success(article) : null;
+                    });
+            if (cached != null) {
+                return cached.toResponseEntity(acceptEncoding);
             }
             
-            // 验证文章是否已发布
-            if (!"published".equals(article.getStatus())) {
-                return ApiResponse.error(404, "文章不存在或未发布");
+            ArticleVO article = articleService.getPublishedById(id);
+            if (article == null) {
+                return ResponseEntity.ok(ApiResponse.error(404, "文章不存在或未发布"));
             }
             
-            return ApiResponse.success(article);
+            return ResponseEntity.ok(ApiResponse.success(article));
         } catch (Exception e) {
-            return ApiResponse.serverError("获取文章失败: " + e.getMessage());
+            return ResponseEntity.ok(ApiResponse.serverError("获取文章失败: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * 获取相关文章
+     * 相关列表随文章发布、修改标签、删除而更新，与文章列表共用版本号做条件请求校验
+     * @param id 文章ID
+     * @param limit 最多返回的数量
+     * @return 按相关度排序的文章列表；内容未变化时返回304
+     */
+    @GetMapping("/{id}/related")
+    public ApiResponse<List<ArticleVO>> getRelatedArticles(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit,
+            ServletWebRequest webRequest) {
+        if (checkListNotModified(webRequest)) {
+            return null;
+        }
+        List<ArticleVO> articles = articleService.findRelated(id, Math.max(1, Math.min(limit, MAX_RELATED_LIMIT)));
+        return ApiResponse.success(articles);
+    }
+    
+    /**
+     * 按列表版本校验条件请求
+     * @return 内容未变化时返回true，此时响应状态已设置为304
+     */
+    private boolean checkListNotModified(ServletWebRequest webRequest) {
+        markRevalidate(webRequest);
+        return webRequest.checkNotModified(articleVersionTracker.listETag(), articleVersionTracker.listLastModified());
+    }
+    
+    /**
+     * 允许客户端和代理缓存，但每次使用前需要重新校验
+     */
+    private void markRevalidate(ServletWebRequest webRequest) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
         }
     }
-} 
\ No newline at end of file
+}
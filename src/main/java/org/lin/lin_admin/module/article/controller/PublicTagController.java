@@ -0,0 +1,48 @@
+package org.lin.lin_admin.module.article.controller;
+
+import org.lin.lin_admin.common.cache.EncodedResponseCache;
+import org.lin.lin_admin.common.response.ApiResponse;
+import org.lin.lin_admin.module.article.cache.TagCloud;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 公开标签控制器 - 提供前台展示的标签云
+ */
+@RestController
+@RequestMapping("/tags")
+public class PublicTagController {
+
+    @Autowired
+    private TagCloud tagCloud;
+
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+
+    /**
+     * 获取标签云
+     * 文章数量在内存中维护，响应按标签云版本缓存为已压缩的字节
+     * @param acceptEncoding 客户端支持的压缩编码
+     * @return 有已发布文章的标签及文章数量，按数量降序；内容未变化时返回304
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getTagCloud(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        if (webRequest.checkNotModified(tagCloud.etag(), tagCloud.lastModified())) {
+            return null;
+        }
+        return encodedResponseCache.get("tags", "", String.valueOf(tagCloud.getVersion()),
+                        () -> ApiResponse.success(tagCloud.build()))
+                .toResponseEntity(acceptEncoding);
+    }
+}
@@ -0,0 +1,213 @@
+package org.lin.lin_admin.module.article.counter;
+
+import jakarta.annotation.PreDestroy;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.ArticleViews;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章浏览量计数器
+ * 浏览时只在内存中对文章的 {@link LongAdder} 加一，不访问数据库；
+ * 定时把新增的浏览量用一条 UPDATE ... CASE 语句批量累加到 articles.views，应用关闭前再写入一次。
+ * <p>
+ * 每篇文章的计数器只增不清零，写入时取当前总数与已写入数之差，避免清零与并发自增之间丢失计数。
+ * 写入失败时已写入数不变，下次写入时重试。写入时发现文章已不存在（如删除后仍有浏览计入），丢弃其计数器。
+ * <p>
+ * 写入成功的增量同时计入 {@link SpaceSavingTopK}，用于在内存中维护热门文章；启动时以数据库中浏览量最高的文章初始化。
+ */
+@Component
+public class ArticleViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleViewCounter.class);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${article.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${article.views.popular-capacity:200}")
+    private int popularCapacity;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    private SpaceSavingTopK popular;
+
+    /**
+     * 应用启动后加载浏览量最高的文章
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reloadPopular();
+        } catch (Exception e) {
+            logger.error("加载热门文章失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载热门文章
+     */
+    public synchronized void reloadPopular() {
+        SpaceSavingTopK sketch = new SpaceSavingTopK(popularCapacity);
+        for (ArticleViews row : articleMapper.findMostViewed(popularCapacity)) {
+            sketch.add(row.getId(), row.getViews());
+        }
+        popular = sketch;
+        logger.info("热门文章加载完成，文章数：{}", sketch.size());
+    }
+
+    /**
+     * 记录一次浏览
+     * @param articleId 文章ID，调用方需确认文章存在且已发布
+     */
+    public void increment(Long articleId) {
+        Counter counter = counters.get(articleId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(articleId, k -> new Counter());
+        }
+        counter.adder.increment();
+    }
+
+    /**
+     * @param articleId 文章ID
+     * @return 尚未写入数据库的浏览量
+     */
+    public long getUnflushed(Long articleId) {
+        Counter counter = counters.get(articleId);
+        return counter != null ? counter.adder.sum() - counter.flushed : 0;
+    }
+
+    /**
+     * 获取热门文章
+     * @param limit 最多返回的数量
+     * @return 文章ID，按浏览量降序；可能包含已取消发布的文章，由调用方过滤
+     */
+    public synchronized List<Long> getPopular(int limit) {
+        return popular != null ? popular.top(limit) : List.of();
+    }
+
+    /**
+     * 把新增的浏览量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${article.views.flush-interval-ms:10000}",
+            initialDelayString = "${article.views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<ArticleViews> deltas = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long delta = counter.adder.sum() - counter.flushed;
+            if (delta > 0) {
+                deltas.add(new ArticleViews(entry.getKey(), delta));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        int written = 0;
+        for (int from = 0; from < deltas.size(); from += flushBatchSize) {
+            List<ArticleViews> batch = deltas.subList(from, Math.min(from + flushBatchSize, deltas.size()));
+            int rows;
+            try {
+                rows = articleMapper.addViews(batch);
+            } catch (Exception e) {
+                logger.error("写入文章浏览量失败，文章数：{}，将在下次写入时重试", batch.size(), e);
+                continue;
+            }
+            Set<Long> missing = rows < batch.size() ? findMissing(batch) : Set.of();
+            for (ArticleViews delta : batch) {
+                if (missing.contains(delta.getId())) {
+                    counters.remove(delta.getId());
+                    if (popular != null) {
+                        popular.remove(delta.getId());
+                    }
+                    continue;
+                }
+                Counter counter = counters.get(delta.getId());
+                if (counter != null) {
+                    counter.flushed += delta.getViews();
+                }
+                if (popular != null) {
+                    popular.add(delta.getId(), delta.getViews());
+                }
+            }
+            written += batch.size();
+        }
+        logger.debug("文章浏览量写入完成，文章数：{}/{}", written, deltas.size());
+    }
+
+    /**
+     * 影响行数少于文章数时查出已不存在的文章；查询失败时不丢弃任何计数器，下次写入时再检查
+     */
+    private Set<Long> findMissing(List<ArticleViews> batch) {
+        List<Long> ids = batch.stream().map(ArticleViews::getId).toList();
+        try {
+            Set<Long> missing = new HashSet<>(ids);
+            articleMapper.findExistingIds(ids).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                logger.info("丢弃已删除文章的浏览量计数：{}", missing);
+            }
+            return missing;
+        } catch (Exception e) {
+            logger.warn("查询已删除文章失败，文章数：{}", ids.size(), e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * 应用关闭前写入剩余的浏览量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 文章删除后丢弃其计数
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() != ArticleChangedEvent.Type.DELETED) {
+            return;
+        }
+        Long id = event.getArticleId();
+        synchronized (this) {
+            counters.remove(id);
+            if (popular != null) {
+                popular.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 一篇文章的浏览量
+     */
+    private static class Counter {
+        final LongAdder adder = new LongAdder();
+
+        /**
+         * 已写入数据库的数量
+         * 只由 {@link #flush()} 修改，flush 持有 ArticleViewCounter 的锁，因此只有一个写入方；
+         * volatile 保证 {@link #getUnflushed(Long)} 等不加锁的读取看到最新值
+         */
+        volatile long flushed;
+    }
+}
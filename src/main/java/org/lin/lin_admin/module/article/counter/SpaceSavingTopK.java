@@ -0,0 +1,129 @@
+package org.lin.lin_admin.module.article.counter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving 热门元素统计
+ * 最多跟踪 capacity 个元素；已满时新元素替换计数最小的元素，并继承其计数作为误差上界。
+ * 计数是真实值的上界，计数减去误差是下界，真实计数大于总量 / capacity 的元素一定被跟踪。
+ * <p>
+ * 非线程安全，由调用方加锁。
+ */
+public class SpaceSavingTopK {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.id);
+
+    private final int capacity;
+
+    private final Map<Long, Counter> counters = new HashMap<>();
+
+    /**
+     * 按计数升序，第一个即为替换候选
+     */
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity必须大于0");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 增加元素计数
+     * @param id 元素ID
+     * @param weight 增加的数量
+     */
+    public void add(long id, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        Counter counter = counters.get(id);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += weight;
+            ordered.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(id, weight, 0);
+        } else {
+            Counter min = ordered.pollFirst();
+            counters.remove(min.id);
+            counter = new Counter(id, min.count + weight, min.count);
+        }
+        counters.put(id, counter);
+        ordered.add(counter);
+    }
+
+    /**
+     * 移除元素（如文章已删除）
+     * @param id 元素ID
+     */
+    public void remove(long id) {
+        Counter counter = counters.remove(id);
+        if (counter != null) {
+            ordered.remove(counter);
+        }
+    }
+
+    /**
+     * 获取计数最高的元素
+     * @param limit 最多返回的数量
+     * @return 元素ID，按计数降序
+     */
+    public List<Long> top(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> iterator = ordered.descendingIterator();
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next().id);
+        }
+        return ids;
+    }
+
+    /**
+     * @param id 元素ID
+     * @return 计数的上界，未被跟踪时返回0
+     */
+    public long estimate(long id) {
+        Counter counter = counters.get(id);
+        return counter != null ? counter.count : 0;
+    }
+
+    /**
+     * @param id 元素ID
+     * @return 计数的误差上界，未被跟踪时返回0
+     */
+    public long error(long id) {
+        Counter counter = counters.get(id);
+        return counter != null ? counter.error : 0;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void clear() {
+        counters.clear();
+        ordered.clear();
+    }
+
+    private static class Counter {
+        final long id;
+        long count;
+        final long error;
+
+        Counter(long id, long count, long error) {
+            this.id = id;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
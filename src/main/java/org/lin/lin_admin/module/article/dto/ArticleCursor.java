@@ -0,0 +1,61 @@
+package org.lin.lin_admin.module.article.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 已发布文章列表的翻页游标
+ * 记录上一页最后一篇文章的 (published_at, id)，对外编码为不透明的URL安全字符串
+ */
+public class ArticleCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime publishedAt;
+    private final Long id;
+
+    public ArticleCursor(LocalDateTime publishedAt, Long id) {
+        this.publishedAt = publishedAt;
+        this.id = id;
+    }
+
+    /**
+     * 编码为不透明游标
+     * @return URL安全的Base64字符串
+     */
+    public String encode() {
+        String raw = publishedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @param cursor 客户端回传的游标
+     * @return 游标对象
+     * @throws IllegalArgumentException 如果游标格式不正确
+     */
+    public static ArticleCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index <= 0) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            LocalDateTime publishedAt = LocalDateTime.parse(raw.substring(0, index));
+            Long id = Long.parseLong(raw.substring(index + 1));
+            return new ArticleCursor(publishedAt, id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException 也是 IllegalArgumentException 的子类
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
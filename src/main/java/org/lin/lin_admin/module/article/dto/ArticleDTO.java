@@ -17,6 +17,7 @@ public class ArticleDTO {
     private String status; // draft或published
     private String coverImage; // 封面图片URL
     private List<Long> tagIds;
+    private Integer version; // 读取文章时的版本号，提交时校验，为空时不校验
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
@@ -26,6 +27,9 @@ public class ArticleDTO {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime publishedAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime publishAt; // 定时发布时间，状态为scheduled时必填
 
     public Long getId() {
         return id;
@@ -75,6 +79,14 @@ public class ArticleDTO {
         this.tagIds = tagIds;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -99,6 +111,14 @@ public class ArticleDTO {
         this.publishedAt = publishedAt;
     }
 
+    public LocalDateTime getPublishAt() {
+        return publishAt;
+    }
+
+    public void setPublishAt(LocalDateTime publishAt) {
+        this.publishAt = publishAt;
+    }
+
     public String getCoverImage() {
         return coverImage;
     }
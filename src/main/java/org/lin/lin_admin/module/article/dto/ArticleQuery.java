@@ -0,0 +1,63 @@
+package org.lin.lin_admin.module.article.dto;
+
+import org.lin.lin_admin.common.paging.PageParam;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章查询条件，所有条件均可选
+ */
+public class ArticleQuery extends PageParam {
+    /**
+     * 文章状态集合，为空时不限状态
+     */
+    private List<String> statuses;
+    
+    /**
+     * 作者用户ID
+     */
+    private Long authorId;
+    
+    /**
+     * 创建时间起点（包含）
+     */
+    private LocalDateTime createdFrom;
+    
+    /**
+     * 创建时间终点（不包含）
+     */
+    private LocalDateTime createdTo;
+
+    public List<String> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<String> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+}
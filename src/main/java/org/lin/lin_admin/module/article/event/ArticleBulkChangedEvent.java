@@ -0,0 +1,31 @@
+package org.lin.lin_admin.module.article.event;
+
+/**
+ * 文章批量变更事件
+ * 一次写入大量文章（如批量导入）后发布，不逐篇发布 {@link ArticleChangedEvent}。
+ * 监听方应从数据库整体重新加载，而不是逐篇增量更新。
+ */
+public class ArticleBulkChangedEvent {
+
+    private final String reason;
+    private final int count;
+
+    public ArticleBulkChangedEvent(String reason, int count) {
+        this.reason = reason;
+        this.count = count;
+    }
+
+    /**
+     * @return 变更原因，用于日志
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return 变更的文章数量
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,106 @@
+package org.lin.lin_admin.module.article.event;
+
+import org.lin.lin_admin.module.article.model.Article;
+
+import java.util.List;
+
+/**
+ * 文章变更事件
+ * 由文章服务在写操作中发布，缓存、统计等内存结构监听该事件做增量更新。
+ * 监听方应使用 {@code @TransactionalEventListener}，保证在事务提交后才处理。
+ */
+public class ArticleChangedEvent {
+
+    /**
+     * 变更类型
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long articleId;
+    private final Article before;
+    private final Article after;
+    private final List<Long> beforeTagIds;
+    private final List<Long> afterTagIds;
+
+    public ArticleChangedEvent(Type type, Long articleId, Article before, Article after,
+                               List<Long> beforeTagIds, List<Long> afterTagIds) {
+        this.type = type;
+        this.articleId = articleId;
+        this.before = before;
+        this.after = after;
+        this.beforeTagIds = beforeTagIds;
+        this.afterTagIds = afterTagIds;
+    }
+
+    public static ArticleChangedEvent created(Article after, List<Long> tagIds) {
+        return new ArticleChangedEvent(Type.CREATED, after.getId(), null, after, List.of(), tagIds);
+    }
+
+    public static ArticleChangedEvent updated(Article before, Article after, List<Long> beforeTagIds, List<Long> afterTagIds) {
+        return new ArticleChangedEvent(Type.UPDATED, after.getId(), before, after, beforeTagIds, afterTagIds);
+    }
+
+    public static ArticleChangedEvent deleted(Article before, List<Long> tagIds) {
+        return new ArticleChangedEvent(Type.DELETED, before.getId(), before, null, tagIds, List.of());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    /**
+     * @return 变更前的文章，新建时为null
+     */
+    public Article getBefore() {
+        return before;
+    }
+
+    /**
+     * @return 变更后的文章，删除时为null
+     */
+    public Article getAfter() {
+        return after;
+    }
+
+    /**
+     * @return 变更前的标签ID，标签未变更时为null
+     */
+    public List<Long> getBeforeTagIds() {
+        return beforeTagIds;
+    }
+
+    /**
+     * @return 变更后的标签ID，标签未变更时为null
+     */
+    public List<Long> getAfterTagIds() {
+        return afterTagIds;
+    }
+
+    /**
+     * @return 本次变更是否修改了文章标签
+     */
+    public boolean isTagsChanged() {
+        return beforeTagIds != null && afterTagIds != null;
+    }
+
+    /**
+     * @return 变更前是否为已发布状态
+     */
+    public boolean wasPublished() {
+        return before != null && before.isPublished();
+    }
+
+    /**
+     * @return 变更后是否为已发布状态
+     */
+    public boolean isPublished() {
+        return after != null && after.isPublished();
+    }
+}
@@ -0,0 +1,18 @@
+package org.lin.lin_admin.module.article.event;
+
+/**
+ * 标签变更事件
+ * 由标签服务在新增、重命名、删除标签后发布。
+ */
+public class TagChangedEvent {
+
+    private final Long tagId;
+
+    public TagChangedEvent(Long tagId) {
+        this.tagId = tagId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+}
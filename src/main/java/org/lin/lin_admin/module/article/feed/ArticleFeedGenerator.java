@@ -0,0 +1,385 @@
+package org.lin.lin_admin.module.article.feed;
+
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * RSS、Atom 订阅和站点地图生成器
+ * 生成结果以编码好的字节缓存，已发布文章发生变化后才在下一次读取时重新生成。
+ * 站点地图的文章列表在内存中维护，按ID顺序每 sitemap.max-urls 条分为一个文件，
+ * 文章数超过单个文件上限时 /sitemap.xml 返回站点地图索引；变更只会使其所在及之后的分片重新生成。
+ */
+@Component
+public class ArticleFeedGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleFeedGenerator.class);
+
+    private static final DateTimeFormatter RSS_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${site.url:http://localhost:8080}")
+    private String siteUrl;
+
+    @Value("${site.title:Lin Blog}")
+    private String siteTitle;
+
+    @Value("${site.description:}")
+    private String siteDescription;
+
+    /**
+     * 文章页面路径前缀，文章链接为 site.url + 前缀 + 文章ID
+     */
+    @Value("${site.article-path:/articles/}")
+    private String articlePath;
+
+    @Value("${feed.size:20}")
+    private int feedSize;
+
+    @Value("${sitemap.max-urls:50000}")
+    private int sitemapMaxUrls;
+
+    private volatile FeedDocument rss;
+    private volatile FeedDocument atom;
+
+    /**
+     * 已发布文章ID到更新时间
+     */
+    private final TreeMap<Long, LocalDateTime> sitemapEntries = new TreeMap<>();
+
+    /**
+     * 站点地图分片缓存，下标即分片序号减一，为null表示需要重新生成
+     */
+    private final List<FeedDocument> sitemapChunks = new ArrayList<>();
+
+    private FeedDocument sitemapIndex;
+
+    /**
+     * 应用启动后加载站点地图数据
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("加载站点地图数据失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载站点地图数据并清空所有缓存
+     */
+    public synchronized void reload() {
+        sitemapEntries.clear();
+        for (ArticleSummary article : articleMapper.findSitemapEntries()) {
+            sitemapEntries.put(article.getId(), article.getUpdatedAt());
+        }
+        sitemapChunks.clear();
+        sitemapIndex = null;
+        rss = null;
+        atom = null;
+        logger.info("站点地图数据加载完成，文章数：{}", sitemapEntries.size());
+    }
+
+    /**
+     * 已发布文章变更事务提交后使缓存失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.wasPublished() && !event.isPublished()) {
+            return;
+        }
+        rss = null;
+        atom = null;
+
+        Long id = event.getArticleId();
+        Article after = event.getAfter();
+        // 分片按ID顺序切分，新增或删除会使后续条目移位，从变更位置所在的分片开始失效
+        int chunk = sitemapEntries.headMap(id).size() / sitemapMaxUrls;
+        if (event.isPublished()) {
+            sitemapEntries.put(id, after.getUpdatedAt());
+        } else {
+            sitemapEntries.remove(id);
+        }
+        for (int i = chunk; i < sitemapChunks.size(); i++) {
+            sitemapChunks.set(i, null);
+        }
+        sitemapIndex = null;
+    }
+
+    /**
+     * 批量变更后重新加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * @return RSS 2.0 订阅
+     */
+    public FeedDocument getRss() {
+        FeedDocument document = rss;
+        if (document == null) {
+            synchronized (this) {
+                if (rss == null) {
+                    rss = buildRss(articleMapper.findAllPublished(0, feedSize));
+                }
+                document = rss;
+            }
+        }
+        return document;
+    }
+
+    /**
+     * @return Atom 订阅
+     */
+    public FeedDocument getAtom() {
+        FeedDocument document = atom;
+        if (document == null) {
+            synchronized (this) {
+                if (atom == null) {
+                    atom = buildAtom(articleMapper.findAllPublished(0, feedSize));
+                }
+                document = atom;
+            }
+        }
+        return document;
+    }
+
+    /**
+     * 获取 /sitemap.xml：文章数不超过单个文件上限时为站点地图本身，否则为站点地图索引
+     */
+    public synchronized FeedDocument getSitemap() {
+        if (chunkCount() <= 1) {
+            return getSitemapChunk(1);
+        }
+        if (sitemapIndex == null) {
+            sitemapIndex = buildSitemapIndex();
+        }
+        return sitemapIndex;
+    }
+
+    /**
+     * 获取站点地图分片
+     * @param number 分片序号，从1开始
+     * @return 分片，序号超出范围时返回null
+     */
+    public synchronized FeedDocument getSitemapChunk(int number) {
+        int count = chunkCount();
+        if (number < 1 || number > count) {
+            return null;
+        }
+        while (sitemapChunks.size() < count) {
+            sitemapChunks.add(null);
+        }
+        while (sitemapChunks.size() > count) {
+            sitemapChunks.remove(sitemapChunks.size() - 1);
+        }
+        FeedDocument document = sitemapChunks.get(number - 1);
+        if (document == null) {
+            document = buildSitemapChunk(number);
+            sitemapChunks.set(number - 1, document);
+        }
+        return document;
+    }
+
+    private int chunkCount() {
+        return Math.max(1, (sitemapEntries.size() + sitemapMaxUrls - 1) / sitemapMaxUrls);
+    }
+
+    private FeedDocument buildRss(List<ArticleSummary> articles) {
+        StringBuilder xml = new StringBuilder(4096);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\">\n<channel>\n");
+        element(xml, "title", siteTitle);
+        element(xml, "link", siteUrl);
+        element(xml, "description", siteDescription);
+        xml.append("<atom:link href=\"").append(escape(siteUrl + "/feed.xml"))
+                .append("\" rel=\"self\" type=\"application/rss+xml\"/>\n");
+        if (!articles.isEmpty() && articles.get(0).getPublishedAt() != null) {
+            element(xml, "lastBuildDate", RSS_DATE.format(zoned(articles.get(0).getPublishedAt())));
+        }
+        for (ArticleSummary article : articles) {
+            String link = articleUrl(article.getId());
+            xml.append("<item>\n");
+            element(xml, "title", article.getTitle());
+            element(xml, "link", link);
+            xml.append("<guid isPermaLink=\"true\">").append(escape(link)).append("</guid>\n");
+            if (article.getPublishedAt() != null) {
+                element(xml, "pubDate", RSS_DATE.format(zoned(article.getPublishedAt())));
+            }
+            element(xml, "description", article.getSummary());
+            xml.append("</item>\n");
+        }
+        xml.append("</channel>\n</rss>\n");
+        return document(xml, articles.isEmpty() ? null : articles.get(0).getPublishedAt());
+    }
+
+    private FeedDocument buildAtom(List<ArticleSummary> articles) {
+        LocalDateTime updated = null;
+        for (ArticleSummary article : articles) {
+            LocalDateTime time = lastChanged(article);
+            if (time != null && (updated == null || time.isAfter(updated))) {
+                updated = time;
+            }
+        }
+        StringBuilder xml = new StringBuilder(4096);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<feed xmlns=\"http://www.w3.org/2005/Atom\">\n");
+        element(xml, "title", siteTitle);
+        if (siteDescription != null && !siteDescription.isEmpty()) {
+            element(xml, "subtitle", siteDescription);
+        }
+        element(xml, "id", siteUrl + "/");
+        xml.append("<link href=\"").append(escape(siteUrl)).append("\"/>\n");
+        xml.append("<link href=\"").append(escape(siteUrl + "/atom.xml")).append("\" rel=\"self\"/>\n");
+        element(xml, "updated", ISO_DATE.format(zoned(updated != null ? updated : LocalDateTime.now())));
+        xml.append("<author>\n");
+        element(xml, "name", siteTitle);
+        xml.append("</author>\n");
+        for (ArticleSummary article : articles) {
+            String link = articleUrl(article.getId());
+            xml.append("<entry>\n");
+            element(xml, "title", article.getTitle());
+            xml.append("<link href=\"").append(escape(link)).append("\"/>\n");
+            element(xml, "id", link);
+            if (article.getPublishedAt() != null) {
+                element(xml, "published", ISO_DATE.format(zoned(article.getPublishedAt())));
+            }
+            LocalDateTime entryUpdated = lastChanged(article);
+            if (entryUpdated != null) {
+                element(xml, "updated", ISO_DATE.format(zoned(entryUpdated)));
+            }
+            element(xml, "summary", article.getSummary());
+            xml.append("</entry>\n");
+        }
+        xml.append("</feed>\n");
+        return document(xml, updated);
+    }
+
+    private FeedDocument buildSitemapChunk(int number) {
+        int from = (number - 1) * sitemapMaxUrls;
+        StringBuilder xml = new StringBuilder(Math.min(sitemapEntries.size() - from, sitemapMaxUrls) * 96 + 256);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        LocalDateTime latest = null;
+        int index = 0;
+        for (Map.Entry<Long, LocalDateTime> entry : sitemapEntries.entrySet()) {
+            if (index++ < from) {
+                continue;
+            }
+            if (index > from + sitemapMaxUrls) {
+                break;
+            }
+            xml.append("<url><loc>").append(escape(articleUrl(entry.getKey()))).append("</loc>");
+            if (entry.getValue() != null) {
+                xml.append("<lastmod>").append(ISO_DATE.format(zoned(entry.getValue()))).append("</lastmod>");
+                if (latest == null || entry.getValue().isAfter(latest)) {
+                    latest = entry.getValue();
+                }
+            }
+            xml.append("</url>\n");
+        }
+        xml.append("</urlset>\n");
+        return document(xml, latest);
+    }
+
+    private FeedDocument buildSitemapIndex() {
+        StringBuilder xml = new StringBuilder(512);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        long latest = 0;
+        for (int number = 1; number <= chunkCount(); number++) {
+            FeedDocument chunk = getSitemapChunk(number);
+            xml.append("<sitemap><loc>").append(escape(siteUrl + "/sitemap-" + number + ".xml")).append("</loc>");
+            if (chunk.getLastModified() > 0) {
+                xml.append("<lastmod>")
+                        .append(ISO_DATE.format(Instant.ofEpochMilli(chunk.getLastModified()).atZone(ZoneId.systemDefault())))
+                        .append("</lastmod>");
+            }
+            xml.append("</sitemap>\n");
+            latest = Math.max(latest, chunk.getLastModified());
+        }
+        xml.append("</sitemapindex>\n");
+        return new FeedDocument(xml.toString().getBytes(StandardCharsets.UTF_8), latest);
+    }
+
+    private String articleUrl(Long id) {
+        return siteUrl + articlePath + id;
+    }
+
+    private static LocalDateTime lastChanged(ArticleSummary article) {
+        return article.getUpdatedAt() != null ? article.getUpdatedAt() : article.getPublishedAt();
+    }
+
+    private static FeedDocument document(StringBuilder xml, LocalDateTime lastModified) {
+        long millis = lastModified != null ? zoned(lastModified).toInstant().toEpochMilli() : 0;
+        return new FeedDocument(xml.toString().getBytes(StandardCharsets.UTF_8), millis);
+    }
+
+    private static ZonedDateTime zoned(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault());
+    }
+
+    private static void element(StringBuilder xml, String name, String text) {
+        xml.append('<').append(name).append('>');
+        if (text != null) {
+            xml.append(escape(text));
+        }
+        xml.append("</").append(name).append(">\n");
+    }
+
+    /**
+     * 转义XML特殊字符，并去掉XML 1.0不允许出现的控制字符
+     */
+    private static String escape(String text) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&apos;";
+                default -> c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+            };
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb != null ? sb.toString() : text;
+    }
+}
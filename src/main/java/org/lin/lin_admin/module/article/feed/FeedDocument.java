@@ -0,0 +1,31 @@
+package org.lin.lin_admin.module.article.feed;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * 预先编码好的XML文档，ETag由内容摘要生成
+ */
+public class FeedDocument {
+
+    private final byte[] body;
+    private final String etag;
+    private final long lastModified;
+
+    public FeedDocument(byte[] body, long lastModified) {
+        this.body = body;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        this.lastModified = lastModified;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -1,42 +1,383 @@
 package org.lin.lin_admin.module.article.mapper;
 
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.lin.lin_admin.module.article.dto.ArticleQuery;
 import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleExportRow;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleViews;
+import org.lin.lin_admin.module.article.model.GroupCount;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 @Repository
 public interface ArticleMapper {
     
-    @Insert("INSERT INTO articles(title, summary, content, author_id, status, cover_image, created_at, updated_at, published_at) " +
-            "VALUES(#{title}, #{summary}, #{content}, #{authorId}, #{status}, #{coverImage}, #{createdAt}, #{updatedAt}, #{publishedAt})")
+    /**
+     * 列表查询使用的列（不含 content 正文）
+     */
+    String SUMMARY_COLUMNS = "id, title, summary, author_id, status, cover_image, views, created_at, updated_at, published_at";
+    
+    /**
+     * 修改前校验使用的列（不含正文和渲染结果）
+     */
+    String HEAD_COLUMNS = SUMMARY_COLUMNS + ", version, publish_at";
+    
+    @Insert("INSERT INTO articles(title, summary, content, content_html, toc, word_count, reading_time, author_id, status, cover_image, created_at, updated_at, published_at, publish_at) " +
+            "VALUES(#{title}, #{summary}, #{content,typeHandler=articleContent}, #{contentHtml}, #{toc}, #{wordCount}, #{readingTime}, #{authorId}, #{status}, #{coverImage}, #{createdAt}, #{updatedAt}, #{publishedAt}, #{publishAt})")
     @Options(useGeneratedKeys = true, keyProperty = "id")
     int insert(Article article);
     
-    @Update("UPDATE articles SET title = #{title}, summary = #{summary}, content = #{content}, " +
-            "status = #{status}, cover_image = #{coverImage}, updated_at = #{updatedAt}, published_at = #{publishedAt} WHERE id = #{id}")
-    int update(Article article);
+    /**
+     * 多行插入文章，生成的ID回填到每个文章对象
+     * @param articles 文章列表（不能为空）
+     * @return 影响行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO articles(title, summary, content, content_html, toc, word_count, reading_time, author_id, status, cover_image, created_at, updated_at, published_at, publish_at) VALUES",
+            "<foreach collection='articles' item='a' separator=','>",
+            "(#{a.title}, #{a.summary}, #{a.content,typeHandler=articleContent}, #{a.contentHtml}, #{a.toc}, #{a.wordCount}, #{a.readingTime}, #{a.authorId}, #{a.status}, #{a.coverImage}, #{a.createdAt}, #{a.updatedAt}, #{a.publishedAt}, #{a.publishAt})",
+            "</foreach>",
+            "</script>"})
+    @Options(useGeneratedKeys = true, keyProperty = "articles.id")
+    int insertBatch(@Param("articles") List<Article> articles);
+    
+    /**
+     * 只更新非空字段，同时递增版本号；版本号不匹配时不更新
+     * @param article 要修改的字段，id 和 updatedAt 必填，其余字段为null时保持不变
+     * @param version 读取文章时的版本号
+     * @return 影响行数，为0表示文章不存在或已被修改
+     */
+    @Update({"<script>",
+            "UPDATE articles",
+            "<set>",
+            "<if test='article.title != null'>title = #{article.title},</if>",
+            "<if test='article.summary != null'>summary = #{article.summary},</if>",
+            "<if test='article.content != null'>content = #{article.content,typeHandler=articleContent},</if>",
+            "<if test='article.contentHtml != null'>content_html = #{article.contentHtml},</if>",
+            "<if test='article.toc != null'>toc = #{article.toc},</if>",
+            "<if test='article.wordCount != null'>word_count = #{article.wordCount},</if>",
+            "<if test='article.readingTime != null'>reading_time = #{article.readingTime},</if>",
+            "<if test='article.status != null'>status = #{article.status},</if>",
+            "<if test='article.coverImage != null'>cover_image = #{article.coverImage},</if>",
+            "<if test='article.publishedAt != null'>published_at = #{article.publishedAt},</if>",
+            "<if test='article.publishAt != null'>publish_at = #{article.publishAt},</if>",
+            "updated_at = #{article.updatedAt}, version = version + 1",
+            "</set>",
+            "WHERE id = #{article.id} AND version = #{version}",
+            "</script>"})
+    int updateSelective(@Param("article") Article article, @Param("version") int version);
+    
+    /**
+     * 只修改状态（发布、归档等），同时递增版本号；版本号不匹配时不更新
+     * @param id 文章ID
+     * @param status 新状态
+     * @param publishedAt 发布时间
+     * @param updatedAt 更新时间
+     * @param version 读取文章时的版本号
+     * @return 影响行数，为0表示文章不存在或已被修改
+     */
+    @Update("UPDATE articles SET status = #{status}, published_at = #{publishedAt}, updated_at = #{updatedAt}, " +
+            "version = version + 1 WHERE id = #{id} AND version = #{version}")
+    int updateStatus(@Param("id") Long id, @Param("status") String status, @Param("publishedAt") LocalDateTime publishedAt,
+                     @Param("updatedAt") LocalDateTime updatedAt, @Param("version") int version);
+    
+    /**
+     * 批量修改作者本人文章的状态，同时递增版本号
+     * @param ids 文章ID列表（不能为空）
+     * @param status 新状态
+     * @param publishedAt 发布时间，不为null时填写到尚未发布过的文章
+     * @param updatedAt 更新时间
+     * @param authorId 作者ID，不属于该作者的文章不会被修改
+     * @return 影响行数
+     */
+    @Update({"<script>",
+            "UPDATE articles SET status = #{status},",
+            "<if test='publishedAt != null'>published_at = COALESCE(published_at, #{publishedAt}),</if>",
+            "updated_at = #{updatedAt}, version = version + 1",
+            "WHERE author_id = #{authorId} AND id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    int updateStatusByIds(@Param("ids") List<Long> ids, @Param("status") String status,
+                          @Param("publishedAt") LocalDateTime publishedAt, @Param("updatedAt") LocalDateTime updatedAt,
+                          @Param("authorId") Long authorId);
+    
+    /**
+     * 把到期的定时发布文章改为已发布，首次发布的文章以定时发布时间作为发布时间
+     * @param ids 文章ID列表（不能为空）
+     * @param updatedAt 更新时间
+     * @return 影响行数
+     */
+    @Update({"<script>",
+            "UPDATE articles SET status = 'published', published_at = COALESCE(published_at, publish_at),",
+            "updated_at = #{updatedAt}, version = version + 1",
+            "WHERE status = 'scheduled' AND id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    int publishScheduled(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * 只更新渲染字段，保持 updated_at 不变（用于回填历史文章）
+     * @param article 文章
+     * @return 影响行数
+     */
+    @Update("UPDATE articles SET content_html = #{contentHtml}, toc = #{toc}, word_count = #{wordCount}, " +
+            "reading_time = #{readingTime}, updated_at = updated_at WHERE id = #{id}")
+    int updateRendered(Article article);
+    
+    /**
+     * 按ID顺序查询尚未渲染的文章（只查询ID和正文）
+     * @param afterId 从该ID之后开始查询
+     * @param limit 查询数量
+     * @return 文章列表
+     */
+    @Select("SELECT id, content AS stored_content FROM articles WHERE content_html IS NULL AND id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Article> findUnrenderedAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * 按ID顺序查询正文尚未编码且不小于指定字节数的文章（用于压缩历史正文）
+     * @param afterId 从该ID之后开始查询
+     * @param minBytes 正文最小字节数
+     * @param limit 查询数量
+     * @return 文章列表，只包含 id、version 和正文
+     */
+    @Select("SELECT id, version, content AS stored_content FROM articles " +
+            "WHERE id > #{afterId} AND LENGTH(content) >= #{minBytes} AND ASCII(content) <> 0 ORDER BY id LIMIT #{limit}")
+    List<Article> findUnencodedContentAfter(@Param("afterId") long afterId, @Param("minBytes") int minBytes, @Param("limit") int limit);
+    
+    /**
+     * 按当前存储格式重新写入正文，正文内容不变，因此保持 updated_at 和版本号不变；
+     * 读取之后文章已被修改（版本号变化）时不写入
+     * @param article 文章（id、version、content）
+     * @return 影响行数
+     */
+    @Update("UPDATE articles SET content = #{content,typeHandler=articleContent}, updated_at = updated_at " +
+            "WHERE id = #{id} AND version = #{version}")
+    int updateStoredContent(Article article);
+    
+    /**
+     * 按ID顺序分批查询已发布文章（用于重建搜索索引）
+     * @param afterId 从该ID之后开始查询
+     * @param limit 查询数量
+     * @return 文章列表
+     */
+    @Select("SELECT id, title, summary, content AS stored_content, status, published_at FROM articles " +
+            "WHERE status = 'published' AND id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<Article> findPublishedAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * 批量累加浏览量，一条语句更新多篇文章，保持 updated_at 不变
+     * @param deltas 每篇文章新增的浏览量（不能为空）
+     * @return 影响行数
+     */
+    @Update({"<script>",
+            "UPDATE articles SET views = views + CASE id",
+            "<foreach collection='deltas' item='delta'>WHEN #{delta.id} THEN #{delta.views} </foreach>",
+            "ELSE 0 END, updated_at = updated_at WHERE id IN",
+            "<foreach collection='deltas' item='delta' open='(' separator=',' close=')'>#{delta.id}</foreach>",
+            "</script>"})
+    int addViews(@Param("deltas") List<ArticleViews> deltas);
+    
+    /**
+     * 按ID批量查询仍存在的文章ID
+     * @param ids 文章ID列表（不能为空）
+     * @return 存在的文章ID，返回顺序与ID顺序无关
+     */
+    @Select({"<script>",
+            "SELECT id FROM articles WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    List<Long> findExistingIds(@Param("ids") List<Long> ids);
+    
+    /**
+     * 查询浏览量最高的已发布文章，用于初始化热门文章统计
+     * @param limit 查询数量
+     * @return 文章ID和浏览量，按浏览量降序
+     */
+    @Select("SELECT id, views FROM articles WHERE status = 'published' AND views > 0 ORDER BY views DESC, id DESC LIMIT #{limit}")
+    List<ArticleViews> findMostViewed(@Param("limit") int limit);
     
     @Delete("DELETE FROM articles WHERE id = #{id}")
     int delete(Long id);
     
-    @Select("SELECT * FROM articles WHERE id = #{id}")
+    /**
+     * 批量删除作者本人的文章
+     * @param ids 文章ID列表（不能为空）
+     * @param authorId 作者ID，不属于该作者的文章不会被删除
+     * @return 影响行数
+     */
+    @Delete({"<script>",
+            "DELETE FROM articles WHERE author_id = #{authorId} AND id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    int deleteByIds(@Param("ids") List<Long> ids, @Param("authorId") Long authorId);
+    
+    /**
+     * 查询文章全部字段，正文以编码后的字节读出，首次调用 getContent() 时才解码
+     * @param id 文章ID
+     * @return 文章，不存在时返回null
+     */
+    @Select("SELECT " + HEAD_COLUMNS + ", content AS stored_content, content_html, toc, word_count, reading_time FROM articles WHERE id = #{id}")
     Article findById(Long id);
     
-    @Select("SELECT * FROM articles ORDER BY created_at DESC")
-    List<Article> findAll();
+    /**
+     * 查询文章除正文和渲染结果以外的字段，用于修改前的作者、状态和版本校验
+     * @param id 文章ID
+     * @return 文章（content、content_html、toc 为null），不存在时返回null
+     */
+    @Select("SELECT " + HEAD_COLUMNS + " FROM articles WHERE id = #{id}")
+    Article findHeadById(Long id);
     
-    @Select("SELECT * FROM articles WHERE status = 'published' ORDER BY published_at DESC LIMIT #{limit} OFFSET #{offset}")
-    List<Article> findAllPublished(@Param("offset") int offset, @Param("limit") int limit);
+    /**
+     * 批量查询文章除正文以外的字段并加行锁，用于批量操作前的作者和状态校验，需在事务中调用
+     * @param ids 文章ID列表（不能为空）
+     * @return 存在的文章（content、content_html、toc 为null），返回顺序与ID顺序无关
+     */
+    @Select({"<script>",
+            "SELECT " + HEAD_COLUMNS + " FROM articles WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "FOR UPDATE",
+            "</script>"})
+    List<Article> lockHeadsByIds(@Param("ids") List<Long> ids);
     
-    @Select("SELECT * FROM articles WHERE status = #{status} ORDER BY created_at DESC LIMIT #{limit} OFFSET #{offset}")
-    List<Article> findAllByStatus(@Param("status") String status, @Param("offset") int offset, @Param("limit") int limit);
+    /**
+     * 查询已发布文章的更新时间，用于条件请求校验，不读取正文
+     * @param id 文章ID
+     * @return 更新时间，文章不存在或未发布时返回null
+     */
+    @Select("SELECT updated_at FROM articles WHERE id = #{id} AND status = 'published'")
+    LocalDateTime findPublishedUpdatedAt(Long id);
+    
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles ORDER BY created_at DESC")
+    List<ArticleSummary> findAll();
+    
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'published' ORDER BY published_at DESC, id DESC LIMIT #{limit} OFFSET #{offset}")
+    List<ArticleSummary> findAllPublished(@Param("offset") int offset, @Param("limit") int limit);
+    
+    /**
+     * 按游标查询已发布文章（keyset分页），沿 (status, published_at, id) 索引定位，不扫描前面的页
+     * @param publishedAt 上一页最后一篇的发布时间，为null时从第一页开始
+     * @param id 上一页最后一篇的ID
+     * @param limit 查询数量
+     * @return 文章列表
+     */
+    @Select({"<script>",
+            "SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE status = 'published' AND published_at IS NOT NULL",
+            "<if test='publishedAt != null'>",
+            "AND (published_at &lt; #{publishedAt} OR (published_at = #{publishedAt} AND id &lt; #{id}))",
+            "</if>",
+            "ORDER BY published_at DESC, id DESC LIMIT #{limit}",
+            "</script>"})
+    List<ArticleSummary> findPublishedAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                            @Param("limit") int limit);
+    
+    /**
+     * 按发布顺序查询所有已发布文章的ID和发布时间，用于初始化标签索引
+     * @return 文章列表，只包含 id 和 published_at
+     */
+    @Select("SELECT id, published_at FROM articles WHERE status = 'published' ORDER BY published_at, id")
+    List<ArticleSummary> findPublishedOrder();
+    
+    /**
+     * 查询所有等待定时发布的文章，用于初始化定时发布调度
+     * @return 文章列表，只包含 id 和 publish_at
+     */
+    @Select("SELECT id, publish_at FROM articles WHERE status = 'scheduled' AND publish_at IS NOT NULL")
+    List<Article> findScheduled();
+    
+    /**
+     * 查询所有已发布文章的标题和发布时间，用于初始化归档
+     * @return 文章列表，只包含 id、title、published_at
+     */
+    @Select("SELECT id, title, published_at FROM articles WHERE status = 'published' AND published_at IS NOT NULL")
+    List<ArticleSummary> findPublishedTimeline();
+    
+    /**
+     * 查询所有已发布文章的ID和更新时间，用于生成站点地图
+     * @return 文章列表，只包含 id、updated_at，按ID升序
+     */
+    @Select("SELECT id, updated_at FROM articles WHERE status = 'published' ORDER BY id")
+    List<ArticleSummary> findSitemapEntries();
+    
+    /**
+     * 设置当前会话的 GROUP_CONCAT 结果最大长度，默认 1024 字节，超出部分会被静默截断
+     * @param length 最大字节数
+     */
+    @Update("SET SESSION group_concat_max_len = #{length}")
+    void setGroupConcatMaxLen(@Param("length") long length);
+    
+    /**
+     * 按ID顺序流式读取所有文章用于导出，逐行从数据库获取，不把结果集整体加载到内存
+     * 返回的游标需在事务内遍历；遍历期间同一连接不能执行其他查询，因此标签以逗号分隔的ID一并读出，
+     * 打开游标前需在同一事务中通过 {@link #setGroupConcatMaxLen(long)} 放宽长度限制
+     * @return 文章游标
+     */
+    @Select("SELECT a.id, a.title, a.summary, a.content AS stored_content, a.status, a.cover_image, a.created_at, a.updated_at, a.published_at, a.publish_at, " +
+            "(SELECT GROUP_CONCAT(at.tag_id ORDER BY at.tag_id) FROM article_tags at WHERE at.article_id = a.id) AS tag_ids " +
+            "FROM articles a ORDER BY a.id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<ArticleExportRow> cursorForExport();
+    
+    /**
+     * 按ID批量查询文章摘要信息，返回顺序与ID顺序无关
+     * @param ids 文章ID列表（不能为空）
+     * @return 文章列表
+     */
+    @Select({"<script>",
+            "SELECT " + SUMMARY_COLUMNS + " FROM articles WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"})
+    List<ArticleSummary> findSummariesByIds(@Param("ids") List<Long> ids);
+    
+    /**
+     * 统计排在指定位置之前的已发布文章数量（按 published_at DESC, id DESC 排序），即该位置在列表中的下标
+     * @param publishedAt 发布时间
+     * @param id 文章ID
+     * @return 文章数量
+     */
+    @Select("SELECT COUNT(*) FROM articles WHERE status = 'published' " +
+            "AND (published_at > #{publishedAt} OR (published_at = #{publishedAt} AND id > #{id}))")
+    long countPublishedBefore(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id);
+    
+    /**
+     * 按条件分页查询文章（动态SQL定义在 mapper/ArticleMapper.xml）
+     * @param query 查询条件
+     * @param offset 偏移量
+     * @param limit 查询数量
+     * @return 文章列表
+     */
+    List<ArticleSummary> findPage(@Param("query") ArticleQuery query, @Param("offset") int offset, @Param("limit") int limit);
+    
+    /**
+     * 按条件统计文章数量（动态SQL定义在 mapper/ArticleMapper.xml）
+     * @param query 查询条件
+     * @return 文章数量
+     */
+    long countByQuery(@Param("query") ArticleQuery query);
     
     @Select("SELECT COUNT(*) FROM articles")
     int count();
     
     @Select("SELECT COUNT(*) FROM articles WHERE status = #{status}")
     int countByStatus(String status);
+    
+    /**
+     * 按状态统计文章数量
+     * @return 每个状态一行
+     */
+    @Select("SELECT status AS group_key, COUNT(*) AS total FROM articles GROUP BY status")
+    List<GroupCount> countGroupByStatus();
+    
+    /**
+     * 按发布月份统计已发布文章数量
+     * @return 每个月份(yyyy-MM)一行
+     */
+    @Select("SELECT DATE_FORMAT(published_at, '%Y-%m') AS group_key, COUNT(*) AS total FROM articles " +
+            "WHERE status = 'published' AND published_at IS NOT NULL GROUP BY group_key")
+    List<GroupCount> countPublishedGroupByMonth();
 } 
\ No newline at end of file
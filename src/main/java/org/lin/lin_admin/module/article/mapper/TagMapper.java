@@ -1,6 +1,8 @@
 package org.lin.lin_admin.module.article.mapper;
 
 import org.apache.ibatis.annotations.*;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.lin.lin_admin.module.article.model.GroupCount;
 import org.lin.lin_admin.module.article.model.Tag;
 import org.springframework.stereotype.Repository;
 
@@ -26,18 +28,95 @@ public interface TagMapper {
     @Select("SELECT * FROM tags WHERE name = #{name}")
     Tag findByName(String name);
 
+    /**
+     * 按名称批量查询标签
+     * @param names 标签名列表（不能为空）
+     * @return 存在的标签
+     */
+    @Select({"<script>",
+            "SELECT * FROM tags WHERE name IN",
+            "<foreach collection='names' item='name' open='(' separator=',' close=')'>#{name}</foreach>",
+            "</script>"})
+    List<Tag> findByNames(@Param("names") List<String> names);
+
+    /**
+     * 批量创建标签，已存在的名称被忽略
+     * @param names 标签名列表（不能为空）
+     * @return 新建的标签数量
+     */
+    @Insert({"<script>",
+            "INSERT IGNORE INTO tags(name) VALUES",
+            "<foreach collection='names' item='name' separator=','>(#{name})</foreach>",
+            "</script>"})
+    int insertIgnoreNames(@Param("names") List<String> names);
+
     @Select("SELECT * FROM tags ORDER BY id")
     List<Tag> findAll();
     
     @Select("SELECT t.* FROM tags t JOIN article_tags at ON t.id = at.tag_id WHERE at.article_id = #{articleId}")
     List<Tag> findByArticleId(Long articleId);
     
+    /**
+     * 批量查询多篇文章的标签，一次查询完成整页文章的标签加载
+     * @param articleIds 文章ID列表（不能为空）
+     * @return 文章-标签关联行（不含标签名）
+     */
+    @Select({"<script>",
+            "SELECT article_id, tag_id FROM article_tags",
+            "WHERE article_id IN",
+            "<foreach collection='articleIds' item='articleId' open='(' separator=',' close=')'>#{articleId}</foreach>",
+            "ORDER BY article_id, tag_id",
+            "</script>"})
+    List<ArticleTag> findByArticleIds(@Param("articleIds") List<Long> articleIds);
+    
+    /**
+     * 查询所有已发布文章的标签关联，用于初始化标签索引
+     * @return 文章-标签关联行（不含标签名）
+     */
+    @Select("SELECT at.article_id, at.tag_id FROM article_tags at JOIN articles a ON a.id = at.article_id " +
+            "WHERE a.status = 'published'")
+    List<ArticleTag> findPublishedArticleTags();
+    
     @Insert("INSERT INTO article_tags(article_id, tag_id) VALUES(#{articleId}, #{tagId})")
     int insertArticleTag(@Param("articleId") Long articleId, @Param("tagId") Long tagId);
     
+    /**
+     * 多行插入文章-标签关联
+     * @param rows 关联行，只使用 articleId 和 tagId（不能为空）
+     * @return 影响行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO article_tags(article_id, tag_id) VALUES",
+            "<foreach collection='rows' item='row' separator=','>(#{row.articleId}, #{row.tagId})</foreach>",
+            "</script>"})
+    int insertArticleTags(@Param("rows") List<ArticleTag> rows);
+    
     @Delete("DELETE FROM article_tags WHERE article_id = #{articleId}")
     int deleteArticleTagsByArticleId(Long articleId);
     
+    /**
+     * 删除一篇文章的指定标签关联
+     * @param articleId 文章ID
+     * @param tagIds 标签ID列表（不能为空）
+     * @return 影响行数
+     */
+    @Delete({"<script>",
+            "DELETE FROM article_tags WHERE article_id = #{articleId} AND tag_id IN",
+            "<foreach collection='tagIds' item='tagId' open='(' separator=',' close=')'>#{tagId}</foreach>",
+            "</script>"})
+    int deleteArticleTags(@Param("articleId") Long articleId, @Param("tagIds") List<Long> tagIds);
+    
+    /**
+     * 批量删除多篇文章的标签关联
+     * @param articleIds 文章ID列表（不能为空）
+     * @return 影响行数
+     */
+    @Delete({"<script>",
+            "DELETE FROM article_tags WHERE article_id IN",
+            "<foreach collection='articleIds' item='articleId' open='(' separator=',' close=')'>#{articleId}</foreach>",
+            "</script>"})
+    int deleteArticleTagsByArticleIds(@Param("articleIds") List<Long> articleIds);
+    
     @Select("SELECT tag_id FROM article_tags WHERE article_id = #{articleId}")
     List<Long> findTagIdsByArticleId(Long articleId);
     
@@ -48,4 +127,11 @@ public interface TagMapper {
      */
     @Select("SELECT COUNT(*) FROM article_tags WHERE tag_id = #{tagId}")
     int countArticlesByTagId(Long tagId);
+    
+    /**
+     * 按标签统计文章数量
+     * @return 每个标签ID一行
+     */
+    @Select("SELECT tag_id AS group_key, COUNT(*) AS total FROM article_tags GROUP BY tag_id")
+    List<GroupCount> countGroupByTag();
 } 
\ No newline at end of file
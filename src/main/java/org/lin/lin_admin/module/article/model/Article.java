@@ -1,5 +1,7 @@
 package org.lin.lin_admin.module.article.model;
 
+import org.lin.lin_admin.module.article.storage.ArticleContentCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -10,12 +12,20 @@ public class Article {
     private String title;
     private String summary;
     private String content;
+    private byte[] storedContent; // 数据库中编码后的正文，首次读取 content 时才解码
+    private String contentHtml; // 渲染后的HTML
+    private String toc; // 标题目录(JSON)
+    private Integer wordCount;
+    private Integer readingTime; // 预计阅读时间(分钟)
     private Long authorId;
     private String status; // draft, published
     private String coverImage; // 封面图片URL
+    private Long views; // 浏览量
+    private Integer version; // 乐观锁版本号
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
+    private LocalDateTime publishAt; // 定时发布时间
 
     public Long getId() {
         return id;
@@ -42,11 +52,68 @@ public class Article {
     }
 
     public String getContent() {
+        if (content == null && storedContent != null) {
+            content = ArticleContentCodec.decode(storedContent);
+            storedContent = null;
+        }
         return content;
     }
 
     public void setContent(String content) {
         this.content = content;
+        this.storedContent = null;
+    }
+
+    /**
+     * @return 尚未解码的正文字节，正文已解码或未从数据库读取时为null
+     */
+    public byte[] getStoredContent() {
+        return storedContent;
+    }
+
+    /**
+     * 设置数据库中编码后的正文
+     * 传入null时只在正文尚未解码时生效：BeanUtils.copyProperties 等按属性复制时，
+     * 源对象的正文已解码则 storedContent 读出为null，不能因此清掉已复制过来的 content
+     */
+    public void setStoredContent(byte[] storedContent) {
+        if (storedContent == null && content != null) {
+            return;
+        }
+        this.storedContent = storedContent;
+        this.content = null;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public String getToc() {
+        return toc;
+    }
+
+    public void setToc(String toc) {
+        this.toc = toc;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingTime() {
+        return readingTime;
+    }
+
+    public void setReadingTime(Integer readingTime) {
+        this.readingTime = readingTime;
     }
 
     public Long getAuthorId() {
@@ -93,6 +160,14 @@ public class Article {
         this.publishedAt = publishedAt;
     }
 
+    public LocalDateTime getPublishAt() {
+        return publishAt;
+    }
+
+    public void setPublishAt(LocalDateTime publishAt) {
+        this.publishAt = publishAt;
+    }
+
     public String getCoverImage() {
         return coverImage;
     }
@@ -100,4 +175,20 @@ public class Article {
     public void setCoverImage(String coverImage) {
         this.coverImage = coverImage;
     }
+
+    public Long getViews() {
+        return views;
+    }
+
+    public void setViews(Long views) {
+        this.views = views;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.lin.lin_admin.module.article.model;
+
+/**
+ * 导出文章行，在文章字段之外带有逗号分隔的标签ID
+ */
+public class ArticleExportRow extends Article {
+    private String tagIds;
+
+    public String getTagIds() {
+        return tagIds;
+    }
+
+    public void setTagIds(String tagIds) {
+        this.tagIds = tagIds;
+    }
+}
@@ -0,0 +1,25 @@
+package org.lin.lin_admin.module.article.model;
+
+/**
+ * 文章-标签关联行，用于批量加载文章标签；标签名从标签字典中获取
+ */
+public class ArticleTag {
+    private Long articleId;
+    private Long tagId;
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+}
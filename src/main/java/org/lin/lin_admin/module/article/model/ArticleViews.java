@@ -0,0 +1,33 @@
+package org.lin.lin_admin.module.article.model;
+
+/**
+ * 文章浏览量行，用于批量累加浏览量和加载热门文章
+ */
+public class ArticleViews {
+    private Long id;
+    private long views;
+
+    public ArticleViews() {
+    }
+
+    public ArticleViews(Long id, long views) {
+        this.id = id;
+        this.views = views;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+}
@@ -0,0 +1,25 @@
+package org.lin.lin_admin.module.article.model;
+
+/**
+ * 分组计数行，用于 GROUP BY 聚合查询结果
+ */
+public class GroupCount {
+    private String groupKey;
+    private long total;
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,95 @@
+package org.lin.lin_admin.module.article.render;
+
+import org.lin.lin_admin.module.article.cache.ArticleDetailCache;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 历史文章渲染回填任务
+ * 按ID分批查找尚未渲染的文章（content_html 为空），渲染后只更新渲染字段。
+ * 任务可重复执行，已渲染的文章会被跳过。
+ */
+@Component
+public class ArticleRenderBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleRenderBackfillJob.class);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private ArticleDetailCache articleDetailCache;
+
+    @Value("${article.render.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${article.render.backfill-batch-size:100}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 应用启动后在后台线程执行回填，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                logger.error("文章渲染回填失败", e);
+            }
+        }, "article-render-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 执行回填
+     * @return 本次回填的文章数量，已有任务在执行时返回-1
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("文章渲染回填任务正在执行，跳过本次请求");
+            return -1;
+        }
+        try {
+            int total = 0;
+            long lastId = 0;
+            while (true) {
+                List<Article> articles = articleMapper.findUnrenderedAfter(lastId, batchSize);
+                if (articles.isEmpty()) {
+                    break;
+                }
+                for (Article article : articles) {
+                    markdownRenderer.renderInto(article);
+                    articleMapper.updateRendered(article);
+                    articleDetailCache.invalidate(article.getId());
+                    lastId = article.getId();
+                }
+                total += articles.size();
+                logger.info("文章渲染回填进度：已处理{}篇，最后ID：{}", total, lastId);
+            }
+            logger.info("文章渲染回填完成，共{}篇", total);
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+}
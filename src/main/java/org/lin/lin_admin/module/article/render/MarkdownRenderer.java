@@ -0,0 +1,180 @@
+package org.lin.lin_admin.module.article.render;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.IdGenerator;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.lin.lin_admin.module.article.model.Article;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown渲染器
+ * 在文章保存时将Markdown渲染为HTML，同时生成标题目录、字数和预计阅读时间，
+ * 读取文章时直接返回这些预先生成的字段。
+ */
+@Component
+public class MarkdownRenderer {
+
+    /**
+     * 中文每分钟阅读字数
+     */
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+
+    /**
+     * 英文每分钟阅读单词数
+     */
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create(), StrikethroughExtension.create());
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 渲染Markdown
+     * @param markdown Markdown源文本
+     * @return 渲染结果
+     */
+    public RenderedContent render(String markdown) {
+        Node document = parser.parse(markdown != null ? markdown : "");
+
+        Map<Node, String> anchors = new IdentityHashMap<>();
+        List<TocItem> toc = new ArrayList<>();
+        IdGenerator idGenerator = IdGenerator.builder().build();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading);
+                String anchor = idGenerator.generateId(text);
+                anchors.put(heading, anchor);
+                toc.add(new TocItem(heading.getLevel(), text, anchor));
+            }
+        });
+
+        // 字数不含代码块
+        WordCounter counter = new WordCounter();
+        counter.add(MarkdownTextExtractor.extract(markdown, Integer.MAX_VALUE, false));
+
+        // 标题锚点与目录使用同一组ID
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String anchor = anchors.get(node);
+                    if (anchor != null) {
+                        attributes.put("id", anchor);
+                    }
+                })
+                .build();
+        String html = renderer.render(document);
+
+        return new RenderedContent(html, toc, counter.count(), counter.readingMinutes());
+    }
+
+    /**
+     * 渲染文章正文，并把结果写入文章的渲染字段
+     * @param article 文章，content 为Markdown源文本
+     */
+    public void renderInto(Article article) {
+        RenderedContent rendered = render(article.getContent());
+        article.setContentHtml(rendered.getHtml());
+        article.setWordCount(rendered.getWordCount());
+        article.setReadingTime(rendered.getReadingTime());
+        try {
+            article.setToc(objectMapper.writeValueAsString(rendered.getToc()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化文章目录失败", e);
+        }
+    }
+
+    /**
+     * 提取Markdown中的纯文本（去掉标记，保留代码内容），块级元素之间以换行分隔
+     * @param markdown Markdown源文本
+     * @return 纯文本
+     */
+    public String plainText(String markdown) {
+        return MarkdownTextExtractor.extract(markdown, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * 提取节点下的纯文本
+     */
+    private static String textOf(Node node) {
+        StringBuilder sb = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                sb.append(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                sb.append(code.getLiteral());
+            }
+        });
+        return sb.toString().trim();
+    }
+
+    /**
+     * 字数统计：中日韩字符每个字计一次，其余连续的字母数字计为一个单词
+     */
+    private static class WordCounter {
+        private int cjkChars;
+        private int words;
+
+        void add(String text) {
+            boolean inWord = false;
+            for (int i = 0; i < text.length(); ) {
+                int codePoint = text.codePointAt(i);
+                i += Character.charCount(codePoint);
+                if (isCjk(codePoint)) {
+                    cjkChars++;
+                    inWord = false;
+                } else if (Character.isLetterOrDigit(codePoint)) {
+                    if (!inWord) {
+                        words++;
+                        inWord = true;
+                    }
+                } else {
+                    inWord = false;
+                }
+            }
+        }
+
+        int count() {
+            return cjkChars + words;
+        }
+
+        int readingMinutes() {
+            if (cjkChars == 0 && words == 0) {
+                return 0;
+            }
+            double minutes = (double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+            return Math.max(1, (int) Math.ceil(minutes));
+        }
+
+        private static boolean isCjk(int codePoint) {
+            Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+            return script == Character.UnicodeScript.HAN
+                    || script == Character.UnicodeScript.HIRAGANA
+                    || script == Character.UnicodeScript.KATAKANA
+                    || script == Character.UnicodeScript.HANGUL;
+        }
+    }
+}
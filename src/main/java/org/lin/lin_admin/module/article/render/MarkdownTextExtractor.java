@@ -0,0 +1,512 @@
+package org.lin.lin_admin.module.article.render;
+
+/**
+ * Markdown纯文本提取器
+ * 按行单遍扫描源文本，去掉块级和行内标记后输出纯文本，不构建语法树也不使用正则；
+ * 输出达到指定长度后立即停止扫描，适合生成摘要。
+ * 输出中连续的空行合并为一个换行，行首行尾空白被去掉。
+ */
+public final class MarkdownTextExtractor {
+
+    private MarkdownTextExtractor() {
+    }
+
+    /**
+     * 生成摘要：提取前 maxLength 个字符的纯文本（不含代码块），被截断时追加省略号
+     * @param markdown Markdown源文本
+     * @param maxLength 摘要最大长度
+     * @return 摘要，源文本为空时返回空字符串
+     */
+    public static String summary(String markdown, int maxLength) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        // 多取一个字符，用来判断是否发生截断
+        String text = extract(markdown, maxLength + 1, false);
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int end = maxLength;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    /**
+     * 提取纯文本
+     * @param markdown Markdown源文本
+     * @param maxLength 最多输出的字符数
+     * @param includeCodeBlocks 是否保留代码块内容
+     * @return 纯文本
+     */
+    public static String extract(String markdown, int maxLength, boolean includeCodeBlocks) {
+        if (markdown == null || markdown.isEmpty() || maxLength <= 0) {
+            return "";
+        }
+        Extractor extractor = new Extractor(markdown, maxLength, includeCodeBlocks);
+        extractor.run();
+        return extractor.result();
+    }
+
+    /**
+     * 单次提取的扫描状态
+     */
+    private static final class Extractor {
+        private final String src;
+        private final int limit;
+        private final boolean includeCodeBlocks;
+        private final StringBuilder out;
+
+        /**
+         * 当前所在围栏代码块的围栏字符，不在代码块中时为0
+         */
+        private char fenceChar;
+        private int fenceLength;
+
+        /**
+         * 下一次输出前需要先补一个换行
+         */
+        private boolean pendingNewline;
+
+        Extractor(String src, int limit, boolean includeCodeBlocks) {
+            this.src = src;
+            this.limit = limit;
+            this.includeCodeBlocks = includeCodeBlocks;
+            this.out = new StringBuilder(Math.min(limit, src.length()) + 16);
+        }
+
+        void run() {
+            int length = src.length();
+            int pos = 0;
+            while (pos < length && !full()) {
+                int eol = src.indexOf('\n', pos);
+                if (eol < 0) {
+                    eol = length;
+                }
+                int end = eol;
+                if (end > pos && src.charAt(end - 1) == '\r') {
+                    end--;
+                }
+                line(pos, end);
+                pos = eol + 1;
+            }
+        }
+
+        String result() {
+            int end = out.length();
+            while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+                end--;
+            }
+            out.setLength(end);
+            return out.toString();
+        }
+
+        private boolean full() {
+            return out.length() >= limit;
+        }
+
+        private void line(int start, int end) {
+            int i = skipSpaces(start, end);
+
+            if (fenceChar != 0) {
+                if (isFence(i, end, fenceChar, fenceLength)) {
+                    fenceChar = 0;
+                    newline();
+                } else if (includeCodeBlocks) {
+                    raw(start, end);
+                    newline();
+                }
+                return;
+            }
+
+            if (i == end) {
+                newline();
+                return;
+            }
+
+            char c = src.charAt(i);
+            if ((c == '`' || c == '~') && i - start < 4) {
+                int run = countRun(i, end, c);
+                // 反引号围栏的信息字符串中不能再出现反引号，否则是行内代码
+                if (run >= 3 && (c == '~' || indexOf('`', i + run, end) < 0)) {
+                    fenceChar = c;
+                    fenceLength = run;
+                    newline();
+                    return;
+                }
+            }
+
+            // 引用、列表标记可以相互嵌套
+            while (i < end) {
+                c = src.charAt(i);
+                if (c == '>') {
+                    i = skipSpaces(i + 1, end);
+                } else if ((c == '-' || c == '*' || c == '+') && i + 1 < end && src.charAt(i + 1) == ' ') {
+                    if (isThematicBreak(i, end)) {
+                        newline();
+                        return;
+                    }
+                    i = skipSpaces(i + 1, end);
+                    i = skipTaskMarker(i, end);
+                } else if (c >= '0' && c <= '9') {
+                    int j = i;
+                    while (j < end && j - i < 9 && src.charAt(j) >= '0' && src.charAt(j) <= '9') {
+                        j++;
+                    }
+                    if (j > i && j < end && (src.charAt(j) == '.' || src.charAt(j) == ')')
+                            && (j + 1 == end || src.charAt(j + 1) == ' ')) {
+                        i = skipSpaces(j + 1, end);
+                    } else {
+                        break;
+                    }
+                } else {
+                    break;
+                }
+            }
+            if (i == end) {
+                newline();
+                return;
+            }
+
+            c = src.charAt(i);
+            if (c == '#') {
+                int run = countRun(i, end, '#');
+                if (run <= 6 && (i + run == end || src.charAt(i + run) == ' ')) {
+                    i = skipSpaces(i + run, end);
+                    end = trimClosingHashes(i, end);
+                }
+            } else if (isThematicBreak(i, end) || isSetextUnderline(i, end) || isTableDelimiter(i, end)) {
+                newline();
+                return;
+            }
+
+            inline(i, end);
+            newline();
+        }
+
+        /**
+         * 处理行内标记
+         */
+        private void inline(int start, int end) {
+            int i = start;
+            while (i < end && !full()) {
+                char c = src.charAt(i);
+                switch (c) {
+                    case '\\' -> {
+                        if (i + 1 < end && isAsciiPunctuation(src.charAt(i + 1))) {
+                            emit(src.charAt(i + 1));
+                            i += 2;
+                        } else {
+                            emit(c);
+                            i++;
+                        }
+                    }
+                    case '`' -> {
+                        int run = countRun(i, end, '`');
+                        int close = findBacktickRun(i + run, end, run);
+                        if (close < 0) {
+                            for (int k = 0; k < run; k++) {
+                                emit('`');
+                            }
+                            i += run;
+                        } else {
+                            raw(i + run, close);
+                            i = close + run;
+                        }
+                    }
+                    case '*' -> i++;
+                    case '_' -> {
+                        // 单词内部的下划线（如 snake_case）保留
+                        boolean inWord = i > start && Character.isLetterOrDigit(src.charAt(i - 1))
+                                && i + 1 < end && Character.isLetterOrDigit(src.charAt(i + 1));
+                        if (inWord) {
+                            emit(c);
+                        }
+                        i++;
+                    }
+                    case '~' -> {
+                        if (i + 1 < end && src.charAt(i + 1) == '~') {
+                            i += 2;
+                        } else {
+                            emit(c);
+                            i++;
+                        }
+                    }
+                    case '!' -> {
+                        if (i + 1 < end && src.charAt(i + 1) == '[') {
+                            int next = link(i + 1, end);
+                            if (next > 0) {
+                                i = next;
+                                break;
+                            }
+                        }
+                        emit(c);
+                        i++;
+                    }
+                    case '[' -> {
+                        int next = link(i, end);
+                        if (next > 0) {
+                            i = next;
+                        } else {
+                            emit(c);
+                            i++;
+                        }
+                    }
+                    case '<' -> i = tag(i, end);
+                    case '|' -> {
+                        space();
+                        i++;
+                    }
+                    case ' ', '\t' -> {
+                        space();
+                        i++;
+                    }
+                    default -> {
+                        emit(c);
+                        i++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 处理 [文本](地址)、[文本][引用] 形式的链接和图片，只输出方括号内的文本
+         * @return 链接之后的位置，不是链接时返回-1
+         */
+        private int link(int open, int end) {
+            int close = findClosing(open, end, '[', ']');
+            if (close < 0) {
+                return -1;
+            }
+            int next = close + 1;
+            if (next < end && src.charAt(next) == '(') {
+                int paren = findClosing(next, end, '(', ')');
+                if (paren < 0) {
+                    return -1;
+                }
+                next = paren + 1;
+            } else if (next < end && src.charAt(next) == '[') {
+                int ref = findClosing(next, end, '[', ']');
+                if (ref < 0) {
+                    return -1;
+                }
+                next = ref + 1;
+            } else if (next < end && src.charAt(next) == ':') {
+                // 链接引用定义 [id]: url 整行跳过
+                return end;
+            }
+            inline(open + 1, close);
+            return next;
+        }
+
+        /**
+         * 去掉HTML标签；自动链接 &lt;https://...&gt; 输出其中的地址
+         * @return 标签之后的位置
+         */
+        private int tag(int open, int end) {
+            int close = indexOf('>', open + 1, end);
+            if (close < 0) {
+                emit('<');
+                return open + 1;
+            }
+            char first = src.charAt(open + 1);
+            if (!(Character.isLetter(first) || first == '/' || first == '!' || first == '?')) {
+                emit('<');
+                return open + 1;
+            }
+            boolean autolink = false;
+            for (int k = open + 1; k < close; k++) {
+                char c = src.charAt(k);
+                if (c == ' ') {
+                    autolink = false;
+                    break;
+                }
+                if (c == ':' || c == '@') {
+                    autolink = true;
+                }
+            }
+            if (autolink) {
+                raw(open + 1, close);
+            }
+            return close + 1;
+        }
+
+        private int findClosing(int open, int end, char openChar, char closeChar) {
+            int depth = 0;
+            for (int k = open; k < end; k++) {
+                char c = src.charAt(k);
+                if (c == '\\') {
+                    k++;
+                } else if (c == openChar) {
+                    depth++;
+                } else if (c == closeChar && --depth == 0) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        private int findBacktickRun(int from, int end, int length) {
+            int k = from;
+            while (k < end) {
+                if (src.charAt(k) == '`') {
+                    int run = countRun(k, end, '`');
+                    if (run == length) {
+                        return k;
+                    }
+                    k += run;
+                } else {
+                    k++;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isFence(int i, int end, char c, int minLength) {
+            int run = countRun(i, end, c);
+            return run >= minLength && skipSpaces(i + run, end) == end;
+        }
+
+        /**
+         * 分隔线：三个及以上相同的 - * _，中间可以有空格
+         */
+        private boolean isThematicBreak(int i, int end) {
+            char c = src.charAt(i);
+            if (c != '-' && c != '*' && c != '_') {
+                return false;
+            }
+            int count = 0;
+            for (int k = i; k < end; k++) {
+                char ch = src.charAt(k);
+                if (ch == c) {
+                    count++;
+                } else if (ch != ' ' && ch != '\t') {
+                    return false;
+                }
+            }
+            return count >= 3;
+        }
+
+        private boolean isSetextUnderline(int i, int end) {
+            return src.charAt(i) == '=' && skipSpaces(i + countRun(i, end, '='), end) == end;
+        }
+
+        /**
+         * 表格分隔行，如 |---|:---:|
+         */
+        private boolean isTableDelimiter(int i, int end) {
+            boolean pipe = false;
+            boolean dash = false;
+            for (int k = i; k < end; k++) {
+                char c = src.charAt(k);
+                if (c == '|') {
+                    pipe = true;
+                } else if (c == '-') {
+                    dash = true;
+                } else if (c != ':' && c != ' ' && c != '\t') {
+                    return false;
+                }
+            }
+            return pipe && dash;
+        }
+
+        private int skipTaskMarker(int i, int end) {
+            if (i + 2 < end && src.charAt(i) == '[' && src.charAt(i + 2) == ']'
+                    && (src.charAt(i + 1) == ' ' || src.charAt(i + 1) == 'x' || src.charAt(i + 1) == 'X')) {
+                return skipSpaces(i + 3, end);
+            }
+            return i;
+        }
+
+        private int trimClosingHashes(int start, int end) {
+            int k = end;
+            while (k > start && src.charAt(k - 1) == ' ') {
+                k--;
+            }
+            int hashes = k;
+            while (hashes > start && src.charAt(hashes - 1) == '#') {
+                hashes--;
+            }
+            if (hashes < k && (hashes == start || src.charAt(hashes - 1) == ' ')) {
+                return hashes;
+            }
+            return end;
+        }
+
+        private int indexOf(char c, int from, int end) {
+            for (int k = from; k < end; k++) {
+                if (src.charAt(k) == c) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        private int countRun(int i, int end, char c) {
+            int k = i;
+            while (k < end && src.charAt(k) == c) {
+                k++;
+            }
+            return k - i;
+        }
+
+        private int skipSpaces(int i, int end) {
+            while (i < end && (src.charAt(i) == ' ' || src.charAt(i) == '\t')) {
+                i++;
+            }
+            return i;
+        }
+
+        private void raw(int start, int end) {
+            for (int k = start; k < end && !full(); k++) {
+                char c = src.charAt(k);
+                emit(c == '\t' ? ' ' : c);
+            }
+        }
+
+        private void emit(char c) {
+            if (full()) {
+                return;
+            }
+            if (c == ' ' && atLineStart()) {
+                return;
+            }
+            if (pendingNewline) {
+                pendingNewline = false;
+                if (out.length() > 0) {
+                    int length = out.length();
+                    while (length > 0 && out.charAt(length - 1) == ' ') {
+                        length--;
+                    }
+                    out.setLength(length);
+                    out.append('\n');
+                    if (full()) {
+                        return;
+                    }
+                }
+            }
+            out.append(c);
+        }
+
+        private void space() {
+            if (!atLineStart() && out.charAt(out.length() - 1) != ' ') {
+                emit(' ');
+            }
+        }
+
+        private void newline() {
+            if (out.length() > 0) {
+                pendingNewline = true;
+            }
+        }
+
+        private boolean atLineStart() {
+            return pendingNewline || out.length() == 0 || out.charAt(out.length() - 1) == '\n';
+        }
+
+        private static boolean isAsciiPunctuation(char c) {
+            return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.lin.lin_admin.module.article.render;
+
+import java.util.List;
+
+/**
+ * Markdown渲染结果
+ */
+public class RenderedContent {
+    private final String html;
+    private final List<TocItem> toc;
+    private final int wordCount;
+    private final int readingTime;
+
+    public RenderedContent(String html, List<TocItem> toc, int wordCount, int readingTime) {
+        this.html = html;
+        this.toc = toc;
+        this.wordCount = wordCount;
+        this.readingTime = readingTime;
+    }
+
+    /**
+     * @return 渲染后的HTML
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * @return 标题目录
+     */
+    public List<TocItem> getToc() {
+        return toc;
+    }
+
+    /**
+     * @return 字数（中日韩字符按字计，其余按单词计）
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @return 预计阅读时间（分钟）
+     */
+    public int getReadingTime() {
+        return readingTime;
+    }
+}
@@ -0,0 +1,54 @@
+package org.lin.lin_admin.module.article.render;
+
+/**
+ * 文章目录项
+ */
+public class TocItem {
+    /**
+     * 标题级别 1-6
+     */
+    private int level;
+    
+    /**
+     * 标题文本
+     */
+    private String text;
+    
+    /**
+     * 标题锚点ID，与渲染后HTML中的id属性一致
+     */
+    private String anchor;
+
+    public TocItem() {
+    }
+
+    public TocItem(int level, String text, String anchor) {
+        this.level = level;
+        this.text = text;
+        this.anchor = anchor;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getAnchor() {
+        return anchor;
+    }
+
+    public void setAnchor(String anchor) {
+        this.anchor = anchor;
+    }
+}
@@ -0,0 +1,240 @@
+package org.lin.lin_admin.module.article.schedule;
+
+import jakarta.annotation.PreDestroy;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 定时发布调度器
+ * 启动时从数据库加载所有 scheduled 状态的文章放入内存中的分层时间轮，之后随文章变更事件增量维护，
+ * 不轮询数据库。每次推进时间轮把本格到期的文章用一条 UPDATE 批量改为已发布，
+ * 并逐篇发布 {@link ArticleChangedEvent}，由缓存、订阅源等监听方在事务提交后刷新。
+ * <p>
+ * 改期或取消时不从时间轮中删除旧任务，到期时与 {@code deadlines} 中的最新到期时间比较，过期的任务直接忽略。
+ */
+@Component
+public class ArticlePublishScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticlePublishScheduler.class);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${article.schedule.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${article.schedule.wheel-size:60}")
+    private int wheelSize;
+
+    private HierarchicalTimingWheel wheel;
+
+    /**
+     * 文章ID到当前有效的到期时间（毫秒时间戳）
+     */
+    private final Map<Long, Long> deadlines = new HashMap<>();
+
+    /**
+     * 已到期、等待发布的文章ID到到期时间，发布失败时保留到下一次推进重试
+     */
+    private final Map<Long, Long> due = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "article-publish-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 应用启动后加载定时发布的文章并开始推进时间轮
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("加载定时发布文章失败", e);
+        }
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 从数据库重新加载所有定时发布的文章
+     */
+    public synchronized void reload() {
+        wheel = new HierarchicalTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+        deadlines.clear();
+        due.clear();
+        for (Article article : articleMapper.findScheduled()) {
+            schedule(article.getId(), article.getPublishAt());
+        }
+        logger.info("定时发布文章加载完成，数量：{}，已到期：{}", deadlines.size(), due.size());
+    }
+
+    /**
+     * 文章变更事务提交后更新调度：处于定时发布状态的文章按最新的发布时间调度，其余文章取消调度
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        Article after = event.getAfter();
+        if (after != null && "scheduled".equals(after.getStatus()) && after.getPublishAt() != null) {
+            schedule(after.getId(), after.getPublishAt());
+        } else {
+            cancel(event.getArticleId());
+        }
+    }
+
+    /**
+     * 批量变更后重新加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        if (wheel != null) {
+            reload();
+        }
+    }
+
+    /**
+     * @return 等待定时发布的文章数
+     */
+    public synchronized int getPendingCount() {
+        return deadlines.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 推进时间轮并发布到期的文章，异常不会中断后续推进
+     */
+    void tick() {
+        try {
+            Map<Long, Long> expired = collectDue();
+            if (!expired.isEmpty()) {
+                publishDue(expired);
+            }
+        } catch (Exception e) {
+            logger.error("定时发布文章失败，将在下次推进时重试", e);
+        }
+    }
+
+    private synchronized Map<Long, Long> collectDue() {
+        if (wheel == null) {
+            return Map.of();
+        }
+        long now = System.currentTimeMillis();
+        wheel.advance(now, id -> {
+            Long deadline = deadlines.get(id);
+            // 已取消或已改期到更晚时间的旧任务
+            if (deadline != null && deadline <= now) {
+                due.put(id, deadline);
+            }
+        });
+        return new LinkedHashMap<>(due);
+    }
+
+    /**
+     * 在一个事务中锁定到期文章，以数据库中的状态为准批量发布，
+     * 已取消、已改期或已删除的文章按数据库中的状态重新调度或移除
+     */
+    private void publishDue(Map<Long, Long> expired) {
+        List<Long> ids = new ArrayList<>(expired.keySet());
+        Map<Long, Article> heads = transactionTemplate.execute(status -> {
+            Map<Long, Article> byId = new HashMap<>();
+            for (Article article : articleMapper.lockHeadsByIds(ids)) {
+                byId.put(article.getId(), article);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Article> ready = byId.values().stream()
+                    .filter(article -> "scheduled".equals(article.getStatus()))
+                    .filter(article -> article.getPublishAt() != null && !article.getPublishAt().isAfter(now))
+                    .collect(Collectors.toList());
+            if (ready.isEmpty()) {
+                return byId;
+            }
+            int rows = articleMapper.publishScheduled(ready.stream().map(Article::getId).collect(Collectors.toList()), now);
+            logger.info("定时发布文章：{} 篇", rows);
+            for (Article article : ready) {
+                Article before = new Article();
+                BeanUtils.copyProperties(article, before);
+                article.setStatus("published");
+                if (article.getPublishedAt() == null) {
+                    article.setPublishedAt(article.getPublishAt());
+                }
+                article.setUpdatedAt(now);
+                article.setVersion((article.getVersion() != null ? article.getVersion() : 0) + 1);
+                eventPublisher.publishEvent(ArticleChangedEvent.updated(before, article, null, null));
+            }
+            return byId;
+        });
+        resync(expired, heads);
+    }
+
+    /**
+     * 事务提交后按读取到的数据库状态更新调度，期间已被其他变更改期的文章保持不变
+     */
+    private synchronized void resync(Map<Long, Long> expired, Map<Long, Article> heads) {
+        for (Map.Entry<Long, Long> entry : expired.entrySet()) {
+            Long id = entry.getKey();
+            due.remove(id);
+            if (!entry.getValue().equals(deadlines.get(id))) {
+                continue;
+            }
+            Article head = heads != null ? heads.get(id) : null;
+            if (head != null && "scheduled".equals(head.getStatus()) && head.getPublishAt() != null) {
+                schedule(id, head.getPublishAt());
+            } else {
+                deadlines.remove(id);
+            }
+        }
+    }
+
+    private void schedule(Long id, LocalDateTime publishAt) {
+        long deadline = publishAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        deadlines.put(id, deadline);
+        due.remove(id);
+        if (!wheel.add(id, deadline)) {
+            due.put(id, deadline);
+        }
+    }
+
+    private void cancel(Long id) {
+        deadlines.remove(id);
+        due.remove(id);
+    }
+}
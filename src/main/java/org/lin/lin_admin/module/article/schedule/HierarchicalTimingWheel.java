@@ -0,0 +1,157 @@
+package org.lin.lin_admin.module.article.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 分层时间轮
+ * 第 i 层每格跨度为 tickMs × wheelSize^i，一层放不下的到期时间放入更高一层，层按需创建。
+ * 高层的格子到期时，其中的任务按剩余时间重新放入低层，最终在第 0 层的格子里到期。
+ * 添加任务为 O(层数)，每次推进一格只处理当前到期的格子，与任务总数无关。
+ * <p>
+ * 到期时间向上取整到 tickMs。本类不是线程安全的，由调用方加锁。
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+
+    /**
+     * 已推进到的时间，总是 tickMs 的整数倍
+     */
+    private long currentTime;
+
+    private final List<Level> levels = new ArrayList<>();
+
+    private int size;
+
+    /**
+     * @param tickMs 第 0 层每格的跨度（毫秒）
+     * @param wheelSize 每层的格数
+     * @param startMs 起始时间（毫秒时间戳）
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs 必须大于0，wheelSize 至少为2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = Math.floorDiv(startMs, tickMs) * tickMs;
+        levels.add(new Level(tickMs, wheelSize));
+    }
+
+    /**
+     * 添加任务
+     * @param id 任务ID，同一ID可以重复添加，由调用方在到期时判断是否仍然有效
+     * @param deadlineMs 到期时间（毫秒时间戳）
+     * @return 是否已加入时间轮；到期时间不晚于当前时间时返回false，调用方应立即处理
+     */
+    public boolean add(long id, long deadlineMs) {
+        long expiration = -Math.floorDiv(-deadlineMs, tickMs) * tickMs;
+        if (expiration <= currentTime) {
+            return false;
+        }
+        place(id, expiration);
+        size++;
+        return true;
+    }
+
+    /**
+     * 推进到指定时间，依次处理经过的每一格
+     * @param nowMs 当前时间（毫秒时间戳）
+     * @param expired 到期任务的回调
+     */
+    public void advance(long nowMs, LongConsumer expired) {
+        long target = Math.floorDiv(nowMs, tickMs) * tickMs;
+        if (size == 0) {
+            // 没有任务时直接跳到目标时间
+            currentTime = Math.max(currentTime, target);
+            return;
+        }
+        while (currentTime < target) {
+            currentTime += tickMs;
+            // 从高层到低层处理到期的格子，高层格子中的任务重新放入低层或直接到期
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level level = levels.get(i);
+                if (currentTime % level.tick != 0) {
+                    continue;
+                }
+                List<long[]> bucket = level.drain(currentTime);
+                for (long[] entry : bucket) {
+                    if (entry[1] <= currentTime) {
+                        size--;
+                        expired.accept(entry[0]);
+                    } else {
+                        place(entry[0], entry[1]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 时间轮中的任务数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 已创建的层数
+     */
+    public int levelCount() {
+        return levels.size();
+    }
+
+    /**
+     * 放入能容纳该到期时间的最低一层，expiration 必须晚于 currentTime
+     */
+    private void place(long id, long expiration) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level top = levels.get(i - 1);
+                levels.add(new Level(top.tick * wheelSize, wheelSize));
+            }
+            Level level = levels.get(i);
+            // 与当前格相距 1..wheelSize 格时放入本层，对应格子下一次被处理时正好到达该格的起始时间
+            long distance = expiration / level.tick - currentTime / level.tick;
+            if (distance <= wheelSize) {
+                level.add(id, expiration);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 时间轮的一层
+     */
+    private static class Level {
+        final long tick;
+        final List<long[]>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tick, int wheelSize) {
+            this.tick = tick;
+            this.buckets = new List[wheelSize];
+        }
+
+        void add(long id, long expiration) {
+            int index = (int) ((expiration / tick) % buckets.length);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(new long[]{id, expiration});
+        }
+
+        List<long[]> drain(long time) {
+            int index = (int) ((time / tick) % buckets.length);
+            List<long[]> bucket = buckets[index];
+            if (bucket == null) {
+                return List.of();
+            }
+            buckets[index] = null;
+            return bucket;
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.lin.lin_admin.module.article.vo.ArticleSearchVO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 已发布文章的内存全文索引
+ * 标题、摘要、正文按不同权重建立倒排索引，查询按BM25打分；
+ * 正文保存词元位置，用于生成高亮摘录。
+ * 启动时并行重建，之后随文章写操作增量更新。
+ * 重建期间到达的增量更新同时记录下来，新索引替换旧索引后再补上，不会因替换而丢失。
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float SUMMARY_WEIGHT = 2f;
+    private static final float CONTENT_WEIGHT = 1f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * 每个词在正文中最多保存的位置数，只用于生成摘录
+     */
+    private static final int MAX_OFFSETS_PER_TERM = 4;
+
+    /**
+     * 摘录在命中位置前后保留的字符数
+     */
+    private static final int SNIPPET_BEFORE = 40;
+    private static final int SNIPPET_AFTER = 100;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Value("${article.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData data = new IndexData();
+
+    /**
+     * 重建期间到达的增量更新，文章ID到最新的索引数据，值为null表示移除；不在重建时为null
+     */
+    private Map<Long, IndexedDoc> pendingUpdates;
+
+    /**
+     * 应用启动后重建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("重建文章搜索索引失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重建索引
+     * 分批读取已发布文章，分词在公共线程池中并行执行，完成后整体替换当前索引。
+     * 同一时间只进行一次重建
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            IndexData rebuilt = load();
+            lock.writeLock().lock();
+            try {
+                // 补上重建期间提交的更新，这些更新可能晚于对应批次的读取
+                int replayed = pendingUpdates.size();
+                for (Map.Entry<Long, IndexedDoc> entry : pendingUpdates.entrySet()) {
+                    if (entry.getValue() != null) {
+                        rebuilt.add(entry.getValue());
+                    } else {
+                        rebuilt.remove(entry.getKey());
+                    }
+                }
+                data = rebuilt;
+                logger.info("文章搜索索引重建完成，文章数：{}，词项数：{}，补充更新：{}，耗时：{}ms",
+                        rebuilt.docs.size(), rebuilt.postings.size(), replayed, System.currentTimeMillis() - start);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private IndexData load() {
+        List<CompletableFuture<List<IndexedDoc>>> futures = new ArrayList<>();
+        long lastId = 0;
+        while (true) {
+            List<Article> batch = articleMapper.findPublishedAfterId(lastId, rebuildBatchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<IndexedDoc> docs = new ArrayList<>(batch.size());
+                for (Article article : batch) {
+                    docs.add(analyze(article));
+                }
+                return docs;
+            }));
+        }
+
+        IndexData rebuilt = new IndexData();
+        for (CompletableFuture<List<IndexedDoc>> future : futures) {
+            for (IndexedDoc doc : future.join()) {
+                rebuilt.add(doc);
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 文章变更事务提交后增量更新索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isPublished()) {
+            Article article = event.getAfter();
+            if (article.getContent() == null) {
+                article = articleMapper.findById(event.getArticleId());
+            }
+            if (article != null) {
+                index(article);
+            }
+        } else if (event.wasPublished()) {
+            remove(event.getArticleId());
+        }
+    }
+
+    /**
+     * 批量变更后重建索引
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * 添加或替换一篇文章的索引
+     * @param article 文章，需要包含标题、摘要和正文
+     */
+    public void index(Article article) {
+        IndexedDoc doc = analyze(article);
+        lock.writeLock().lock();
+        try {
+            data.add(doc);
+            if (pendingUpdates != null) {
+                pendingUpdates.put(doc.id, doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从索引中移除文章
+     * @param articleId 文章ID
+     */
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            data.remove(articleId);
+            if (pendingUpdates != null) {
+                pendingUpdates.put(articleId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索文章
+     * @param query 查询文本
+     * @param page 页码
+     * @param size 每页数量
+     * @return 按相关度排序的分页结果
+     */
+    public PageResult<ArticleSearchVO> search(String query, int page, int size) {
+        page = Math.max(1, page);
+        size = Math.max(1, size);
+        Set<String> terms = new LinkedHashSet<>();
+        for (SearchTokenizer.Token token : SearchTokenizer.tokenizeForQuery(query)) {
+            terms.add(token.getTerm());
+        }
+        if (terms.isEmpty()) {
+            return new PageResult<>(new ArrayList<>(), 0, page, size);
+        }
+
+        lock.readLock().lock();
+        try {
+            IndexData current = data;
+            int docCount = current.docs.size();
+            if (docCount == 0) {
+                return new PageResult<>(new ArrayList<>(), 0, page, size);
+            }
+            double avgLength = current.totalLength / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Float> posting = current.postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+                    IndexedDoc doc = current.docs.get(entry.getKey());
+                    double tf = entry.getValue();
+                    double norm = K1 * (1 - B + B * doc.length / avgLength);
+                    scores.merge(entry.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            // 只保留前 page * size 个结果，用long计算避免页码过大时溢出
+            long from = (long) (page - 1) * size;
+            if (from >= scores.size()) {
+                return new PageResult<>(new ArrayList<>(), scores.size(), page, size);
+            }
+            int limit = (int) Math.min(from + size, scores.size());
+            Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byScore);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(byScore.reversed());
+
+            List<ArticleSearchVO> hits = new ArrayList<>();
+            for (int i = (int) from; i < ranked.size(); i++) {
+                IndexedDoc doc = current.docs.get(ranked.get(i).getKey());
+                hits.add(toHit(doc, ranked.get(i).getValue(), terms));
+            }
+            return new PageResult<>(hits, scores.size(), page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 已索引的文章数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 分析文章：提取纯文本、分词并统计加权词频
+     */
+    private IndexedDoc analyze(Article article) {
+        IndexedDoc doc = new IndexedDoc();
+        doc.id = article.getId();
+        doc.title = article.getTitle() != null ? article.getTitle() : "";
+        doc.summary = article.getSummary();
+        doc.publishedAt = article.getPublishedAt();
+        doc.text = markdownRenderer.plainText(article.getContent());
+
+        addField(doc, doc.title, TITLE_WEIGHT);
+        addField(doc, doc.summary, SUMMARY_WEIGHT);
+        for (SearchTokenizer.Token token : SearchTokenizer.tokenizeForIndex(doc.text)) {
+            doc.termWeights.merge(token.getTerm(), CONTENT_WEIGHT, Float::sum);
+            doc.length += CONTENT_WEIGHT;
+            int[] offsets = doc.offsets.get(token.getTerm());
+            if (offsets == null) {
+                doc.offsets.put(token.getTerm(), new int[]{token.getStart(), token.getEnd()});
+            } else if (offsets.length < MAX_OFFSETS_PER_TERM * 2) {
+                int[] grown = new int[offsets.length + 2];
+                System.arraycopy(offsets, 0, grown, 0, offsets.length);
+                grown[offsets.length] = token.getStart();
+                grown[offsets.length + 1] = token.getEnd();
+                doc.offsets.put(token.getTerm(), grown);
+            }
+        }
+        return doc;
+    }
+
+    private static void addField(IndexedDoc doc, String text, float weight) {
+        for (SearchTokenizer.Token token : SearchTokenizer.tokenizeForIndex(text)) {
+            doc.termWeights.merge(token.getTerm(), weight, Float::sum);
+            doc.length += weight;
+        }
+    }
+
+    private static ArticleSearchVO toHit(IndexedDoc doc, double score, Set<String> terms) {
+        ArticleSearchVO hit = new ArticleSearchVO();
+        hit.setId(doc.id);
+        hit.setTitle(doc.title);
+        hit.setSummary(doc.summary);
+        hit.setPublishedAt(doc.publishedAt);
+        hit.setScore(score);
+
+        List<int[]> titleSpans = new ArrayList<>();
+        for (SearchTokenizer.Token token : SearchTokenizer.tokenizeForIndex(doc.title)) {
+            if (terms.contains(token.getTerm())) {
+                titleSpans.add(new int[]{token.getStart(), token.getEnd()});
+            }
+        }
+        hit.setHighlightedTitle(highlight(doc.title, 0, doc.title.length(), titleSpans));
+        hit.setSnippet(snippet(doc, terms));
+        return hit;
+    }
+
+    /**
+     * 根据保存的词元位置截取正文摘录：以第一个命中位置为中心，高亮窗口内的所有命中词
+     */
+    private static String snippet(IndexedDoc doc, Set<String> terms) {
+        List<int[]> spans = new ArrayList<>();
+        for (String term : terms) {
+            int[] offsets = doc.offsets.get(term);
+            if (offsets != null) {
+                for (int i = 0; i < offsets.length; i += 2) {
+                    spans.add(new int[]{offsets[i], offsets[i + 1]});
+                }
+            }
+        }
+        String text = doc.text;
+        if (spans.isEmpty()) {
+            int end = Math.min(text.length(), SNIPPET_BEFORE + SNIPPET_AFTER);
+            return highlight(text, 0, end, spans) + (end < text.length() ? "..." : "");
+        }
+        spans.sort(Comparator.comparingInt(span -> span[0]));
+        int from = Math.max(0, spans.get(0)[0] - SNIPPET_BEFORE);
+        int to = Math.min(text.length(), spans.get(0)[0] + SNIPPET_AFTER);
+        return (from > 0 ? "..." : "") + highlight(text, from, to, spans) + (to < text.length() ? "..." : "");
+    }
+
+    /**
+     * 高亮 [from, to) 范围内的命中区间，重叠的区间（如相邻二元组）合并后整体包裹
+     */
+    private static String highlight(String text, int from, int to, List<int[]> spans) {
+        spans.sort(Comparator.comparingInt(span -> span[0]));
+        StringBuilder sb = new StringBuilder();
+        int cursor = from;
+        int i = 0;
+        while (i < spans.size()) {
+            int start = Math.max(spans.get(i)[0], cursor);
+            int end = spans.get(i)[1];
+            i++;
+            while (i < spans.size() && spans.get(i)[0] <= end) {
+                end = Math.max(end, spans.get(i)[1]);
+                i++;
+            }
+            end = Math.min(end, to);
+            if (start >= end) {
+                continue;
+            }
+            sb.append(HtmlUtils.htmlEscape(text.substring(cursor, start)));
+            sb.append("<em>").append(HtmlUtils.htmlEscape(text.substring(start, end))).append("</em>");
+            cursor = end;
+        }
+        if (cursor < to) {
+            sb.append(HtmlUtils.htmlEscape(text.substring(cursor, to)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 一篇文章的索引数据
+     */
+    private static class IndexedDoc {
+        Long id;
+        String title;
+        String summary;
+        String text;
+        LocalDateTime publishedAt;
+        float length;
+        final Map<String, Float> termWeights = new HashMap<>();
+        final Map<String, int[]> offsets = new HashMap<>();
+    }
+
+    /**
+     * 倒排索引数据，所有访问都在读写锁保护下进行
+     */
+    private static class IndexData {
+        final Map<String, Map<Long, Float>> postings = new HashMap<>();
+        final Map<Long, IndexedDoc> docs = new HashMap<>();
+        double totalLength;
+
+        void add(IndexedDoc doc) {
+            remove(doc.id);
+            docs.put(doc.id, doc);
+            for (Map.Entry<String, Float> entry : doc.termWeights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(doc.id, entry.getValue());
+            }
+            totalLength += doc.length;
+        }
+
+        void remove(Long id) {
+            IndexedDoc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.termWeights.keySet()) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= doc.length;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 已发布文章的标签倒排位图
+ * 每篇已发布文章按 (published_at, id) 升序分配一个序号，每个标签保存一个由序号组成的压缩位图。
+ * 按序号倒序遍历即为 published_at DESC, id DESC 的列表顺序，
+ * 多标签的交集/并集和分页截取都在位图上完成，不访问数据库。
+ * <p>
+ * 新发布的文章发布时间最新，直接追加序号；发布时间早于现有文章时（如导入历史文章）整体重新编号。
+ * 启动时从数据库加载，之后随文章变更事件增量维护。
+ */
+@Component
+public class ArticleTagIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleTagIndex.class);
+
+    private static final Comparator<Entry> PUBLISH_ORDER = Comparator
+            .comparing((Entry entry) -> entry.publishedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.id);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 文章ID到索引项
+     */
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * 标签ID到文章序号位图
+     */
+    private final Map<Long, RoaringBitmap> byTag = new HashMap<>();
+
+    /**
+     * 序号到文章ID，已移除的序号保留为空位，重新编号时压缩
+     */
+    private long[] seqToId = new long[0];
+
+    private int nextSeq;
+
+    private Entry last;
+
+    /**
+     * 应用启动后加载索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("加载文章标签索引失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载索引
+     */
+    public void reload() {
+        List<ArticleSummary> published = articleMapper.findPublishedOrder();
+        Map<Long, List<Long>> tagsByArticle = new HashMap<>();
+        for (ArticleTag row : tagMapper.findPublishedArticleTags()) {
+            tagsByArticle.computeIfAbsent(row.getArticleId(), k -> new ArrayList<>()).add(row.getTagId());
+        }
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            for (ArticleSummary article : published) {
+                Entry entry = new Entry(article.getId(), article.getPublishedAt(),
+                        toArray(tagsByArticle.get(article.getId())));
+                entries.put(entry.id, entry);
+            }
+            resequence();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("文章标签索引加载完成，文章数：{}，标签数：{}", published.size(), byTag.size());
+    }
+
+    /**
+     * 文章变更事务提交后增量更新索引
+     * 先于其他监听方执行，依赖标签索引的组件（如相关文章）处理同一事件时读到的已是最新数据
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Long id = event.getArticleId();
+        if (event.isPublished()) {
+            long[] tagIds;
+            if (event.isTagsChanged()) {
+                tagIds = toArray(event.getAfterTagIds());
+            } else {
+                tagIds = getTagIds(id);
+                if (tagIds == null) {
+                    // 标签未变化且之前未发布，需要读取文章现有标签
+                    tagIds = toArray(tagMapper.findTagIdsByArticleId(id));
+                }
+            }
+            put(id, event.getAfter().getPublishedAt(), tagIds);
+        } else if (event.wasPublished()) {
+            remove(id);
+        }
+    }
+
+    /**
+     * 批量变更后重新加载索引，先于依赖标签索引的组件执行
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * 按标签分页查询已发布文章ID
+     * @param tagIds 标签ID列表
+     * @param matchAll true表示必须包含全部标签（AND），false表示包含任一标签（OR）
+     * @param page 页码
+     * @param size 每页数量
+     * @return 按发布时间倒序的文章ID分页结果
+     */
+    public PageResult<Long> page(List<Long> tagIds, boolean matchAll, int page, int size) {
+        page = Math.max(1, page);
+        size = Math.max(1, size);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = match(tagIds, matchAll);
+            int total = matched.getCardinality();
+            List<Long> ids = new ArrayList<>(Math.min(size, total));
+            long offset = (long) (page - 1) * size;
+            for (long k = offset; k < offset + size && k < total; k++) {
+                // 第k个（从0开始）序号最大的元素
+                int seq = matched.select((int) (total - 1 - k));
+                ids.add(seqToId[seq]);
+            }
+            return new PageResult<>(ids, total, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 统计带有指定标签的已发布文章数量
+     * @param tagId 标签ID
+     * @return 文章数量
+     */
+    public int count(Long tagId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = byTag.get(tagId);
+            return bitmap != null ? bitmap.getCardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap match(List<Long> tagIds, boolean matchAll) {
+        Set<Long> distinct = new LinkedHashSet<>(tagIds);
+        List<RoaringBitmap> bitmaps = new ArrayList<>(distinct.size());
+        for (Long tagId : distinct) {
+            RoaringBitmap bitmap = byTag.get(tagId);
+            if (bitmap == null) {
+                if (matchAll) {
+                    return new RoaringBitmap();
+                }
+                continue;
+            }
+            bitmaps.add(bitmap);
+        }
+        if (bitmaps.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        if (matchAll) {
+            // 从最小的位图开始求交集
+            bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result = bitmaps.get(0).clone();
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result.and(bitmaps.get(i));
+            }
+            return result;
+        }
+        return RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    /**
+     * 获取已发布文章的标签
+     * @param articleId 文章ID
+     * @return 标签ID数组（调用方不得修改），文章未发布时返回null
+     */
+    public long[] getTagIds(Long articleId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(articleId);
+            return entry != null ? entry.tagIds : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取已发布文章的发布时间
+     * @param articleId 文章ID
+     * @return 发布时间，文章未发布时返回null
+     */
+    public LocalDateTime getPublishedAt(Long articleId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(articleId);
+            return entry != null ? entry.publishedAt : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 所有已发布文章的ID
+     */
+    public List<Long> findAllArticleIds() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询带有任一指定标签的已发布文章
+     * @param tagIds 标签ID数组
+     * @return 文章ID列表，按发布时间升序
+     */
+    public List<Long> findArticleIds(long[] tagIds) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = match(Arrays.stream(tagIds).boxed().toList(), false);
+            List<Long> ids = new ArrayList<>(matched.getCardinality());
+            matched.forEach((int seq) -> ids.add(seqToId[seq]));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long id, LocalDateTime publishedAt, long[] tagIds) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.get(id);
+            if (existing != null && Objects.equals(existing.publishedAt, publishedAt)) {
+                // 发布位置不变，只更新标签
+                unindex(existing);
+                existing.tagIds = tagIds;
+                index(existing);
+                return;
+            }
+            if (existing != null) {
+                unindex(existing);
+                entries.remove(id);
+            }
+            Entry entry = new Entry(id, publishedAt, tagIds);
+            entries.put(id, entry);
+            if (last == null || (last != existing && PUBLISH_ORDER.compare(entry, last) > 0)) {
+                append(entry);
+            } else {
+                resequence();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                unindex(entry);
+                seqToId[entry.seq] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(Entry entry) {
+        if (nextSeq == seqToId.length) {
+            long[] grown = new long[Math.max(16, seqToId.length * 2)];
+            System.arraycopy(seqToId, 0, grown, 0, seqToId.length);
+            seqToId = grown;
+        }
+        entry.seq = nextSeq++;
+        seqToId[entry.seq] = entry.id;
+        last = entry;
+        index(entry);
+    }
+
+    /**
+     * 按发布顺序重新编号并重建所有位图
+     */
+    private void resequence() {
+        List<Entry> ordered = new ArrayList<>(entries.values());
+        ordered.sort(PUBLISH_ORDER);
+        byTag.clear();
+        seqToId = new long[Math.max(16, ordered.size() + ordered.size() / 2)];
+        nextSeq = 0;
+        last = null;
+        for (Entry entry : ordered) {
+            append(entry);
+        }
+        for (RoaringBitmap bitmap : byTag.values()) {
+            bitmap.runOptimize();
+        }
+    }
+
+    private void index(Entry entry) {
+        for (long tagId : entry.tagIds) {
+            byTag.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(entry.seq);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        for (long tagId : entry.tagIds) {
+            RoaringBitmap bitmap = byTag.get(tagId);
+            if (bitmap != null) {
+                bitmap.remove(entry.seq);
+                if (bitmap.isEmpty()) {
+                    byTag.remove(tagId);
+                }
+            }
+        }
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new long[0];
+        }
+        return ids.stream().distinct().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 一篇已发布文章的索引项
+     */
+    private static class Entry {
+        final Long id;
+        final LocalDateTime publishedAt;
+        long[] tagIds;
+        int seq;
+
+        Entry(Long id, LocalDateTime publishedAt, long[] tagIds) {
+            this.id = id;
+            this.publishedAt = publishedAt;
+            this.tagIds = tagIds;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 相关文章索引
+ * 为每篇已发布文章预先计算相关度最高的 K 篇文章，读取时直接返回。
+ * <p>
+ * 相关度 = 标签余弦相似度 × 2^(发布天数 / 半衰期)，即共享标签越多、发布越新越靠前。
+ * 时间项对所有候选按同一比例衰减，排序不随当前时间变化，因此结果可以长期缓存。
+ * 内部以对数形式保存分数：ln(相似度) + ln2 × 发布天数 / 半衰期。
+ * <p>
+ * 文章变更时增量更新：重新计算变更文章自身的列表和原先引用了它的列表，
+ * 并尝试把它插入共享标签的其他文章的列表。标签数据来自 {@link ArticleTagIndex}。
+ */
+@Component
+public class RelatedArticleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedArticleIndex.class);
+
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble((Scored scored) -> scored.score)
+            .thenComparingLong(scored -> scored.id);
+
+    @Autowired
+    private ArticleTagIndex articleTagIndex;
+
+    @Value("${article.related.top-k:10}")
+    private int topK;
+
+    @Value("${article.related.half-life-days:180}")
+    private double halfLifeDays;
+
+    /**
+     * 文章ID到相关文章列表（按分数降序）
+     */
+    private final Map<Long, List<Scored>> related = new HashMap<>();
+
+    /**
+     * 文章ID到引用了它的列表所属的文章ID
+     */
+    private final Map<Long, Set<Long>> referencedBy = new HashMap<>();
+
+    /**
+     * 应用启动后计算所有文章的相关列表，需在标签索引加载之后执行
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("计算相关文章失败", e);
+        }
+    }
+
+    /**
+     * 重新计算所有文章的相关列表
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        related.clear();
+        referencedBy.clear();
+        for (Long id : articleTagIndex.findAllArticleIds()) {
+            recompute(id);
+        }
+        logger.info("相关文章计算完成，文章数：{}，耗时：{}ms", related.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 文章变更事务提交后增量更新，此时标签索引已更新
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.wasPublished() && !event.isPublished()) {
+            return;
+        }
+        Long id = event.getArticleId();
+
+        // 引用了该文章的列表需要完整重算，它的分数可能下降或已不再候选
+        Set<Long> affected = new HashSet<>(referencedBy.getOrDefault(id, Set.of()));
+        setList(id, null);
+
+        long[] tagIds = articleTagIndex.getTagIds(id);
+        if (tagIds != null) {
+            recompute(id);
+            // 尝试插入共享标签的其他文章的列表
+            double candidateBoost = recencyBoost(articleTagIndex.getPublishedAt(id));
+            for (Long other : articleTagIndex.findArticleIds(tagIds)) {
+                if (other.equals(id) || affected.contains(other)) {
+                    continue;
+                }
+                long[] otherTags = articleTagIndex.getTagIds(other);
+                double score = Math.log(cosine(otherTags, tagIds)) + candidateBoost;
+                offer(other, new Scored(id, score));
+            }
+        }
+        for (Long other : affected) {
+            if (!other.equals(id)) {
+                recompute(other);
+            }
+        }
+    }
+
+    /**
+     * 批量变更后重新计算，此时标签索引已重新加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * 获取相关文章
+     * @param articleId 文章ID
+     * @param limit 最多返回的数量
+     * @return 相关文章ID，按相关度降序；文章未发布或没有相关文章时返回空列表
+     */
+    public synchronized List<Long> getRelated(Long articleId, int limit) {
+        List<Scored> list = related.get(articleId);
+        if (list == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, list.size()));
+        for (int i = 0; i < list.size() && i < limit; i++) {
+            ids.add(list.get(i).id);
+        }
+        return ids;
+    }
+
+    /**
+     * 重新计算一篇文章的相关列表
+     */
+    private void recompute(Long id) {
+        long[] tagIds = articleTagIndex.getTagIds(id);
+        if (tagIds == null) {
+            setList(id, null);
+            return;
+        }
+        PriorityQueue<Scored> heap = new PriorityQueue<>(BY_SCORE);
+        for (Long candidate : articleTagIndex.findArticleIds(tagIds)) {
+            if (candidate.equals(id)) {
+                continue;
+            }
+            double score = Math.log(cosine(tagIds, articleTagIndex.getTagIds(candidate)))
+                    + recencyBoost(articleTagIndex.getPublishedAt(candidate));
+            heap.offer(new Scored(candidate, score));
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        }
+        List<Scored> list = new ArrayList<>(heap);
+        list.sort(BY_SCORE.reversed());
+        setList(id, list);
+    }
+
+    /**
+     * 候选分数高于列表中最低分时插入，并淘汰多出的一项
+     */
+    private void offer(Long owner, Scored candidate) {
+        List<Scored> current = related.get(owner);
+        if (current == null) {
+            return;
+        }
+        if (current.size() >= topK && BY_SCORE.compare(candidate, current.get(current.size() - 1)) <= 0) {
+            return;
+        }
+        List<Scored> list = new ArrayList<>(current);
+        list.add(candidate);
+        list.sort(BY_SCORE.reversed());
+        if (list.size() > topK) {
+            list.remove(list.size() - 1);
+        }
+        setList(owner, list);
+    }
+
+    /**
+     * 替换一篇文章的相关列表，同时维护反向引用
+     */
+    private void setList(Long owner, List<Scored> list) {
+        List<Scored> previous = list != null ? related.put(owner, list) : related.remove(owner);
+        if (previous != null) {
+            for (Scored scored : previous) {
+                Set<Long> owners = referencedBy.get(scored.id);
+                if (owners != null) {
+                    owners.remove(owner);
+                    if (owners.isEmpty()) {
+                        referencedBy.remove(scored.id);
+                    }
+                }
+            }
+        }
+        if (list != null) {
+            for (Scored scored : list) {
+                referencedBy.computeIfAbsent(scored.id, k -> new LinkedHashSet<>()).add(owner);
+            }
+        }
+    }
+
+    /**
+     * 发布时间的对数加权，发布时间未知时不加权
+     */
+    private double recencyBoost(LocalDateTime publishedAt) {
+        if (publishedAt == null) {
+            return 0;
+        }
+        double days = publishedAt.toEpochSecond(ZoneOffset.UTC) / 86400.0;
+        return Math.log(2) * days / halfLifeDays;
+    }
+
+    /**
+     * 两组标签的余弦相似度（标签数组内无重复）
+     */
+    private static double cosine(long[] a, long[] b) {
+        if (a == null || b == null || a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        for (long x : a) {
+            for (long y : b) {
+                if (x == y) {
+                    shared++;
+                    break;
+                }
+            }
+        }
+        return shared / Math.sqrt((double) a.length * b.length);
+    }
+
+    /**
+     * 带分数的相关文章
+     */
+    private static class Scored {
+        final long id;
+        final double score;
+
+        Scored(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.lin.lin_admin.module.article.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索分词器
+ * 连续的字母数字切分为一个词并转为小写；连续的中日韩字符切分为二元组(bigram)，
+ * 建索引时额外输出单字，以便支持单字查询。
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 建索引时分词，中日韩文本同时输出二元组和单字
+     * @param text 文本
+     * @return 词元列表，按出现位置排序
+     */
+    public static List<Token> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询时分词，中日韩文本只在单字成段时输出单字，否则只输出二元组
+     * @param text 查询文本
+     * @return 词元列表
+     */
+    public static List<Token> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<Token> tokenize(String text, boolean emitUnigrams) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                // 收集连续的中日韩字符段
+                int runStart = i;
+                List<Integer> starts = new ArrayList<>();
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    starts.add(i);
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                starts.add(i);
+                int chars = starts.size() - 1;
+                if (chars == 1) {
+                    tokens.add(new Token(text.substring(runStart, i), runStart, i));
+                    continue;
+                }
+                for (int k = 0; k < chars; k++) {
+                    int start = starts.get(k);
+                    if (emitUnigrams) {
+                        tokens.add(new Token(text.substring(start, starts.get(k + 1)), start, starts.get(k + 1)));
+                    }
+                    if (k + 1 < chars) {
+                        tokens.add(new Token(text.substring(start, starts.get(k + 2)), start, starts.get(k + 2)));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int cp = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(cp) || isCjk(cp)) {
+                        break;
+                    }
+                    i += Character.charCount(cp);
+                }
+                tokens.add(new Token(text.substring(start, i).toLowerCase(Locale.ROOT), start, i));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 词元，记录在原文中的起止位置
+     */
+    public static class Token {
+        private final String term;
+        private final int start;
+        private final int end;
+
+        public Token(String term, int start, int end) {
+            this.term = term;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+    }
+}
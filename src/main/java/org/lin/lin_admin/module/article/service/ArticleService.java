@@ -1,9 +1,13 @@
 package org.lin.lin_admin.module.article.service;
 
 import org.lin.lin_admin.module.article.dto.ArticleDTO;
+import org.lin.lin_admin.module.article.dto.ArticleQuery;
 import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.lin.lin_admin.common.paging.CursorPage;
 import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.common.response.BatchResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +23,40 @@ public interface ArticleService {
      */
     List<ArticleVO> findAllPublished(int page, int size);
     
+    /**
+     * 按游标获取已发布的文章
+     * @param after 上一页返回的游标，为空时返回第一页
+     * @param size 每页数量
+     * @return 游标分页结果
+     * @throws IllegalArgumentException 如果游标无效
+     */
+    CursorPage<ArticleVO> findPublishedAfter(String after, int size);
+    
+    /**
+     * 按标签获取已发布的文章(分页)
+     * @param tags 标签名列表，不存在的标签视为没有文章
+     * @param matchAll true表示文章须包含全部标签，false表示包含任一标签即可
+     * @param page 页码
+     * @param size 每页数量
+     * @return 按发布时间倒序的分页结果
+     */
+    PageResult<ArticleVO> findPublishedByTags(List<String> tags, boolean matchAll, int page, int size);
+    
+    /**
+     * 获取相关文章
+     * @param id 文章ID
+     * @param limit 最多返回的数量
+     * @return 按相关度排序的已发布文章，文章不存在或未发布时返回空列表
+     */
+    List<ArticleVO> findRelated(Long id, int limit);
+    
+    /**
+     * 获取热门文章
+     * @param limit 最多返回的数量
+     * @return 按浏览量降序的已发布文章，浏览量包含尚未写入数据库的部分
+     */
+    List<ArticleVO> findPopular(int limit);
+    
     /**
      * 获取所有文章(包括草稿)
      * @return 文章列表
@@ -34,6 +72,13 @@ public interface ArticleService {
      */
     PageResult<ArticleVO> page(int page, int size, String status);
     
+    /**
+     * 按条件分页获取文章
+     * @param query 查询条件(状态集合、作者、创建时间范围均可选)
+     * @return 分页结果
+     */
+    PageResult<ArticleVO> page(ArticleQuery query);
+    
     /**
      * 根据ID获取文章
      * @param id 文章ID
@@ -41,6 +86,20 @@ public interface ArticleService {
      */
     ArticleVO getById(Long id);
     
+    /**
+     * 根据ID获取已发布的文章，优先读取详情缓存
+     * @param id 文章ID
+     * @return 文章VO，文章不存在或未发布时返回null
+     */
+    ArticleVO getPublishedById(Long id);
+    
+    /**
+     * 获取已发布文章的更新时间，优先读取详情缓存，不加载正文
+     * @param id 文章ID
+     * @return 更新时间，文章不存在或未发布时返回null
+     */
+    LocalDateTime getPublishedUpdatedAt(Long id);
+    
     /**
      * 创建文章
      * @param dto 文章DTO
@@ -50,17 +109,57 @@ public interface ArticleService {
     ArticleVO create(ArticleDTO dto, Long operatorId);
     
     /**
-     * 更新文章
+     * 更新文章，只写入DTO中不为空的字段
+     * DTO中带有版本号时，与数据库中的版本号不一致则抛出 VersionConflictException
      * @param dto 文章DTO
      * @param operatorId 操作者ID
-     * @return 更新后的文章
+     * @return 更新后的文章，未修改正文时不包含正文
      */
     ArticleVO update(ArticleDTO dto, Long operatorId);
     
+    /**
+     * 修改文章状态（发布、归档等），只更新状态相关的列，不读取也不写入正文
+     * @param id 文章ID
+     * @param status 新状态
+     * @param version 读取文章时的版本号，为空时不校验
+     * @param operatorId 操作者ID
+     * @return 修改后的文章，不包含正文
+     */
+    ArticleVO changeStatus(Long id, String status, Integer version, Long operatorId);
+    
+    /**
+     * 设置文章定时发布，到达发布时间后由定时发布调度器改为已发布
+     * @param id 文章ID
+     * @param publishAt 计划发布时间
+     * @param version 读取文章时的版本号，为空时不校验
+     * @param operatorId 操作者ID
+     * @return 修改后的文章，不包含正文
+     */
+    ArticleVO schedule(Long id, LocalDateTime publishAt, Integer version, Long operatorId);
+    
     /**
      * 删除文章
      * @param id 文章ID
      * @param operatorId 操作者ID
      */
     void delete(Long id, Long operatorId);
+    
+    /**
+     * 批量修改文章状态，在一个事务中以 IN 条件批量校验和更新
+     * 不存在或不属于操作者的文章记为失败，其余文章一起修改
+     * @param ids 文章ID列表
+     * @param status 新状态
+     * @param operatorId 操作者ID
+     * @return 每篇文章的处理结果
+     */
+    BatchResult changeStatusBatch(List<Long> ids, String status, Long operatorId);
+    
+    /**
+     * 批量删除文章，在一个事务中以 IN 条件批量校验和删除
+     * 不存在或不属于操作者的文章记为失败，其余文章一起删除
+     * @param ids 文章ID列表
+     * @param operatorId 操作者ID
+     * @return 每篇文章的处理结果
+     */
+    BatchResult deleteBatch(List<Long> ids, Long operatorId);
 } 
\ No newline at end of file
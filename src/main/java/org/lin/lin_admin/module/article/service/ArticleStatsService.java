@@ -0,0 +1,21 @@
+package org.lin.lin_admin.module.article.service;
+
+import java.util.Map;
+
+/**
+ * 文章统计服务接口
+ * 统计数据保存在内存计数器中，启动时通过聚合查询初始化，之后随文章写操作增量更新
+ */
+public interface ArticleStatsService {
+    
+    /**
+     * 获取文章统计数据
+     * @return 各状态数量、按月发布数量、各标签文章数量
+     */
+    Map<String, Object> getStats();
+    
+    /**
+     * 从数据库重新加载统计计数器
+     */
+    void reload();
+}
@@ -1,25 +1,47 @@
 package org.lin.lin_admin.module.article.service.impl;
 
 import org.lin.lin_admin.common.exception.ResourceNotFoundException;
+import org.lin.lin_admin.common.exception.VersionConflictException;
+import org.lin.lin_admin.common.paging.CursorPage;
 import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.common.response.BatchResult;
+import org.lin.lin_admin.module.article.cache.ArticleDetailCache;
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.counter.ArticleViewCounter;
+import org.lin.lin_admin.module.article.dto.ArticleCursor;
 import org.lin.lin_admin.module.article.dto.ArticleDTO;
+import org.lin.lin_admin.module.article.dto.ArticleQuery;
 import org.lin.lin_admin.module.article.dto.CreateArticleRequest;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
 import org.lin.lin_admin.module.article.mapper.ArticleMapper;
 import org.lin.lin_admin.module.article.mapper.TagMapper;
 import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleTag;
 import org.lin.lin_admin.module.article.model.Tag;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.lin.lin_admin.module.article.render.MarkdownTextExtractor;
+import org.lin.lin_admin.module.article.search.ArticleTagIndex;
+import org.lin.lin_admin.module.article.search.RelatedArticleIndex;
 import org.lin.lin_admin.module.article.service.ArticleService;
 import org.lin.lin_admin.module.article.vo.ArticleVO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -29,49 +51,165 @@ import java.util.stream.Collectors;
 public class ArticleServiceImpl implements ArticleService {
     
     private static final Logger logger = LoggerFactory.getLogger(ArticleServiceImpl.class);
+    
+    /**
+     * 游标分页每页最大数量
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 自动生成摘要的最大长度
+     */
+    private static final int SUMMARY_LENGTH = 150;
 
     @Autowired
     private ArticleMapper articleMapper;
     
     @Autowired
     private TagMapper tagMapper;
+    
+    @Autowired
+    private TagDictionary tagDictionary;
+    
+    @Autowired
+    private ArticleDetailCache articleDetailCache;
+    
+    @Autowired
+    private ArticleTagIndex articleTagIndex;
+    
+    @Autowired
+    private RelatedArticleIndex relatedArticleIndex;
+    
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+    
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ArticleVO> findAllPublished(int page, int size) {
         logger.info("查询所有已发布文章，页码：{}，每页数量：{}", page, size);
         int offset = (page - 1) * size;
-        List<Article> articles = articleMapper.findAllPublished(offset, size);
+        List<ArticleSummary> articles = articleMapper.findAllPublished(offset, size);
         logger.info("查询到{}篇已发布文章", articles.size());
-        return articles.stream().map(this::convertToVO).collect(Collectors.toList());
+        return convertToVOList(articles);
+    }
+
+    @Override
+    public PageResult<ArticleVO> findPublishedByTags(List<String> tags, boolean matchAll, int page, int size) {
+        logger.info("按标签查询已发布文章，标签：{}，全部匹配：{}，页码：{}，每页数量：{}", tags, matchAll, page, size);
+        List<Long> tagIds = new ArrayList<>();
+        for (String name : tags) {
+            Tag tag = tagDictionary.findByName(name);
+            if (tag != null) {
+                tagIds.add(tag.getId());
+            } else if (matchAll) {
+                return new PageResult<>(new ArrayList<>(), 0, page, size);
+            }
+        }
+        
+        // 标签交并集和分页在内存位图上完成，数据库只按ID取当前页
+        PageResult<Long> idPage = articleTagIndex.page(tagIds, matchAll, page, size);
+        List<Long> ids = idPage.getContent();
+        if (ids.isEmpty()) {
+            return new PageResult<>(new ArrayList<>(), idPage.getTotal(), page, size);
+        }
+        return new PageResult<>(convertToVOList(findSummariesInOrder(ids)), idPage.getTotal(), page, size);
+    }
+
+    @Override
+    public List<ArticleVO> findRelated(Long id, int limit) {
+        // 相关列表预先在内存中计算好，数据库只按ID取文章
+        List<Long> ids = relatedArticleIndex.getRelated(id, limit);
+        logger.info("查询相关文章，文章ID：{}，相关文章：{}", id, ids);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return convertToVOList(findSummariesInOrder(ids));
+    }
+
+    @Override
+    public List<ArticleVO> findPopular(int limit) {
+        // 热门排名在内存中维护，用标签索引过滤掉已取消发布的文章；
+        // 先多取一倍候选，过滤后不足时才取出全部排名
+        int fetch = (int) Math.min((long) limit * 2, Integer.MAX_VALUE);
+        List<Long> candidates = articleViewCounter.getPopular(fetch);
+        List<Long> ids = filterPublished(candidates, limit);
+        if (ids.size() < limit && candidates.size() == fetch) {
+            ids = filterPublished(articleViewCounter.getPopular(Integer.MAX_VALUE), limit);
+        }
+        logger.info("查询热门文章，文章：{}", ids);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ArticleVO> articles = convertToVOList(findSummariesInOrder(ids));
+        for (ArticleVO article : articles) {
+            long views = article.getViews() != null ? article.getViews() : 0;
+            article.setViews(views + articleViewCounter.getUnflushed(article.getId()));
+        }
+        return articles;
+    }
+
+    @Override
+    public CursorPage<ArticleVO> findPublishedAfter(String after, int size) {
+        logger.info("按游标查询已发布文章，游标：{}，每页数量：{}", after, size);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        ArticleCursor cursor = (after == null || after.isEmpty()) ? null : ArticleCursor.decode(after);
+        
+        // 多取一条用于判断是否还有下一页
+        List<ArticleSummary> articles = articleMapper.findPublishedAfter(
+                cursor != null ? cursor.getPublishedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                limit + 1);
+        boolean hasMore = articles.size() > limit;
+        if (hasMore) {
+            articles = articles.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleSummary last = articles.get(articles.size() - 1);
+            nextCursor = new ArticleCursor(last.getPublishedAt(), last.getId()).encode();
+        }
+        logger.info("查询到{}篇已发布文章，是否还有更多：{}", articles.size(), hasMore);
+        return new CursorPage<>(convertToVOList(articles), limit, hasMore, nextCursor);
     }
 
     @Override
     public List<ArticleVO> findAll() {
         logger.info("查询所有文章");
-        List<Article> articles = articleMapper.findAll();
+        List<ArticleSummary> articles = articleMapper.findAll();
         logger.info("查询到{}篇文章", articles.size());
-        return articles.stream().map(this::convertToVO).collect(Collectors.toList());
+        return convertToVOList(articles);
     }
 
     @Override
     public PageResult<ArticleVO> page(int page, int size, String status) {
-        logger.info("分页查询文章，页码：{}，每页数量：{}，状态：{}", page, size, status);
-        int offset = (page - 1) * size;
-        List<Article> articles;
-        long total;
-        
+        ArticleQuery query = new ArticleQuery();
+        query.setPageNum(page);
+        query.setPageSize(size);
         if (status != null && !status.isEmpty()) {
-            logger.info("按状态查询：{}", status);
-            articles = articleMapper.findAllByStatus(status, offset, size);
-            total = articleMapper.countByStatus(status);
-        } else {
-            logger.info("查询所有状态");
-            articles = articleMapper.findAll();
-            total = articleMapper.count();
+            query.setStatuses(Collections.singletonList(status));
         }
+        return page(query);
+    }
+
+    @Override
+    public PageResult<ArticleVO> page(ArticleQuery query) {
+        int page = Math.max(1, query.getPageNum() != null ? query.getPageNum() : 1);
+        int size = Math.max(1, query.getPageSize() != null ? query.getPageSize() : 10);
+        logger.info("分页查询文章，页码：{}，每页数量：{}，状态：{}，作者ID：{}，创建时间：{} ~ {}",
+                page, size, query.getStatuses(), query.getAuthorId(), query.getCreatedFrom(), query.getCreatedTo());
+        int offset = (page - 1) * size;
+        
+        List<ArticleSummary> articles = articleMapper.findPage(query, offset, size);
+        long total = articleMapper.countByQuery(query);
         
         logger.info("查询到{}篇文章，总数：{}", articles.size(), total);
-        List<ArticleVO> voList = articles.stream().map(this::convertToVO).collect(Collectors.toList());
+        List<ArticleVO> voList = convertToVOList(articles);
         return new PageResult<>(voList, total, page, size);
     }
 
@@ -98,6 +236,30 @@ public class ArticleServiceImpl implements ArticleService {
         }
     }
 
+    @Override
+    public ArticleVO getPublishedById(Long id) {
+        if (id == null) {
+            logger.warn("文章ID为空");
+            return null;
+        }
+        return articleDetailCache.get(id, key -> {
+            ArticleVO vo = getById(key);
+            return vo != null && "published".equals(vo.getStatus()) ? vo : null;
+        });
+    }
+
+    @Override
+    public LocalDateTime getPublishedUpdatedAt(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ArticleVO cached = articleDetailCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getUpdatedAt();
+        }
+        return articleMapper.findPublishedUpdatedAt(id);
+    }
+
     @Override
     @Transactional
     public ArticleVO create(ArticleDTO dto, Long operatorId) {
@@ -128,14 +290,20 @@ public class ArticleServiceImpl implements ArticleService {
             // 设置封面图片
             article.setCoverImage(dto.getCoverImage());
             
+            // 保存时渲染Markdown，读取时直接返回渲染结果
+            markdownRenderer.renderInto(article);
+            
             // 设置时间
             LocalDateTime now = LocalDateTime.now();
             article.setCreatedAt(now);
             article.setUpdatedAt(now);
+            article.setVersion(0);
             
-            // 如果状态是已发布，设置发布时间
+            // 如果状态是已发布，设置发布时间；定时发布的文章记录计划发布时间
             if ("published".equals(article.getStatus())) {
                 article.setPublishedAt(now);
+            } else if ("scheduled".equals(article.getStatus())) {
+                article.setPublishAt(dto.getPublishAt());
             }
             
             logger.info("插入文章记录");
@@ -143,15 +311,17 @@ public class ArticleServiceImpl implements ArticleService {
             logger.info("插入文章记录完成，受影响行数：{}，新文章ID：{}", rows, article.getId());
             
             // 处理标签 - 安全地处理tagIds可能为null的情况
+            List<Long> tagIds = null;
             if (dto.getTagIds() != null && !dto.getTagIds().isEmpty()) {
                 logger.info("处理文章标签，标签数量：{}", dto.getTagIds().size());
-                handleTags(article.getId(), dto.getTagIds());
+                tagIds = handleTags(article.getId(), dto.getTagIds(), List.of());
             } else {
                 logger.info("文章没有标签");
             }
             
+            eventPublisher.publishEvent(ArticleChangedEvent.created(article, tagIds != null ? tagIds : List.of()));
             logger.info("文章创建成功，ID：{}", article.getId());
-            return convertToVO(article);
+            return convertToVO(article, tagIds != null ? tagIds : List.of());
         } catch (Exception e) {
             logger.error("创建文章失败", e);
             throw new RuntimeException("创建文章失败: " + e.getMessage(), e);
@@ -163,96 +333,155 @@ public class ArticleServiceImpl implements ArticleService {
     public ArticleVO update(ArticleDTO dto, Long operatorId) {
         try {
             logger.info("更新文章，ID：{}，操作者ID：{}", dto.getId(), operatorId);
-            Article existingArticle = articleMapper.findById(dto.getId());
-            if (existingArticle == null) {
-                logger.warn("文章不存在，ID：{}", dto.getId());
-                throw new ResourceNotFoundException("文章", dto.getId());
-            }
+            // 只读取作者、状态和版本号等字段，不加载正文
+            Article existingArticle = findEditableHead(dto.getId(), operatorId, "编辑");
+            int version = expectedVersion(existingArticle, dto.getVersion());
             
-            // 验证操作者是否为作者
-            if (!existingArticle.getAuthorId().equals(operatorId)) {
-                logger.warn("操作者ID（{}）与文章作者ID（{}）不匹配", operatorId, existingArticle.getAuthorId());
-                throw new RuntimeException("只有作者可以编辑文章");
-            }
-            
-            logger.info("更新前：title={}，status={}", existingArticle.getTitle(), existingArticle.getStatus());
+            logger.info("更新前：title={}，status={}，version={}", existingArticle.getTitle(), existingArticle.getStatus(), version);
+            Article before = new Article();
+            BeanUtils.copyProperties(existingArticle, before);
             
-            // 只复制非null属性，逐个设置而不是使用BeanUtils.copyProperties
+            // 只设置需要修改的字段，未设置的列不会写入
+            Article changes = new Article();
+            changes.setId(existingArticle.getId());
             if (dto.getTitle() != null) {
                 logger.debug("更新标题：{}", dto.getTitle());
-                existingArticle.setTitle(dto.getTitle());
+                changes.setTitle(dto.getTitle());
             }
             if (dto.getContent() != null) {
                 logger.debug("更新内容：{}", (dto.getContent().length() > 50) ? dto.getContent().substring(0, 50) + "..." : dto.getContent());
-                existingArticle.setContent(dto.getContent());
+                changes.setContent(dto.getContent());
+                markdownRenderer.renderInto(changes);
                 // 如果内容更新了但没有提供新的摘要，则自动更新摘要
                 if (dto.getSummary() == null || dto.getSummary().trim().isEmpty()) {
-                    existingArticle.setSummary(generateSummary(dto.getContent()));
-                    logger.debug("自动更新摘要：{}", existingArticle.getSummary());
+                    changes.setSummary(generateSummary(dto.getContent()));
+                    logger.debug("自动更新摘要：{}", changes.getSummary());
                 }
             }
             if (dto.getSummary() != null) {
                 logger.debug("更新摘要：{}", dto.getSummary());
-                existingArticle.setSummary(dto.getSummary());
+                changes.setSummary(dto.getSummary());
             }
             if (dto.getStatus() != null) {
                 logger.debug("更新状态：{}", dto.getStatus());
-                existingArticle.setStatus(dto.getStatus());
+                changes.setStatus(dto.getStatus());
             }
             if (dto.getCoverImage() != null) {
                 logger.debug("更新封面图片：{}", dto.getCoverImage());
-                existingArticle.setCoverImage(dto.getCoverImage());
+                changes.setCoverImage(dto.getCoverImage());
+            }
+            if (dto.getPublishAt() != null) {
+                logger.debug("更新定时发布时间：{}", dto.getPublishAt());
+                changes.setPublishAt(dto.getPublishAt());
             }
             
             // 设置更新时间
-            existingArticle.setUpdatedAt(LocalDateTime.now());
-            logger.debug("设置更新时间：{}", existingArticle.getUpdatedAt());
+            changes.setUpdatedAt(LocalDateTime.now());
+            logger.debug("设置更新时间：{}", changes.getUpdatedAt());
             
             // 如果是首次发布设置发布时间
             if ("published".equals(dto.getStatus()) && existingArticle.getPublishedAt() == null) {
                 logger.info("首次发布文章，设置发布时间");
-                existingArticle.setPublishedAt(LocalDateTime.now());
+                changes.setPublishedAt(changes.getUpdatedAt());
             }
             
             logger.info("执行数据库更新");
-            int rows = articleMapper.update(existingArticle);
+            int rows = articleMapper.updateSelective(changes, version);
             logger.info("更新文章完成，受影响行数：{}", rows);
+            if (rows == 0) {
+                throw new VersionConflictException("文章", existingArticle.getId());
+            }
+            applyChanges(existingArticle, changes, version);
             
             // 处理标签 - 安全地处理tagIds可能为null的情况
+            List<Long> beforeTagIds = null;
+            List<Long> afterTagIds = null;
+            List<Long> currentTagIds = null;
             if (dto.getTagIds() != null && !dto.getTagIds().isEmpty()) {
                 logger.info("更新文章标签，标签数量：{}", dto.getTagIds().size());
-                handleTags(existingArticle.getId(), dto.getTagIds());
+                beforeTagIds = tagMapper.findTagIdsByArticleId(existingArticle.getId());
+                afterTagIds = handleTags(existingArticle.getId(), dto.getTagIds(), beforeTagIds);
+                currentTagIds = afterTagIds != null ? afterTagIds : beforeTagIds;
+                if (afterTagIds == null) {
+                    beforeTagIds = null;
+                }
             }
             
+            eventPublisher.publishEvent(ArticleChangedEvent.updated(before, existingArticle, beforeTagIds, afterTagIds));
             logger.info("文章更新成功，ID：{}", existingArticle.getId());
-            return convertToVO(existingArticle);
-        } catch (ResourceNotFoundException e) {
-            logger.error("文章不存在：{}", dto.getId());
-            throw e; // 直接抛出资源未找到异常
+            return convertToVO(existingArticle, currentTagIds);
+        } catch (ResourceNotFoundException | VersionConflictException e) {
+            logger.error("更新文章失败，ID：{}，{}", dto.getId(), e.getMessage());
+            throw e; // 直接抛出，由调用方返回404/409
         } catch (Exception e) {
             logger.error("更新文章失败，ID：{}", dto.getId(), e);
             throw new RuntimeException("更新文章失败: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    @Transactional
+    public ArticleVO changeStatus(Long id, String status, Integer version, Long operatorId) {
+        logger.info("修改文章状态，ID：{}，状态：{}，操作者ID：{}", id, status, operatorId);
+        Article article = findEditableHead(id, operatorId, "编辑");
+        int expected = expectedVersion(article, version);
+        Article before = new Article();
+        BeanUtils.copyProperties(article, before);
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime publishedAt = article.getPublishedAt();
+        if ("published".equals(status) && publishedAt == null) {
+            publishedAt = now;
+        }
+        int rows = articleMapper.updateStatus(id, status, publishedAt, now, expected);
+        if (rows == 0) {
+            throw new VersionConflictException("文章", id);
+        }
+        article.setStatus(status);
+        article.setPublishedAt(publishedAt);
+        article.setUpdatedAt(now);
+        article.setVersion(expected + 1);
+        
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(before, article, null, null));
+        logger.info("文章状态修改成功，ID：{}，{} -> {}", id, before.getStatus(), status);
+        return convertToVO(article);
+    }
+
+    @Override
+    @Transactional
+    public ArticleVO schedule(Long id, LocalDateTime publishAt, Integer version, Long operatorId) {
+        logger.info("定时发布文章，ID：{}，发布时间：{}，操作者ID：{}", id, publishAt, operatorId);
+        Article article = findEditableHead(id, operatorId, "编辑");
+        int expected = expectedVersion(article, version);
+        Article before = new Article();
+        BeanUtils.copyProperties(article, before);
+        
+        Article changes = new Article();
+        changes.setId(id);
+        changes.setStatus("scheduled");
+        changes.setPublishAt(publishAt);
+        changes.setUpdatedAt(LocalDateTime.now());
+        int rows = articleMapper.updateSelective(changes, expected);
+        if (rows == 0) {
+            throw new VersionConflictException("文章", id);
+        }
+        applyChanges(article, changes, expected);
+        
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(before, article, null, null));
+        logger.info("文章已设置定时发布，ID：{}，发布时间：{}", id, publishAt);
+        return convertToVO(article);
+    }
+
     @Override
     @Transactional
     public void delete(Long id, Long operatorId) {
         try {
             logger.info("删除文章，ID：{}，操作者ID：{}", id, operatorId);
-            Article article = articleMapper.findById(id);
-            if (article == null) {
-                logger.warn("文章不存在，ID：{}", id);
-                throw new ResourceNotFoundException("文章", id);
-            }
-            
-            // 验证操作者是否为作者
-            if (!article.getAuthorId().equals(operatorId)) {
-                logger.warn("操作者ID（{}）与文章作者ID（{}）不匹配", operatorId, article.getAuthorId());
-                throw new RuntimeException("只有作者可以删除文章");
-            }
+            // 只读取作者和状态等字段，不加载正文
+            Article article = findEditableHead(id, operatorId, "删除");
             
             // 删除文章标签关联
+            List<Long> tagIds = tagMapper.findTagIdsByArticleId(id);
             logger.info("删除文章-标签关联");
             int tagRows = tagMapper.deleteArticleTagsByArticleId(id);
             logger.info("删除文章-标签关联完成，受影响行数：{}", tagRows);
@@ -262,6 +491,8 @@ public class ArticleServiceImpl implements ArticleService {
             int rows = articleMapper.delete(id);
             logger.info("删除文章记录完成，受影响行数：{}", rows);
             
+            eventPublisher.publishEvent(ArticleChangedEvent.deleted(article, tagIds));
+            
             logger.info("文章删除成功，ID：{}", id);
         } catch (Exception e) {
             logger.error("删除文章失败，ID：{}", id, e);
@@ -269,50 +500,216 @@ public class ArticleServiceImpl implements ArticleService {
         }
     }
     
+    @Override
+    @Transactional
+    public BatchResult changeStatusBatch(List<Long> ids, String status, Long operatorId) {
+        logger.info("批量修改文章状态，数量：{}，状态：{}，操作者ID：{}", ids.size(), status, operatorId);
+        BatchResult result = new BatchResult();
+        List<Article> targets = lockEditableHeads(ids, operatorId, "编辑", result);
+        // 已处于目标状态的文章无需修改
+        List<Article> changed = new ArrayList<>(targets.size());
+        for (Article article : targets) {
+            if (status.equals(article.getStatus())) {
+                result.succeed(article.getId());
+            } else {
+                changed.add(article);
+            }
+        }
+        if (changed.isEmpty()) {
+            return result;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        boolean publishing = "published".equals(status);
+        List<Long> changedIds = changed.stream().map(Article::getId).collect(Collectors.toList());
+        int rows = articleMapper.updateStatusByIds(changedIds, status, publishing ? now : null, now, operatorId);
+        logger.info("批量修改文章状态完成，受影响行数：{}", rows);
+        
+        for (Article article : changed) {
+            Article before = new Article();
+            BeanUtils.copyProperties(article, before);
+            article.setStatus(status);
+            if (publishing && article.getPublishedAt() == null) {
+                article.setPublishedAt(now);
+            }
+            article.setUpdatedAt(now);
+            article.setVersion((article.getVersion() != null ? article.getVersion() : 0) + 1);
+            eventPublisher.publishEvent(ArticleChangedEvent.updated(before, article, null, null));
+            result.succeed(article.getId());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public BatchResult deleteBatch(List<Long> ids, Long operatorId) {
+        logger.info("批量删除文章，数量：{}，操作者ID：{}", ids.size(), operatorId);
+        BatchResult result = new BatchResult();
+        List<Article> targets = lockEditableHeads(ids, operatorId, "删除", result);
+        if (targets.isEmpty()) {
+            return result;
+        }
+        
+        List<Long> targetIds = targets.stream().map(Article::getId).collect(Collectors.toList());
+        Map<Long, List<Long>> tagIdsByArticle = new HashMap<>();
+        for (ArticleTag row : tagMapper.findByArticleIds(targetIds)) {
+            tagIdsByArticle.computeIfAbsent(row.getArticleId(), k -> new ArrayList<>()).add(row.getTagId());
+        }
+        int tagRows = tagMapper.deleteArticleTagsByArticleIds(targetIds);
+        int rows = articleMapper.deleteByIds(targetIds, operatorId);
+        logger.info("批量删除文章完成，删除文章：{}，删除标签关联：{}", rows, tagRows);
+        
+        for (Article article : targets) {
+            eventPublisher.publishEvent(ArticleChangedEvent.deleted(article,
+                    tagIdsByArticle.getOrDefault(article.getId(), List.of())));
+            result.succeed(article.getId());
+        }
+        return result;
+    }
+
+    /**
+     * 批量读取并锁定待修改的文章，不存在或不属于操作者的文章记入失败结果
+     * @return 可以修改的文章，按传入的ID顺序排列
+     */
+    private List<Article> lockEditableHeads(List<Long> ids, Long operatorId, String action, BatchResult result) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Article> byId = new HashMap<>();
+        for (Article article : articleMapper.lockHeadsByIds(distinct)) {
+            byId.put(article.getId(), article);
+        }
+        List<Article> editable = new ArrayList<>(byId.size());
+        for (Long id : distinct) {
+            Article article = byId.get(id);
+            if (article == null) {
+                result.fail(id, "文章不存在");
+            } else if (!article.getAuthorId().equals(operatorId)) {
+                result.fail(id, "只有作者可以" + action + "文章");
+            } else {
+                editable.add(article);
+            }
+        }
+        return editable;
+    }
+
+    /**
+     * 读取待修改文章的非正文字段并校验操作者是否为作者
+     */
+    private Article findEditableHead(Long id, Long operatorId, String action) {
+        Article article = articleMapper.findHeadById(id);
+        if (article == null) {
+            logger.warn("文章不存在，ID：{}", id);
+            throw new ResourceNotFoundException("文章", id);
+        }
+        if (!article.getAuthorId().equals(operatorId)) {
+            logger.warn("操作者ID（{}）与文章作者ID（{}）不匹配", operatorId, article.getAuthorId());
+            throw new RuntimeException("只有作者可以" + action + "文章");
+        }
+        return article;
+    }
+
+    /**
+     * 确定更新条件中的版本号：客户端提交了读取时的版本号则以其为准，否则使用刚读取的版本号
+     */
+    private int expectedVersion(Article article, Integer clientVersion) {
+        int current = article.getVersion() != null ? article.getVersion() : 0;
+        if (clientVersion != null && clientVersion != current) {
+            logger.warn("文章版本不匹配，ID：{}，提交版本：{}，当前版本：{}", article.getId(), clientVersion, current);
+            throw new VersionConflictException("文章", article.getId());
+        }
+        return current;
+    }
+
+    /**
+     * 把已写入数据库的修改合并到文章对象上，用于发布变更事件和返回结果
+     */
+    private void applyChanges(Article article, Article changes, int version) {
+        if (changes.getTitle() != null) {
+            article.setTitle(changes.getTitle());
+        }
+        if (changes.getSummary() != null) {
+            article.setSummary(changes.getSummary());
+        }
+        if (changes.getContent() != null) {
+            article.setContent(changes.getContent());
+            article.setContentHtml(changes.getContentHtml());
+            article.setToc(changes.getToc());
+            article.setWordCount(changes.getWordCount());
+            article.setReadingTime(changes.getReadingTime());
+        }
+        if (changes.getStatus() != null) {
+            article.setStatus(changes.getStatus());
+        }
+        if (changes.getCoverImage() != null) {
+            article.setCoverImage(changes.getCoverImage());
+        }
+        if (changes.getPublishedAt() != null) {
+            article.setPublishedAt(changes.getPublishedAt());
+        }
+        if (changes.getPublishAt() != null) {
+            article.setPublishAt(changes.getPublishAt());
+        }
+        article.setUpdatedAt(changes.getUpdatedAt());
+        article.setVersion(version + 1);
+    }
+
     /**
-     * 处理文章标签
+     * 处理文章标签：通过标签字典校验标签是否存在，与当前关联比较后只删除和插入有变化的关联
+     * @param articleId 文章ID
+     * @param tagIds 请求的标签ID
+     * @param currentTagIds 文章当前关联的标签ID
+     * @return 写入的有效标签ID，未修改标签关联时返回null
      */
-    private void handleTags(Long articleId, List<Long> tagIds) {
+    private List<Long> handleTags(Long articleId, List<Long> tagIds, List<Long> currentTagIds) {
         if (tagIds == null || tagIds.isEmpty()) {
             logger.info("标签列表为空，无需处理");
-            return;
+            return null;
         }
         
         try {
-            // 验证标签ID是否存在
-            List<Long> existingTagIds = new ArrayList<>();
-            for (Long tagId : tagIds) {
-                Tag tag = tagMapper.findById(tagId);
-                if (tag != null) {
-                    existingTagIds.add(tagId);
-                } else {
-                    logger.warn("标签ID不存在: {}, 将被跳过", tagId);
-                }
+            // 验证标签ID是否存在，保持请求中的顺序并去重
+            List<Long> requested = tagIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            List<Long> existingTagIds = tagDictionary.filterExisting(requested);
+            if (existingTagIds.size() < requested.size()) {
+                logger.warn("标签ID不存在: {}, 将被跳过",
+                        requested.stream().filter(tagId -> !existingTagIds.contains(tagId)).collect(Collectors.toList()));
             }
             
             if (existingTagIds.isEmpty()) {
                 logger.warn("没有有效的标签ID，跳过标签处理");
-                return;
+                return null;
             }
             
-            // 删除旧的标签关联
-            logger.info("删除文章{}的旧标签关联", articleId);
-            int deleteRows = tagMapper.deleteArticleTagsByArticleId(articleId);
-            logger.info("删除旧标签关联完成，受影响行数：{}", deleteRows);
-            
-            // 添加新的标签关联
-            logger.info("添加新标签关联，有效标签数量：{}", existingTagIds.size());
+            // 与当前关联比较，只写入变化的部分
+            Set<Long> current = new HashSet<>(currentTagIds);
+            Set<Long> target = new HashSet<>(existingTagIds);
+            List<Long> removed = currentTagIds.stream().filter(tagId -> !target.contains(tagId)).collect(Collectors.toList());
+            List<ArticleTag> added = new ArrayList<>();
             for (Long tagId : existingTagIds) {
-                logger.debug("添加标签关联：文章ID={}，标签ID={}", articleId, tagId);
-                try {
-                    int insertRows = tagMapper.insertArticleTag(articleId, tagId);
-                    logger.debug("添加标签关联完成，受影响行数：{}", insertRows);
-                } catch (Exception e) {
-                    logger.error("添加标签关联失败，文章ID={}，标签ID={}", articleId, tagId, e);
-                    throw e;
+                if (!current.contains(tagId)) {
+                    ArticleTag row = new ArticleTag();
+                    row.setArticleId(articleId);
+                    row.setTagId(tagId);
+                    added.add(row);
                 }
             }
+            if (removed.isEmpty() && added.isEmpty()) {
+                logger.info("文章{}的标签未变化", articleId);
+                return null;
+            }
+            
+            if (!removed.isEmpty()) {
+                int deleteRows = tagMapper.deleteArticleTags(articleId, removed);
+                logger.info("删除文章{}的标签关联，受影响行数：{}", articleId, deleteRows);
+            }
+            if (!added.isEmpty()) {
+                int insertRows = tagMapper.insertArticleTags(added);
+                logger.info("添加文章{}的标签关联，受影响行数：{}", articleId, insertRows);
+            }
             logger.info("文章标签处理完成");
+            return existingTagIds;
         } catch (Exception e) {
             logger.error("处理文章标签失败，文章ID={}", articleId, e);
             throw new RuntimeException("处理文章标签失败: " + e.getMessage(), e);
@@ -323,16 +720,26 @@ public class ArticleServiceImpl implements ArticleService {
      * 将实体转换为VO
      */
     private ArticleVO convertToVO(Article article) {
+        return convertToVO(article, null);
+    }
+
+    /**
+     * 将实体转换为VO，标签名从标签字典中获取
+     * @param tagIds 已知的标签ID，为null时从数据库读取
+     */
+    private ArticleVO convertToVO(Article article, List<Long> tagIds) {
         logger.debug("将文章实体转换为VO，ID：{}", article.getId());
         ArticleVO vo = new ArticleVO();
         BeanUtils.copyProperties(article, vo);
         
         try {
             // 获取标签
-            List<Tag> tags = tagMapper.findByArticleId(article.getId());
-            if (tags != null && !tags.isEmpty()) {
-                logger.debug("文章有{}个标签", tags.size());
-                vo.setTags(tags.stream().map(Tag::getName).collect(Collectors.toList()));
+            if (tagIds == null) {
+                tagIds = tagMapper.findTagIdsByArticleId(article.getId());
+            }
+            if (tagIds != null && !tagIds.isEmpty()) {
+                logger.debug("文章有{}个标签", tagIds.size());
+                vo.setTags(tagDictionary.names(tagIds));
             } else {
                 logger.debug("文章没有标签");
                 vo.setTags(new ArrayList<>());
@@ -349,29 +756,89 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     /**
-     * 从文章内容自动生成摘要
-     * @param content 文章内容
-     * @return 生成的摘要
+     * 批量将列表行转换为VO，整页文章的标签ID通过一次查询加载，标签名从标签字典中获取
      */
-    private String generateSummary(String content) {
-        if (content == null || content.trim().isEmpty()) {
-            return "";
+    private List<ArticleVO> convertToVOList(List<ArticleSummary> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return new ArrayList<>();
         }
         
-        // 移除Markdown格式
-        String plainText = content.replaceAll("\\*\\*|\\*|#+|\\[.*?\\]\\(.*?\\)|```[\\s\\S]*?```|`.*?`|>|\\|", "")
-            .replaceAll("\\n\\s*\\n", "\n") // 移除多余空行
-            .trim();
-        
-        // 截取前150个字符作为摘要
-        int summaryLength = Math.min(plainText.length(), 150);
-        String summary = plainText.substring(0, summaryLength);
-        
-        // 如果截断了句子，添加省略号
-        if (summaryLength < plainText.length()) {
-            summary += "...";
+        List<Long> articleIds = articles.stream().map(ArticleSummary::getId).collect(Collectors.toList());
+        Map<Long, List<Long>> tagIdsByArticleId = new HashMap<>();
+        try {
+            List<ArticleTag> rows = tagMapper.findByArticleIds(articleIds);
+            logger.debug("批量加载{}篇文章的标签，共{}条关联", articleIds.size(), rows.size());
+            for (ArticleTag row : rows) {
+                tagIdsByArticleId.computeIfAbsent(row.getArticleId(), k -> new ArrayList<>()).add(row.getTagId());
+            }
+        } catch (Exception e) {
+            logger.error("批量加载文章标签失败，文章ID：{}", articleIds, e);
+            throw new RuntimeException("转换文章VO失败: " + e.getMessage(), e);
         }
         
-        return summary;
+        List<ArticleVO> voList = new ArrayList<>(articles.size());
+        for (ArticleSummary article : articles) {
+            // 列表不返回正文，逐个字段赋值，避免BeanUtils反射拷贝
+            ArticleVO vo = new ArticleVO();
+            vo.setId(article.getId());
+            vo.setTitle(article.getTitle());
+            vo.setSummary(article.getSummary());
+            vo.setStatus(article.getStatus());
+            vo.setCoverImage(article.getCoverImage());
+            vo.setViews(article.getViews());
+            vo.setCreatedAt(article.getCreatedAt());
+            vo.setUpdatedAt(article.getUpdatedAt());
+            vo.setPublishedAt(article.getPublishedAt());
+            List<Long> tagIds = tagIdsByArticleId.get(article.getId());
+            vo.setTags(tagIds != null ? tagDictionary.names(tagIds) : new ArrayList<>());
+            // TODO: 获取作者名称（需要用户服务）
+            vo.setAuthorName("管理员");
+            voList.add(vo);
+        }
+        return voList;
+    }
+
+    /**
+     * 按顺序保留已发布的文章，最多保留 limit 篇
+     */
+    private List<Long> filterPublished(List<Long> candidates, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (Long id : candidates) {
+            if (articleTagIndex.getPublishedAt(id) != null) {
+                ids.add(id);
+                if (ids.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 按ID批量查询文章，并按传入的ID顺序排列，已不存在的文章被跳过
+     */
+    private List<ArticleSummary> findSummariesInOrder(List<Long> ids) {
+        Map<Long, ArticleSummary> byId = new HashMap<>();
+        for (ArticleSummary article : articleMapper.findSummariesByIds(ids)) {
+            byId.put(article.getId(), article);
+        }
+        List<ArticleSummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ArticleSummary article = byId.get(id);
+            if (article != null) {
+                ordered.add(article);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 从文章内容自动生成摘要
+     * @param content 文章内容
+     * @return 生成的摘要
+     */
+    private String generateSummary(String content) {
+        // 单遍扫描去掉Markdown标记，取够摘要长度后立即停止
+        return MarkdownTextExtractor.summary(content, SUMMARY_LENGTH);
     }
 } 
\ No newline at end of file
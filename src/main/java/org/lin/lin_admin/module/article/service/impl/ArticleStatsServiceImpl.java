@@ -0,0 +1,173 @@
+package org.lin.lin_admin.module.article.service.impl;
+
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.GroupCount;
+import org.lin.lin_admin.module.article.service.ArticleStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文章统计服务实现类
+ * 读取统计数据只访问内存计数器和标签字典，与文章总数无关
+ */
+@Service
+public class ArticleStatsServiceImpl implements ArticleStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleStatsServiceImpl.class);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    private volatile Counters counters = new Counters();
+
+    /**
+     * 应用启动后初始化统计计数器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("初始化文章统计失败", e);
+        }
+    }
+
+    /**
+     * 与增量更新互斥执行：重新加载期间提交的变更等加载完成后再应用到新的计数器上，
+     * 不会因整体替换而丢失
+     */
+    @Override
+    public synchronized void reload() {
+        logger.info("从数据库加载文章统计");
+        Counters loaded = new Counters();
+        for (GroupCount row : articleMapper.countGroupByStatus()) {
+            loaded.byStatus.put(row.getGroupKey(), row.getTotal());
+        }
+        for (GroupCount row : articleMapper.countPublishedGroupByMonth()) {
+            loaded.byMonth.put(row.getGroupKey(), row.getTotal());
+        }
+        for (GroupCount row : tagMapper.countGroupByTag()) {
+            loaded.byTag.put(Long.valueOf(row.getGroupKey()), row.getTotal());
+        }
+        counters = loaded;
+        logger.info("文章统计加载完成，状态数：{}，月份数：{}，标签数：{}",
+                loaded.byStatus.size(), loaded.byMonth.size(), loaded.byTag.size());
+    }
+
+    /**
+     * 文章变更事务提交后增量更新计数器
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        Counters current = counters;
+        Article before = event.getBefore();
+        Article after = event.getAfter();
+
+        if (before != null) {
+            add(current.byStatus, before.getStatus(), -1);
+        }
+        if (after != null) {
+            add(current.byStatus, after.getStatus(), 1);
+        }
+        if (event.wasPublished()) {
+            add(current.byMonth, month(before.getPublishedAt()), -1);
+        }
+        if (event.isPublished()) {
+            add(current.byMonth, month(after.getPublishedAt()), 1);
+        }
+        if (event.isTagsChanged()) {
+            for (Long tagId : event.getBeforeTagIds()) {
+                add(current.byTag, tagId, -1);
+            }
+            for (Long tagId : event.getAfterTagIds()) {
+                add(current.byTag, tagId, 1);
+            }
+        }
+    }
+
+    /**
+     * 批量变更后重新加载计数器
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        reload();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Counters current = counters;
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        long totalCount = current.byStatus.values().stream().mapToLong(Long::longValue).sum();
+        stats.put("totalCount", totalCount);
+        stats.put("publishedCount", current.byStatus.getOrDefault("published", 0L));
+        stats.put("draftCount", current.byStatus.getOrDefault("draft", 0L));
+        stats.put("archivedCount", current.byStatus.getOrDefault("archived", 0L));
+        stats.put("statusCounts", new TreeMap<>(current.byStatus));
+        stats.put("monthlyPublishedCounts", new TreeMap<>(current.byMonth));
+
+        List<Map<String, Object>> tagCounts = new ArrayList<>();
+        current.byTag.forEach((tagId, count) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("tagId", tagId);
+            item.put("name", tagDictionary.nameOf(tagId));
+            item.put("count", count);
+            tagCounts.add(item);
+        });
+        tagCounts.sort(Comparator.comparing((Map<String, Object> item) -> (Long) item.get("count")).reversed());
+        stats.put("tagCounts", tagCounts);
+        return stats;
+    }
+
+    /**
+     * 调整计数，计数归零时移除该键
+     */
+    private static <K> void add(Map<K, Long> map, K key, long delta) {
+        if (key == null) {
+            return;
+        }
+        map.merge(key, delta, (oldValue, value) -> {
+            long sum = oldValue + value;
+            return sum == 0 ? null : sum;
+        });
+    }
+
+    private static String month(LocalDateTime time) {
+        return time != null ? YearMonth.from(time).toString() : null;
+    }
+
+    /**
+     * 一组统计计数器，重新加载时整体替换
+     */
+    private static class Counters {
+        final Map<String, Long> byStatus = new ConcurrentHashMap<>();
+        final Map<String, Long> byMonth = new ConcurrentHashMap<>();
+        final Map<Long, Long> byTag = new ConcurrentHashMap<>();
+    }
+}
@@ -1,11 +1,14 @@
 package org.lin.lin_admin.module.article.service.impl;
 
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
 import org.lin.lin_admin.module.article.mapper.TagMapper;
 import org.lin.lin_admin.module.article.model.Tag;
 import org.lin.lin_admin.module.article.service.TagService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +25,16 @@ public class TagServiceImpl implements TagService {
     @Autowired
     private TagMapper tagMapper;
 
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Tag> findAll() {
         logger.debug("获取所有标签");
-        return tagMapper.findAll();
+        return tagDictionary.findAll();
     }
 
     @Override
@@ -36,7 +45,7 @@ public class TagServiceImpl implements TagService {
             return null;
         }
         
-        return tagMapper.findById(id);
+        return tagDictionary.findById(id);
     }
 
     @Override
@@ -47,7 +56,7 @@ public class TagServiceImpl implements TagService {
             return null;
         }
         
-        return tagMapper.findByName(name);
+        return tagDictionary.findByName(name);
     }
 
     @Override
@@ -61,8 +70,8 @@ public class TagServiceImpl implements TagService {
             throw new IllegalArgumentException("标签名称不能为空");
         }
         
-        // 检查标签名称是否已存在
-        Tag existingTag = tagMapper.findByName(tag.getName().trim());
+        // 检查标签名称是否已存在，并发创建同名标签时由 tags.name 的唯一约束兜底
+        Tag existingTag = tagDictionary.findByName(tag.getName().trim());
         if (existingTag != null) {
             logger.warn("标签名称已存在：{}", tag.getName());
             throw new IllegalArgumentException("标签名称已存在");
@@ -73,6 +82,7 @@ public class TagServiceImpl implements TagService {
         
         // 插入数据库
         int rows = tagMapper.insert(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(tag.getId()));
         logger.info("标签创建成功，ID：{}", tag.getId());
         
         return tag;
@@ -96,7 +106,7 @@ public class TagServiceImpl implements TagService {
         }
         
         // 检查标签是否存在
-        Tag existingTag = tagMapper.findById(id);
+        Tag existingTag = tagDictionary.findById(id);
         if (existingTag == null) {
             logger.warn("标签不存在，ID：{}", id);
             throw new IllegalArgumentException("标签不存在");
@@ -112,7 +122,7 @@ public class TagServiceImpl implements TagService {
         }
         
         // 检查新名称是否已存在
-        Tag nameExistsTag = tagMapper.findByName(newName);
+        Tag nameExistsTag = tagDictionary.findByName(newName);
         if (nameExistsTag != null && !nameExistsTag.getId().equals(id)) {
             logger.warn("标签名称已存在：{}", newName);
             throw new IllegalArgumentException("标签名称已存在");
@@ -123,6 +133,7 @@ public class TagServiceImpl implements TagService {
         
         // 更新数据库
         int rows = tagMapper.update(existingTag);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
         logger.info("标签更新成功，ID：{}", id);
         
         return existingTag;
@@ -140,7 +151,7 @@ public class TagServiceImpl implements TagService {
         }
         
         // 检查标签是否存在
-        Tag existingTag = tagMapper.findById(id);
+        Tag existingTag = tagDictionary.findById(id);
         if (existingTag == null) {
             logger.warn("标签不存在，ID：{}", id);
             return false;
@@ -154,6 +165,7 @@ public class TagServiceImpl implements TagService {
         
         // 删除标签
         int rows = tagMapper.delete(id);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
         logger.info("标签删除成功，ID：{}", id);
         
         return rows > 0;
@@ -0,0 +1,182 @@
+package org.lin.lin_admin.module.article.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文章正文存储编码
+ * <p>
+ * 数据库中的正文是字节：
+ * <ul>
+ *     <li>普通 UTF-8 文本：未压缩的正文，包括迁移前的历史数据；</li>
+ *     <li>0x00 0x01 + 4 字节原文长度 + Deflate 数据：压缩后的正文；</li>
+ *     <li>0x00 0x00 + UTF-8 文本：以 0x00 开头的未压缩正文，加前缀避免与压缩格式混淆。</li>
+ * </ul>
+ * 只有 UTF-8 编码后不小于阈值且压缩后确实变小的正文才会压缩。
+ * 同时统计编码和解码的次数、耗时和压缩率。
+ */
+public final class ArticleContentCodec {
+
+    static final byte MARKER = 0x00;
+    static final byte FORMAT_RAW = 0x00;
+    static final byte FORMAT_DEFLATE = 0x01;
+
+    private static final int HEADER_LENGTH = 6;
+
+    private static final LongAdder encodeCalls = new LongAdder();
+    private static final LongAdder encodeNanos = new LongAdder();
+    private static final LongAdder compressedCount = new LongAdder();
+    private static final LongAdder compressedRawBytes = new LongAdder();
+    private static final LongAdder compressedStoredBytes = new LongAdder();
+    private static final LongAdder decodeCalls = new LongAdder();
+    private static final LongAdder decodeNanos = new LongAdder();
+    private static final LongAdder decompressedCount = new LongAdder();
+
+    private ArticleContentCodec() {
+    }
+
+    /**
+     * 编码正文
+     * @param text 正文
+     * @param threshold 压缩阈值（UTF-8 字节数），小于该值不压缩
+     * @param level Deflate 压缩级别
+     * @return 写入数据库的字节
+     */
+    public static byte[] encode(String text, int threshold, int level) {
+        long start = System.nanoTime();
+        try {
+            byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+            if (raw.length >= threshold) {
+                byte[] compressed = deflate(raw, level);
+                if (compressed != null) {
+                    compressedCount.increment();
+                    compressedRawBytes.add(raw.length);
+                    compressedStoredBytes.add(compressed.length);
+                    return compressed;
+                }
+            }
+            if (raw.length > 0 && raw[0] == MARKER) {
+                byte[] escaped = new byte[raw.length + 2];
+                escaped[0] = MARKER;
+                escaped[1] = FORMAT_RAW;
+                System.arraycopy(raw, 0, escaped, 2, raw.length);
+                return escaped;
+            }
+            return raw;
+        } finally {
+            encodeCalls.increment();
+            encodeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 解码数据库中的正文
+     * @param stored 数据库中的字节
+     * @return 正文
+     */
+    public static String decode(byte[] stored) {
+        long start = System.nanoTime();
+        try {
+            if (stored.length < 2 || stored[0] != MARKER) {
+                return new String(stored, StandardCharsets.UTF_8);
+            }
+            if (stored[1] == FORMAT_RAW) {
+                return new String(stored, 2, stored.length - 2, StandardCharsets.UTF_8);
+            }
+            if (stored[1] == FORMAT_DEFLATE) {
+                decompressedCount.increment();
+                return new String(inflate(stored), StandardCharsets.UTF_8);
+            }
+            throw new IllegalStateException("未知的正文存储格式：" + stored[1]);
+        } finally {
+            decodeCalls.increment();
+            decodeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return 数据库中的字节是否已经带有格式标记（压缩过或已转义）
+     */
+    public static boolean isEncoded(byte[] stored) {
+        return stored.length >= 2 && stored[0] == MARKER;
+    }
+
+    /**
+     * 获取编码统计
+     * @return 调用次数、平均耗时（微秒）和压缩率（压缩后字节 / 原文字节）
+     */
+    public static Map<String, Object> getStats() {
+        long encodes = encodeCalls.sum();
+        long decodes = decodeCalls.sum();
+        long rawBytes = compressedRawBytes.sum();
+        long storedBytes = compressedStoredBytes.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("encodeCalls", encodes);
+        stats.put("compressed", compressedCount.sum());
+        stats.put("avgEncodeMicros", encodes == 0 ? 0 : encodeNanos.sum() / 1000.0 / encodes);
+        stats.put("decodeCalls", decodes);
+        stats.put("decompressed", decompressedCount.sum());
+        stats.put("avgDecodeMicros", decodes == 0 ? 0 : decodeNanos.sum() / 1000.0 / decodes);
+        stats.put("compressedRawBytes", rawBytes);
+        stats.put("compressedStoredBytes", storedBytes);
+        stats.put("compressionRatio", rawBytes == 0 ? 1.0 : (double) storedBytes / rawBytes);
+        return stats;
+    }
+
+    /**
+     * 压缩，结果不比原文小时返回null
+     */
+    private static byte[] deflate(byte[] raw, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+            out.write(MARKER);
+            out.write(FORMAT_DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(raw.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= raw.length) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 2, 4).getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            byte[] raw = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int n = inflater.inflate(raw, offset, length - offset);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                offset += n;
+            }
+            if (offset != length) {
+                throw new IllegalStateException("压缩正文已损坏，期望 " + length + " 字节，实际 " + offset + " 字节");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("压缩正文已损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
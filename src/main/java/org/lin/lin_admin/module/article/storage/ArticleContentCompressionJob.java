@@ -0,0 +1,70 @@
+package org.lin.lin_admin.module.article.storage;
+
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 历史正文压缩任务
+ * 按ID分批查找正文不小于压缩阈值、且仍以未编码文本存储的文章，按当前存储格式重新写入。
+ * 任务可重复执行，已压缩的文章会被跳过；正文不变，不需要刷新缓存。
+ */
+@Component
+public class ArticleContentCompressionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleContentCompressionJob.class);
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Value("${article.storage.compress-threshold:4096}")
+    private int compressThreshold;
+
+    @Value("${article.storage.migrate-batch-size:100}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 执行压缩
+     * @return 本次重新写入的文章数量，已有任务在执行时返回-1
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("正文压缩任务正在执行，跳过本次请求");
+            return -1;
+        }
+        try {
+            int total = 0;
+            int skipped = 0;
+            long lastId = 0;
+            while (true) {
+                List<Article> articles = articleMapper.findUnencodedContentAfter(lastId, compressThreshold, batchSize);
+                if (articles.isEmpty()) {
+                    break;
+                }
+                for (Article article : articles) {
+                    // 写入时读取 content 会先解码，再由类型处理器按当前格式编码
+                    if (articleMapper.updateStoredContent(article) > 0) {
+                        total++;
+                    } else {
+                        skipped++;
+                    }
+                    lastId = article.getId();
+                }
+                logger.info("正文压缩进度：已写入{}篇，跳过{}篇，最后ID：{}", total, skipped, lastId);
+            }
+            logger.info("正文压缩完成，共{}篇，压缩统计：{}", total, ArticleContentCodec.getStats());
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+}
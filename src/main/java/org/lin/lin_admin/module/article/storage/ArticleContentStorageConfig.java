@@ -0,0 +1,31 @@
+package org.lin.lin_admin.module.article.storage;
+
+import org.apache.ibatis.type.JdbcType;
+import org.mybatis.spring.boot.autoconfigure.ConfigurationCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 文章正文存储配置
+ * 注册按配置的阈值和压缩级别创建的 {@link ArticleContentTypeHandler}，别名为 articleContent
+ */
+@Configuration
+public class ArticleContentStorageConfig {
+
+    @Value("${article.storage.compress-threshold:4096}")
+    private int compressThreshold;
+
+    @Value("${article.storage.compression-level:6}")
+    private int compressionLevel;
+
+    @Bean
+    public ConfigurationCustomizer articleContentTypeHandlerCustomizer() {
+        return configuration -> {
+            configuration.getTypeAliasRegistry().registerAlias("articleContent", ArticleContentTypeHandler.class);
+            // 只登记在 String + LONGVARBINARY 下，不替换默认的 String 类型处理器
+            configuration.getTypeHandlerRegistry().register(String.class, JdbcType.LONGVARBINARY,
+                    new ArticleContentTypeHandler(compressThreshold, compressionLevel));
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package org.lin.lin_admin.module.article.storage;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.Deflater;
+
+/**
+ * 文章正文的 MyBatis 类型处理器，写入时按 {@link ArticleContentCodec} 编码
+ * 在 SQL 中以 {@code #{content,typeHandler=articleContent}} 引用；
+ * 读取正文时映射到 {@code stored_content} 列，由 {@link org.lin.lin_admin.module.article.model.Article} 延迟解码。
+ */
+public class ArticleContentTypeHandler extends BaseTypeHandler<String> {
+
+    /**
+     * 默认压缩阈值（字节）
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final int threshold;
+    private final int level;
+
+    public ArticleContentTypeHandler() {
+        this(DEFAULT_THRESHOLD, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public ArticleContentTypeHandler(int threshold, int level) {
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+        ps.setBytes(i, ArticleContentCodec.encode(parameter, threshold, level));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decode(rs.getBytes(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getBytes(columnIndex));
+    }
+
+    private static String decode(byte[] stored) {
+        return stored != null ? ArticleContentCodec.decode(stored) : null;
+    }
+}
@@ -0,0 +1,119 @@
+package org.lin.lin_admin.module.article.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.cursor.Cursor;
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.ArticleExportRow;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章批量导出
+ * 通过 MyBatis 游标逐行读取文章，每行序列化为一行 JSON 直接写入输出流，内存占用与文章数量无关。
+ * 输出格式与 {@link ArticleImporter} 的输入格式相同。
+ */
+@Component
+public class ArticleExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleExporter.class);
+
+    /**
+     * 每写出多少篇文章刷新一次输出流
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
+    /**
+     * 导出时 GROUP_CONCAT 的最大长度（字节），足够容纳数万个标签ID
+     */
+    static final long TAG_IDS_MAX_LENGTH = 1024 * 1024;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 导出所有文章
+     * @param out 输出流，导出完成后不关闭
+     * @return 导出的文章数量
+     * @throws IOException 写出失败（如客户端断开）
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        // 游标遍历期间连接被占用，标签名需在打开游标前从标签字典取出
+        Map<Long, String> tagNames = new HashMap<>();
+        for (Tag tag : tagDictionary.findAll()) {
+            tagNames.put(tag.getId(), tag.getName());
+        }
+
+        // 标签ID以 GROUP_CONCAT 读出，默认 1024 字节的上限会静默截断标签较多的文章
+        articleMapper.setGroupConcatMaxLen(TAG_IDS_MAX_LENGTH);
+
+        ObjectWriter writer = objectMapper.writerFor(ArticleRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Cursor<ArticleExportRow> cursor = articleMapper.cursorForExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (ArticleExportRow row : cursor) {
+                writer.writeValue(generator, toRecord(row, tagNames));
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        logger.info("文章导出完成，文章数：{}，耗时：{}ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private static ArticleRecord toRecord(ArticleExportRow row, Map<Long, String> tagNames) {
+        ArticleRecord record = new ArticleRecord();
+        record.setId(row.getId());
+        record.setTitle(row.getTitle());
+        record.setSummary(row.getSummary());
+        record.setContent(row.getContent());
+        record.setStatus(row.getStatus());
+        record.setCoverImage(row.getCoverImage());
+        record.setCreatedAt(row.getCreatedAt());
+        record.setUpdatedAt(row.getUpdatedAt());
+        record.setPublishedAt(row.getPublishedAt());
+        record.setPublishAt(row.getPublishAt());
+        List<String> tags = new ArrayList<>();
+        if (row.getTagIds() != null && !row.getTagIds().isEmpty()) {
+            if (row.getTagIds().length() >= TAG_IDS_MAX_LENGTH) {
+                throw new IllegalStateException("文章" + row.getId() + "的标签ID超出导出长度限制");
+            }
+            for (String tagId : row.getTagIds().split(",")) {
+                String name = tagNames.get(Long.parseLong(tagId));
+                if (name != null) {
+                    tags.add(name);
+                }
+            }
+        }
+        record.setTags(tags);
+        return record;
+    }
+}
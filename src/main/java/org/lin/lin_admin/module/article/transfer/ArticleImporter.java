@@ -0,0 +1,296 @@
+package org.lin.lin_admin.module.article.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.lin.lin_admin.module.article.render.MarkdownTextExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 文章批量导入
+ * 逐行读取 NDJSON，每行解析为一篇文章；攒满一批（按篇数或正文大小）后在一个事务中
+ * 用多行 INSERT 写入文章和标签关联，随后丢弃该批数据，内存占用与文件大小无关。
+ * <p>
+ * 解析失败的行被跳过；一批写入失败时整批回滚并记为失败，后续批次继续导入。
+ * 全部导入后发布一次 {@link ArticleBulkChangedEvent}，由索引、缓存等整体重新加载，
+ * 导入的定时发布文章也由定时发布调度器在此时重新加载并调度。
+ */
+@Component
+public class ArticleImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleImporter.class);
+
+    private static final Set<String> STATUSES = Set.of("draft", "published", "archived", "scheduled");
+
+    private static final int SUMMARY_LENGTH = 150;
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private static final int MAX_TAG_LENGTH = 50;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${article.import.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 一批文章正文的最大字符数，避免单条 INSERT 超过 max_allowed_packet
+     */
+    @Value("${article.import.batch-chars:4194304}")
+    private long batchChars;
+
+    /**
+     * 导入文章
+     * @param in NDJSON 输入流，每行一个 {@link ArticleRecord}
+     * @param authorId 导入文章的作者ID
+     * @param listener 进度回调，每写入一批、每个错误各调用一次
+     * @return 最终计数
+     * @throws IOException 读取输入失败
+     */
+    public ImportProgress importArticles(InputStream in, Long authorId, Consumer<ImportProgress> listener) throws IOException {
+        long start = System.currentTimeMillis();
+        ObjectReader recordReader = objectMapper.readerFor(ArticleRecord.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Counts counts = new Counts();
+        Batch batch = new Batch();
+        LocalDateTime now = LocalDateTime.now();
+
+        String line;
+        int lineNumber = 0;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                counts.processed++;
+                try {
+                    ArticleRecord record = recordReader.readValue(line);
+                    batch.add(lineNumber, toArticle(record, authorId, now), normalizeTags(record.getTags()));
+                } catch (Exception e) {
+                    counts.failed++;
+                    listener.accept(ImportProgress.error(lineNumber, e.getMessage()));
+                    continue;
+                }
+                if (batch.size() >= batchSize || batch.chars >= batchChars) {
+                    write(batch, counts, listener);
+                }
+            }
+            if (batch.size() > 0) {
+                write(batch, counts, listener);
+            }
+        } finally {
+            // 已写入的文章即使中途出错也需要让内存结构重新加载
+            if (counts.imported > 0) {
+                eventPublisher.publishEvent(new ArticleBulkChangedEvent("导入文章", (int) counts.imported));
+            }
+        }
+        logger.info("文章导入完成，读取：{}，导入：{}，失败：{}，耗时：{}ms",
+                counts.processed, counts.imported, counts.failed, System.currentTimeMillis() - start);
+        return ImportProgress.counts(ImportProgress.DONE, counts.processed, counts.imported, counts.failed);
+    }
+
+    /**
+     * 在一个事务中写入一批文章及其标签，写入后清空批次
+     */
+    private void write(Batch batch, Counts counts, Consumer<ImportProgress> listener) {
+        int size = batch.size();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                articleMapper.insertBatch(batch.articles);
+                Map<String, Long> tagIds = resolveTags(batch.tagNames());
+                List<ArticleTag> rows = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    for (String name : batch.tags.get(i)) {
+                        ArticleTag row = new ArticleTag();
+                        row.setArticleId(batch.articles.get(i).getId());
+                        row.setTagId(tagIds.get(name));
+                        rows.add(row);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    tagMapper.insertArticleTags(rows);
+                }
+            });
+            counts.imported += size;
+        } catch (Exception e) {
+            logger.error("写入导入文章失败，第{}-{}行", batch.firstLine(), batch.lastLine(), e);
+            counts.failed += size;
+            listener.accept(ImportProgress.error(batch.firstLine(),
+                    "第" + batch.firstLine() + "-" + batch.lastLine() + "行写入失败: " + e.getMessage()));
+        }
+        batch.clear();
+        listener.accept(ImportProgress.counts(ImportProgress.PROGRESS, counts.processed, counts.imported, counts.failed));
+    }
+
+    /**
+     * 按名称查找标签ID，不存在的标签先批量创建
+     */
+    private Map<String, Long> resolveTags(List<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        if (names.isEmpty()) {
+            return ids;
+        }
+        for (Tag tag : tagMapper.findByNames(names)) {
+            ids.put(tag.getName(), tag.getId());
+        }
+        List<String> missing = names.stream().filter(name -> !ids.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            tagMapper.insertIgnoreNames(missing);
+            for (Tag tag : tagMapper.findByNames(missing)) {
+                ids.put(tag.getName(), tag.getId());
+            }
+        }
+        return ids;
+    }
+
+    private Article toArticle(ArticleRecord record, Long authorId, LocalDateTime now) {
+        if (record.getTitle() == null || record.getTitle().isBlank()) {
+            throw new IllegalArgumentException("文章标题不能为空");
+        }
+        if (record.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("文章标题不能超过" + MAX_TITLE_LENGTH + "个字符");
+        }
+        if (record.getContent() == null || record.getContent().isBlank()) {
+            throw new IllegalArgumentException("文章内容不能为空");
+        }
+        String status = record.getStatus() != null ? record.getStatus() : "draft";
+        if (!STATUSES.contains(status)) {
+            throw new IllegalArgumentException("不支持的文章状态: " + status);
+        }
+        if ("scheduled".equals(status) && record.getPublishAt() == null) {
+            throw new IllegalArgumentException("定时发布的文章必须指定发布时间");
+        }
+
+        Article article = new Article();
+        article.setTitle(record.getTitle());
+        article.setContent(record.getContent());
+        article.setSummary(record.getSummary() != null && !record.getSummary().isBlank()
+                ? record.getSummary()
+                : MarkdownTextExtractor.summary(record.getContent(), SUMMARY_LENGTH));
+        article.setAuthorId(authorId);
+        article.setStatus(status);
+        article.setCoverImage(record.getCoverImage());
+        article.setCreatedAt(record.getCreatedAt() != null ? record.getCreatedAt() : now);
+        article.setUpdatedAt(record.getUpdatedAt() != null ? record.getUpdatedAt() : article.getCreatedAt());
+        article.setPublishedAt(record.getPublishedAt());
+        if ("published".equals(status) && article.getPublishedAt() == null) {
+            article.setPublishedAt(article.getCreatedAt());
+        } else if ("scheduled".equals(status)) {
+            article.setPublishAt(record.getPublishAt());
+        }
+        markdownRenderer.renderInto(article);
+        return article;
+    }
+
+    private static List<String> normalizeTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return List.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            String name = tag.trim();
+            if (name.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("标签名不能超过" + MAX_TAG_LENGTH + "个字符: " + name);
+            }
+            names.add(name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static class Counts {
+        long processed;
+        long imported;
+        long failed;
+    }
+
+    /**
+     * 待写入的一批文章
+     */
+    private static class Batch {
+        final List<Article> articles = new ArrayList<>();
+        final List<List<String>> tags = new ArrayList<>();
+        final List<Integer> lines = new ArrayList<>();
+        long chars;
+
+        void add(int line, Article article, List<String> tagNames) {
+            articles.add(article);
+            tags.add(tagNames);
+            lines.add(line);
+            chars += article.getContent().length()
+                    + (article.getContentHtml() != null ? article.getContentHtml().length() : 0);
+        }
+
+        int size() {
+            return articles.size();
+        }
+
+        int firstLine() {
+            return lines.get(0);
+        }
+
+        int lastLine() {
+            return lines.get(lines.size() - 1);
+        }
+
+        List<String> tagNames() {
+            Set<String> names = new LinkedHashSet<>();
+            for (List<String> articleTags : tags) {
+                names.addAll(articleTags);
+            }
+            return new ArrayList<>(names);
+        }
+
+        void clear() {
+            articles.clear();
+            tags.clear();
+            lines.clear();
+            chars = 0;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.lin.lin_admin.module.article.transfer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 导入进度，导入过程中以 NDJSON 逐行返回给客户端
+ * type 为 progress（每写入一批）、error（某行或某批失败）或 done（导入结束）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportProgress {
+
+    public static final String PROGRESS = "progress";
+    public static final String ERROR = "error";
+    public static final String DONE = "done";
+
+    private String type;
+    private Integer line;
+    private String message;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+
+    public ImportProgress() {
+    }
+
+    private ImportProgress(String type, Integer line, String message, Long processed, Long imported, Long failed) {
+        this.type = type;
+        this.line = line;
+        this.message = message;
+        this.processed = processed;
+        this.imported = imported;
+        this.failed = failed;
+    }
+
+    /**
+     * @param type progress 或 done
+     * @param processed 已读取的文章数
+     * @param imported 已写入的文章数
+     * @param failed 失败的文章数
+     * @return 计数进度
+     */
+    public static ImportProgress counts(String type, long processed, long imported, long failed) {
+        return new ImportProgress(type, null, null, processed, imported, failed);
+    }
+
+    /**
+     * @param line 出错的行号（从1开始）
+     * @param message 错误信息
+     * @return 错误进度
+     */
+    public static ImportProgress error(int line, String message) {
+        return new ImportProgress(ERROR, line, message, null, null, null);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(Long processed) {
+        this.processed = processed;
+    }
+
+    public Long getImported() {
+        return imported;
+    }
+
+    public void setImported(Long imported) {
+        this.imported = imported;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Long failed) {
+        this.failed = failed;
+    }
+}
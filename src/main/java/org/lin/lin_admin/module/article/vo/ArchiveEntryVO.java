@@ -0,0 +1,45 @@
+package org.lin.lin_admin.module.article.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档中的文章条目
+ */
+public class ArchiveEntryVO {
+    private Long id;
+    private String title;
+    private LocalDateTime publishedAt;
+
+    public ArchiveEntryVO() {
+    }
+
+    public ArchiveEntryVO(Long id, String title, LocalDateTime publishedAt) {
+        this.id = id;
+        this.title = title;
+        this.publishedAt = publishedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package org.lin.lin_admin.module.article.vo;
+
+import java.util.List;
+
+/**
+ * 归档中的一个月份
+ */
+public class ArchiveMonthVO {
+    /**
+     * 月份，格式 yyyy-MM
+     */
+    private String month;
+    private int count;
+    /**
+     * 该月发布的文章，按发布时间倒序
+     */
+    private List<ArchiveEntryVO> articles;
+
+    public ArchiveMonthVO() {
+    }
+
+    public ArchiveMonthVO(String month, List<ArchiveEntryVO> articles) {
+        this.month = month;
+        this.count = articles.size();
+        this.articles = articles;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<ArchiveEntryVO> getArticles() {
+        return articles;
+    }
+
+    public void setArticles(List<ArchiveEntryVO> articles) {
+        this.articles = articles;
+    }
+}
@@ -0,0 +1,81 @@
+package org.lin.lin_admin.module.article.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章搜索结果视图对象
+ */
+public class ArticleSearchVO {
+    private Long id;
+    private String title;
+    private String summary;
+    private LocalDateTime publishedAt;
+    /**
+     * 相关度得分(BM25)
+     */
+    private double score;
+    /**
+     * 标题高亮，命中词以 &lt;em&gt; 包裹，其余内容已做HTML转义
+     */
+    private String highlightedTitle;
+    /**
+     * 正文摘录高亮，命中词以 &lt;em&gt; 包裹，其余内容已做HTML转义
+     */
+    private String snippet;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getHighlightedTitle() {
+        return highlightedTitle;
+    }
+
+    public void setHighlightedTitle(String highlightedTitle) {
+        this.highlightedTitle = highlightedTitle;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -1,6 +1,7 @@
 package org.lin.lin_admin.module.article.vo;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -13,12 +14,23 @@ public class ArticleVO {
     private String title;
     private String summary;
     private String content;
+    private String contentHtml;
+    /**
+     * 标题目录，保存时已序列化为JSON，原样输出
+     */
+    @JsonRawValue
+    private String toc;
+    private Integer wordCount;
+    private Integer readingTime;
     private String authorName;
     private String status;
     private String coverImage;
+    private Long views;
+    private Integer version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
+    private LocalDateTime publishAt;
     private List<String> tags;
 
     public Long getId() {
@@ -53,6 +65,38 @@ public class ArticleVO {
         this.content = content;
     }
 
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public String getToc() {
+        return toc;
+    }
+
+    public void setToc(String toc) {
+        this.toc = toc;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingTime() {
+        return readingTime;
+    }
+
+    public void setReadingTime(Integer readingTime) {
+        this.readingTime = readingTime;
+    }
+
     public String getAuthorName() {
         return authorName;
     }
@@ -77,6 +121,22 @@ public class ArticleVO {
         this.coverImage = coverImage;
     }
 
+    public Long getViews() {
+        return views;
+    }
+
+    public void setViews(Long views) {
+        this.views = views;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -101,6 +161,14 @@ public class ArticleVO {
         this.publishedAt = publishedAt;
     }
 
+    public LocalDateTime getPublishAt() {
+        return publishAt;
+    }
+
+    public void setPublishAt(LocalDateTime publishAt) {
+        this.publishAt = publishAt;
+    }
+
     public List<String> getTags() {
         return tags;
     }
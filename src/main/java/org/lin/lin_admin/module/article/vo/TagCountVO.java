@@ -0,0 +1,43 @@
+package org.lin.lin_admin.module.article.vo;
+
+/**
+ * 标签云中的标签及其已发布文章数量
+ */
+public class TagCountVO {
+    private Long id;
+    private String name;
+    private int count;
+
+    public TagCountVO() {
+    }
+
+    public TagCountVO(Long id, String name, int count) {
+        this.id = id;
+        this.name = name;
+        this.count = count;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,298 @@
+package org.lin.lin_admin.module.snapshot;
+
+import jakarta.annotation.PreDestroy;
+import org.lin.lin_admin.common.response.ApiResponse;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.service.ArticleService;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.lin.lin_admin.module.tool.event.ToolChangedEvent;
+import org.lin.lin_admin.module.tool.service.ToolService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 公开页面静态快照发布
+ * 将 /articles、/articles/{id}、/tools 的响应预先序列化为JSON文件，由 WebConfig 以静态资源方式对外提供：
+ * <ul>
+ *     <li>/snapshots/articles/page-{n}.json 对应 /articles?page={n}&size={snapshot.page-size}</li>
+ *     <li>/snapshots/articles/{id}.json 对应 /articles/{id}</li>
+ *     <li>/snapshots/tools.json 对应 /tools</li>
+ * </ul>
+ * 启动时全量生成；之后在事务提交后按变更增量生成，只重写变更的文章和受影响的列表页；
+ * 批量变更和标签变更后全量重新生成。
+ * 生成在单独的单线程中串行执行，不占用请求线程。
+ */
+@Component
+public class SnapshotPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotPublisher.class);
+
+    private static final String ARTICLE_DIR = "articles";
+    private static final String PAGE_PREFIX = "page-";
+    private static final String JSON_SUFFIX = ".json";
+    private static final String TOOLS_FILE = "tools.json";
+
+    @Autowired
+    private SnapshotStore snapshotStore;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ToolService toolService;
+
+    @Value("${snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${snapshot.page-size:10}")
+    private int pageSize;
+
+    /**
+     * 最多生成的列表页数，更深的页仍由接口提供
+     */
+    @Value("${snapshot.max-pages:20}")
+    private int maxPages;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 应用启动后在后台全量生成快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            submit("全量生成快照", this::publishAll);
+        }
+    }
+
+    /**
+     * 文章变更事务提交后增量生成快照
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (enabled && (event.wasPublished() || event.isPublished())) {
+            submit("更新文章快照 " + event.getArticleId(), () -> publishArticleChange(event));
+        }
+    }
+
+    /**
+     * 批量变更后在后台全量重新生成快照
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesBulkChanged(ArticleBulkChangedEvent event) {
+        if (enabled) {
+            submit("全量生成快照", this::publishAll);
+        }
+    }
+
+    /**
+     * 标签变更后在后台全量重新生成快照
+     * 列表页和详情中都带有标签名称，重命名、删除标签后需要全部重写
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (enabled) {
+            submit("全量生成快照", this::publishAll);
+        }
+    }
+
+    /**
+     * 工具变更后重新生成工具列表快照
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onToolChanged(ToolChangedEvent event) {
+        if (enabled) {
+            submit("更新工具快照", this::publishTools);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 全量生成所有快照，并清理已不存在的文章快照
+     */
+    public void publishAll() {
+        long start = System.currentTimeMillis();
+        Set<String> written = new HashSet<>();
+
+        long lastId = 0;
+        while (true) {
+            List<Article> batch = articleMapper.findPublishedAfterId(lastId, 200);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Article article : batch) {
+                if (publishDetail(article.getId())) {
+                    written.add(article.getId() + JSON_SUFFIX);
+                }
+                lastId = article.getId();
+            }
+        }
+        int pages = publishPages(1);
+        for (int page = 1; page <= pages; page++) {
+            written.add(PAGE_PREFIX + page + JSON_SUFFIX);
+        }
+        for (String name : snapshotStore.list(ARTICLE_DIR)) {
+            if (!written.contains(name)) {
+                snapshotStore.delete(ARTICLE_DIR + "/" + name);
+            }
+        }
+        publishTools();
+        logger.info("快照全量生成完成，文章{}篇，列表{}页，耗时：{}ms",
+                written.size() - pages, pages, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按文章变更增量生成
+     * 发布位置不变的修改只重写所在的一页；新发布、取消发布、删除会使后续文章整体移位，从受影响的页开始重写
+     */
+    private void publishArticleChange(ArticleChangedEvent event) {
+        Long id = event.getArticleId();
+        if (!event.isPublished() || !publishDetail(id)) {
+            snapshotStore.delete(detailPath(id));
+        }
+
+        LocalDateTime beforeAt = event.wasPublished() ? event.getBefore().getPublishedAt() : null;
+        LocalDateTime afterAt = event.isPublished() ? event.getAfter().getPublishedAt() : null;
+        if (event.wasPublished() && event.isPublished() && beforeAt != null && beforeAt.equals(afterAt)) {
+            int page = pageOf(afterAt, id);
+            if (page <= maxPages) {
+                publishPage(page);
+            }
+            return;
+        }
+
+        // 只比较实际存在的发布位置，取消发布或新发布时另一侧没有位置，不能按第一页处理
+        int firstPage = Integer.MAX_VALUE;
+        if (event.wasPublished()) {
+            firstPage = pageOf(beforeAt, id);
+        }
+        if (event.isPublished()) {
+            firstPage = Math.min(firstPage, pageOf(afterAt, id));
+        }
+        if (firstPage <= maxPages) {
+            publishPages(firstPage);
+        }
+    }
+
+    /**
+     * 生成文章详情快照
+     * 不经过详情缓存直接读库，避免读到尚未失效的旧数据
+     * @return 文章仍为已发布状态并已写入时返回true
+     */
+    private boolean publishDetail(Long id) {
+        ArticleVO article = articleService.getById(id);
+        if (article == null || !"published".equals(article.getStatus())) {
+            return false;
+        }
+        snapshotStore.write(detailPath(id), ApiResponse.success(article));
+        return true;
+    }
+
+    /**
+     * 从指定页开始重写列表页，直到最后一页或页数上限，并删除多出来的旧页
+     * @return 当前列表页总数（不超过页数上限）
+     */
+    private int publishPages(int firstPage) {
+        int page = firstPage;
+        while (page <= maxPages && publishPage(page)) {
+            page++;
+        }
+        int lastPage = page - 1;
+        for (String name : snapshotStore.list(ARTICLE_DIR)) {
+            Integer existing = pageNumber(name);
+            if (existing != null && existing > lastPage) {
+                snapshotStore.delete(ARTICLE_DIR + "/" + name);
+            }
+        }
+        // 第一页即使为空也保留，返回空列表
+        if (lastPage == 0) {
+            snapshotStore.write(pagePath(1), ApiResponse.success(List.of()));
+            return 1;
+        }
+        return lastPage;
+    }
+
+    /**
+     * @return 该页有数据并已写入时返回true
+     */
+    private boolean publishPage(int page) {
+        List<ArticleVO> articles = articleService.findAllPublished(page, pageSize);
+        if (articles.isEmpty()) {
+            return false;
+        }
+        snapshotStore.write(pagePath(page), ApiResponse.success(articles));
+        return true;
+    }
+
+    private void publishTools() {
+        snapshotStore.write(TOOLS_FILE, ApiResponse.success(toolService.findAll()));
+    }
+
+    /**
+     * 计算发布位置所在的列表页，位置未知时按第一页处理
+     */
+    private int pageOf(LocalDateTime publishedAt, Long id) {
+        if (publishedAt == null) {
+            return 1;
+        }
+        long index = articleMapper.countPublishedBefore(publishedAt, id);
+        return (int) Math.min(Integer.MAX_VALUE, index / pageSize + 1);
+    }
+
+    private void submit(String name, Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("{}失败", name, e);
+            }
+        });
+    }
+
+    private static String detailPath(Long id) {
+        return ARTICLE_DIR + "/" + id + JSON_SUFFIX;
+    }
+
+    private static String pagePath(int page) {
+        return ARTICLE_DIR + "/" + PAGE_PREFIX + page + JSON_SUFFIX;
+    }
+
+    private static Integer pageNumber(String fileName) {
+        if (!fileName.startsWith(PAGE_PREFIX) || !fileName.endsWith(JSON_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(fileName.substring(PAGE_PREFIX.length(), fileName.length() - JSON_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.lin.lin_admin.module.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态快照文件存储
+ * 将响应体序列化为JSON写入快照目录，可同时写入 .gz 预压缩版本。
+ * 写入先落到临时文件再原子替换，读取方不会看到写了一半的文件。
+ */
+@Component
+public class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${snapshot.dir:snapshots}")
+    private String snapshotDir;
+
+    @Value("${snapshot.gzip:true}")
+    private boolean gzip;
+
+    /**
+     * 写入快照
+     * @param relativePath 相对快照目录的路径，如 articles/1.json
+     * @param body 响应体
+     */
+    public void write(String relativePath, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            Path target = resolve(relativePath);
+            Files.createDirectories(target.getParent());
+            Path gzipped = target.resolveSibling(target.getFileName() + GZIP_SUFFIX);
+            if (gzip) {
+                replace(gzipped, gzip(json));
+            } else {
+                Files.deleteIfExists(gzipped);
+            }
+            replace(target, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入快照失败: " + relativePath, e);
+        }
+    }
+
+    /**
+     * 删除快照及其压缩版本
+     * @param relativePath 相对快照目录的路径
+     */
+    public void delete(String relativePath) {
+        Path target = resolve(relativePath);
+        try {
+            Files.deleteIfExists(target);
+            Files.deleteIfExists(target.resolveSibling(target.getFileName() + GZIP_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException("删除快照失败: " + relativePath, e);
+        }
+    }
+
+    /**
+     * 列出目录下的快照文件名（不含压缩版本）
+     * @param relativeDir 相对快照目录的子目录
+     * @return 文件名列表，目录不存在时返回空列表
+     */
+    public List<String> list(String relativeDir) {
+        Path dir = resolve(relativeDir);
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return names;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path path : stream) {
+                names.add(path.getFileName().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取快照目录失败: " + relativeDir, e);
+        }
+        return names;
+    }
+
+    /**
+     * @return 快照根目录的绝对路径
+     */
+    public Path getRoot() {
+        return Paths.get(snapshotDir).toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String relativePath) {
+        Path root = getRoot();
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("非法的快照路径: " + relativePath);
+        }
+        return path;
+    }
+
+    private static void replace(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".snapshot", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                logger.debug("文件系统不支持原子替换，改为普通替换: {}", target);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+}
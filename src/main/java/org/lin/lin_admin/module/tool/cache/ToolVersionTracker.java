@@ -0,0 +1,31 @@
+package org.lin.lin_admin.module.tool.cache;
+
+import org.lin.lin_admin.module.tool.event.ToolChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 工具列表版本跟踪，工具新增、修改、删除后版本号递增
+ */
+@Component
+public class ToolVersionTracker {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 工具变更后递增版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onToolChanged(ToolChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return 工具列表的当前版本
+     */
+    public long getVersion() {
+        return version.get();
+    }
+}
@@ -1,15 +1,17 @@
 package org.lin.lin_admin.module.tool.controller;
 
+import org.lin.lin_admin.common.cache.EncodedResponseCache;
 import org.lin.lin_admin.common.response.ApiResponse;
-import org.lin.lin_admin.module.tool.dto.ToolDTO;
+import org.lin.lin_admin.module.tool.cache.ToolVersionTracker;
 import org.lin.lin_admin.module.tool.service.ToolService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 /**
  * 工具控制器 - 提供工具相关的API
  */
@@ -20,13 +22,23 @@ public class ToolController {
     @Autowired
     private ToolService toolService;
     
+    @Autowired
+    private ToolVersionTracker toolVersionTracker;
+    
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+    
     /**
      * 获取所有工具
+     * 响应按工具列表版本缓存为已压缩的字节，工具未变化时不查询数据库也不序列化
+     * @param acceptEncoding 客户端支持的压缩编码
      * @return 工具列表
      */
     @GetMapping
-    public ApiResponse<List<ToolDTO>> getAllTools() {
-        List<ToolDTO> tools = toolService.findAll();
-        return ApiResponse.success(tools);
+    public ResponseEntity<byte[]> getAllTools(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encodedResponseCache.get("tools", "", String.valueOf(toolVersionTracker.getVersion()),
+                () -> ApiResponse.success(toolService.findAll()))
+                .toResponseEntity(acceptEncoding);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.lin.lin_admin.module.tool.event;
+
+/**
+ * 工具变更事件
+ * 由工具服务在新增、修改、删除工具后发布。
+ */
+public class ToolChangedEvent {
+
+    private final Long toolId;
+
+    public ToolChangedEvent(Long toolId) {
+        this.toolId = toolId;
+    }
+
+    public Long getToolId() {
+        return toolId;
+    }
+}
@@ -1,10 +1,12 @@
 package org.lin.lin_admin.module.tool.service.impl;
 
 import org.lin.lin_admin.module.tool.dto.ToolDTO;
+import org.lin.lin_admin.module.tool.event.ToolChangedEvent;
 import org.lin.lin_admin.module.tool.mapper.ToolMapper;
 import org.lin.lin_admin.module.tool.model.Tool;
 import org.lin.lin_admin.module.tool.service.ToolService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,9 @@ public class ToolServiceImpl implements ToolService {
     @Autowired
     private ToolMapper toolMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<ToolDTO> findAll() {
         List<Tool> tools = toolMapper.findAll();
@@ -45,6 +50,7 @@ public class ToolServiceImpl implements ToolService {
         tool.setLink(link);
         
         toolMapper.insert(tool);
+        eventPublisher.publishEvent(new ToolChangedEvent(tool.getId()));
         return convertToDTO(tool);
     }
 
@@ -57,6 +63,7 @@ public class ToolServiceImpl implements ToolService {
             tool.setLink(toolDTO.getLink());
             
             toolMapper.update(tool);
+            eventPublisher.publishEvent(new ToolChangedEvent(id));
             return convertToDTO(tool);
         }
         return null;
@@ -65,6 +72,7 @@ public class ToolServiceImpl implements ToolService {
     @Override
     public void delete(Long id) {
         toolMapper.deleteById(id);
+        eventPublisher.publishEvent(new ToolChangedEvent(id));
     }
     
     /**
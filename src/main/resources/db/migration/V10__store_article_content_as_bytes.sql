@@ -0,0 +1,3 @@
+-- 正文改为字节存储，较长的正文由 ArticleContentCodec 压缩后写入
+-- 现有 TEXT 数据按 UTF-8 字节原样保留，读取时按未编码文本处理；可调用 POST /admin/articles/storage/compress 压缩历史正文
+ALTER TABLE articles MODIFY content MEDIUMBLOB NOT NULL COMMENT '正文（Markdown，UTF-8；较长的正文以 Deflate 压缩并带格式标记）';
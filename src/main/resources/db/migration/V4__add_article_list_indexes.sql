@@ -0,0 +1,3 @@
+-- 文章列表索引：已发布文章按发布时间倒序的游标分页，以及按状态+创建时间的后台列表
+ALTER TABLE articles ADD INDEX idx_articles_status_published (status, published_at, id);
+ALTER TABLE articles ADD INDEX idx_articles_status_created (status, created_at);
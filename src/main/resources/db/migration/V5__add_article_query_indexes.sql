@@ -0,0 +1,3 @@
+-- 后台文章列表的多条件查询索引：按作者筛选，以及不限状态时按创建时间倒序分页
+ALTER TABLE articles ADD INDEX idx_articles_author_created (author_id, created_at);
+ALTER TABLE articles ADD INDEX idx_articles_created (created_at);
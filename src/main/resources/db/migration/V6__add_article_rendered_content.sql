@@ -0,0 +1,5 @@
+-- 保存时预渲染的正文HTML、标题目录、字数和阅读时间；历史文章由 ArticleRenderBackfillJob 回填
+ALTER TABLE articles ADD COLUMN content_html MEDIUMTEXT COMMENT '渲染后的正文HTML' AFTER content;
+ALTER TABLE articles ADD COLUMN toc TEXT COMMENT '标题目录(JSON)' AFTER content_html;
+ALTER TABLE articles ADD COLUMN word_count INT COMMENT '字数' AFTER toc;
+ALTER TABLE articles ADD COLUMN reading_time INT COMMENT '预计阅读时间(分钟)' AFTER word_count;
@@ -0,0 +1,2 @@
+-- 文章浏览量，由 ArticleViewCounter 在内存中累加后定期批量写入
+ALTER TABLE articles ADD COLUMN views BIGINT NOT NULL DEFAULT 0 COMMENT '浏览量' AFTER cover_image;
@@ -0,0 +1,2 @@
+-- 乐观锁版本号，每次修改文章时加一，更新语句以 id 和 version 为条件
+ALTER TABLE articles ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER views;
@@ -0,0 +1,3 @@
+-- 定时发布：status = 'scheduled' 的文章在 publish_at 到达时由 ArticlePublishScheduler 改为已发布
+ALTER TABLE articles ADD COLUMN publish_at TIMESTAMP NULL COMMENT '定时发布时间' AFTER published_at;
+ALTER TABLE articles ADD INDEX idx_articles_status_publish_at (status, publish_at);
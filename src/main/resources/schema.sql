@@ -19,13 +19,25 @@ CREATE TABLE IF NOT EXISTS articles (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     title VARCHAR(255) NOT NULL COMMENT '标题',
     summary VARCHAR(500) COMMENT '文章摘要',
-    content TEXT NOT NULL COMMENT '正文（Markdown）',
+    content MEDIUMBLOB NOT NULL COMMENT '正文（Markdown，UTF-8；较长的正文以 Deflate 压缩并带格式标记）',
+    content_html MEDIUMTEXT COMMENT '渲染后的正文HTML',
+    toc TEXT COMMENT '标题目录(JSON)',
+    word_count INT COMMENT '字数',
+    reading_time INT COMMENT '预计阅读时间(分钟)',
     author_id BIGINT NOT NULL COMMENT '作者用户ID',
-    status VARCHAR(20) NOT NULL DEFAULT 'draft' COMMENT '状态：draft|published',
+    status VARCHAR(20) NOT NULL DEFAULT 'draft' COMMENT '状态：draft|published|archived|scheduled',
     cover_image VARCHAR(255) COMMENT '封面图片URL',
+    views BIGINT NOT NULL DEFAULT 0 COMMENT '浏览量',
+    version INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    published_at TIMESTAMP NULL COMMENT '发布时间，发布时填写'
+    published_at TIMESTAMP NULL COMMENT '发布时间，发布时填写',
+    publish_at TIMESTAMP NULL COMMENT '定时发布时间',
+    INDEX idx_articles_status_published (status, published_at, id),
+    INDEX idx_articles_status_created (status, created_at),
+    INDEX idx_articles_status_publish_at (status, publish_at),
+    INDEX idx_articles_author_created (author_id, created_at),
+    INDEX idx_articles_created (created_at)
 );
 
 -- 创建标签表
@@ -0,0 +1,91 @@
+package org.lin.lin_admin.common.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 预压缩响应的编码协商单元测试
+ */
+class EncodedResponseTest {
+
+    private static final byte[] JSON = ("{\"code\":200,\"message\":\"success\",\"data\":["
+            + "{\"id\":1,\"title\":\"文章标题\",\"summary\":\"摘要\"},".repeat(50) + "{}]}").getBytes(StandardCharsets.UTF_8);
+
+    private final EncodedResponse response = EncodedResponse.of(JSON, 256);
+
+    @Test
+    void negotiatesByQualityWithGzipPreferredOnTie() {
+        assertEquals(EncodedResponse.IDENTITY, response.negotiate(null));
+        assertEquals(EncodedResponse.IDENTITY, response.negotiate(""));
+        assertEquals(EncodedResponse.GZIP, response.negotiate("gzip, deflate, br"));
+        assertEquals(EncodedResponse.DEFLATE, response.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(EncodedResponse.DEFLATE, response.negotiate("deflate"));
+        assertEquals(EncodedResponse.GZIP, response.negotiate("*"));
+        assertEquals(EncodedResponse.DEFLATE, response.negotiate("gzip;q=0, *;q=0.1"));
+        assertEquals(EncodedResponse.IDENTITY, response.negotiate("gzip;q=0, deflate;q=0"));
+        assertEquals(EncodedResponse.IDENTITY, response.negotiate("br"));
+    }
+
+    @Test
+    void explicitRefusalsAreHonoured() {
+        assertEquals(EncodedResponse.GZIP, response.negotiate("identity;q=0, gzip"));
+        assertEquals(EncodedResponse.DEFLATE, response.negotiate("*;q=0, deflate;q=0.5"));
+        assertEquals(EncodedResponse.IDENTITY, response.negotiate("*;q=0, identity"));
+        assertNull(response.negotiate("identity;q=0"));
+        assertNull(response.negotiate("*;q=0"));
+        assertNull(response.negotiate("gzip;q=0, deflate;q=0, identity;q=0"));
+
+        // 未压缩的小响应只有 identity，被拒绝时没有可用编码
+        EncodedResponse small = EncodedResponse.of("{}".getBytes(StandardCharsets.UTF_8), 256);
+        assertNull(small.negotiate("gzip, identity;q=0"));
+
+        ResponseEntity<byte[]> refused = small.toResponseEntity("gzip, *;q=0");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, refused.getStatusCode());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, refused.getHeaders().getFirst(HttpHeaders.VARY));
+        assertNull(refused.getBody());
+    }
+
+    @Test
+    void writesStoredBytesForChosenEncoding() throws IOException {
+        ResponseEntity<byte[]> gzip = response.toResponseEntity("gzip");
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(gzip.getBody().length, gzip.getHeaders().getContentLength());
+        assertArrayEquals(JSON, readAll(new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))));
+
+        ResponseEntity<byte[]> deflate = response.toResponseEntity("deflate");
+        assertEquals("deflate", deflate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(JSON, readAll(new InflaterInputStream(new ByteArrayInputStream(deflate.getBody()))));
+
+        ResponseEntity<byte[]> identity = response.toResponseEntity(null);
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(JSON, identity.getBody());
+    }
+
+    @Test
+    void smallResponsesAreNotCompressed() {
+        byte[] small = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+        EncodedResponse encoded = EncodedResponse.of(small, 256);
+        assertEquals(EncodedResponse.IDENTITY, encoded.negotiate("gzip, deflate"));
+        assertEquals(small.length, encoded.weight());
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.lin.lin_admin.module.article.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章归档时间线单元测试
+ */
+class ArticleArchiveTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2024, 1, 10, 8, 0);
+    private static final LocalDateTime FEB = LocalDateTime.of(2024, 2, 5, 8, 0);
+    private static final LocalDateTime MAR = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ArticleMapper articleMapper;
+
+    private ArticleArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.findPublishedTimeline()).thenReturn(List.of(
+                summary(1L, "一月", JAN),
+                summary(2L, "二月", FEB),
+                summary(3L, "二月下旬", FEB.plusDays(20))));
+        archive = new ArticleArchive();
+        ReflectionTestUtils.setField(archive, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(archive, "objectMapper", objectMapper);
+        archive.reload();
+    }
+
+    @Test
+    void reloadGroupsByMonthNewestFirst() throws IOException {
+        Map<String, List<Long>> months = months();
+
+        assertEquals(List.of("2024-02", "2024-01"), new ArrayList<>(months.keySet()));
+        assertEquals(List.of(3L, 2L), months.get("2024-02"));
+        assertEquals(List.of(1L), months.get("2024-01"));
+    }
+
+    @Test
+    void publishAddsToMonth() throws IOException {
+        archive.onArticleChanged(ArticleChangedEvent.created(article(4L, "三月", "published", MAR), List.of()));
+
+        Map<String, List<Long>> months = months();
+        assertEquals(List.of("2024-03", "2024-02", "2024-01"), new ArrayList<>(months.keySet()));
+        assertEquals(List.of(4L), months.get("2024-03"));
+    }
+
+    @Test
+    void changedPublishTimeMovesArticleAndDropsEmptyMonth() throws IOException {
+        Article before = article(1L, "一月", "published", JAN);
+        Article after = article(1L, null, "published", MAR);
+
+        archive.onArticleChanged(ArticleChangedEvent.updated(before, after, null, null));
+
+        Map<String, List<Long>> months = months();
+        assertEquals(List.of("2024-03", "2024-02"), new ArrayList<>(months.keySet()));
+        assertEquals(List.of(1L), months.get("2024-03"));
+        // 事件中没有标题时沿用原标题
+        assertEquals("一月", archiveJson().get("data").get(0).get("articles").get(0).get("title").asText());
+    }
+
+    @Test
+    void archiveAndDeleteRemoveArticle() throws IOException {
+        Article archived = article(2L, "二月", "archived", null);
+        archive.onArticleChanged(ArticleChangedEvent.updated(article(2L, "二月", "published", FEB), archived, null, null));
+        archive.onArticleChanged(ArticleChangedEvent.deleted(article(1L, "一月", "published", JAN), List.of()));
+
+        Map<String, List<Long>> months = months();
+        assertEquals(List.of("2024-02"), new ArrayList<>(months.keySet()));
+        assertEquals(List.of(3L), months.get("2024-02"));
+        assertEquals(1, archiveJson().get("data").get(0).get("count").asInt());
+    }
+
+    @Test
+    void draftChangesKeepSerializedResponse() {
+        byte[] json = archive.getJson();
+        assertSame(json, archive.getJson());
+
+        archive.onArticleChanged(ArticleChangedEvent.created(article(5L, "草稿", "draft", null), List.of()));
+        assertSame(json, archive.getJson());
+
+        archive.onArticleChanged(ArticleChangedEvent.created(article(6L, "新文章", "published", MAR), List.of()));
+        assertNotSame(json, archive.getJson());
+    }
+
+    @Test
+    void bulkChangeReloadsFromDatabase() throws IOException {
+        when(articleMapper.findPublishedTimeline()).thenReturn(List.of(summary(7L, "导入", MAR)));
+
+        archive.onArticlesBulkChanged(new ArticleBulkChangedEvent("导入文章", 1));
+
+        assertEquals(Map.of("2024-03", List.of(7L)), months());
+    }
+
+    private JsonNode archiveJson() throws IOException {
+        return objectMapper.readTree(archive.getJson());
+    }
+
+    private Map<String, List<Long>> months() throws IOException {
+        Map<String, List<Long>> months = new LinkedHashMap<>();
+        for (JsonNode month : archiveJson().get("data")) {
+            List<Long> ids = new ArrayList<>();
+            month.get("articles").forEach(entry -> ids.add(entry.get("id").asLong()));
+            assertEquals(ids.size(), month.get("count").asInt());
+            months.put(month.get("month").asText(), ids);
+        }
+        return months;
+    }
+
+    private static ArticleSummary summary(Long id, String title, LocalDateTime publishedAt) {
+        ArticleSummary summary = new ArticleSummary();
+        summary.setId(id);
+        summary.setTitle(title);
+        summary.setStatus("published");
+        summary.setPublishedAt(publishedAt);
+        return summary;
+    }
+
+    private static Article article(Long id, String title, String status, LocalDateTime publishedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setStatus(status);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+}
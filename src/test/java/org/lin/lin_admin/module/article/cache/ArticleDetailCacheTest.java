@@ -0,0 +1,104 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章详情缓存单元测试
+ */
+class ArticleDetailCacheTest {
+
+    @Test
+    void secondReadIsServedFromCache() {
+        ArticleDetailCache cache = new ArticleDetailCache(100, 1024 * 1024, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        ArticleVO first = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return article(id);
+        });
+        ArticleVO second = cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return article(id);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.stats().get("hitCount"));
+        assertEquals(1L, cache.stats().get("missCount"));
+    }
+
+    @Test
+    void missingArticleIsNotCached() {
+        ArticleDetailCache cache = new ArticleDetailCache(100, 1024 * 1024, 60);
+
+        assertNull(cache.get(1L, id -> null));
+        assertNull(cache.getIfPresent(1L));
+        assertNotNull(cache.get(1L, ArticleDetailCacheTest::article));
+    }
+
+    @Test
+    void articleChangeInvalidatesOnlyThatArticle() {
+        ArticleDetailCache cache = new ArticleDetailCache(100, 1024 * 1024, 60);
+        cache.get(1L, ArticleDetailCacheTest::article);
+        cache.get(2L, ArticleDetailCacheTest::article);
+
+        Article changed = new Article();
+        changed.setId(1L);
+        changed.setStatus("published");
+        cache.onArticleChanged(ArticleChangedEvent.updated(changed, changed, null, null));
+
+        assertNull(cache.getIfPresent(1L));
+        assertNotNull(cache.getIfPresent(2L));
+    }
+
+    @Test
+    void tagChangeInvalidatesEverything() {
+        ArticleDetailCache cache = new ArticleDetailCache(100, 1024 * 1024, 60);
+        cache.get(1L, ArticleDetailCacheTest::article);
+        cache.get(2L, ArticleDetailCacheTest::article);
+
+        cache.onTagChanged(new TagChangedEvent(5L));
+
+        assertNull(cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+    }
+
+    @Test
+    void entryCountIsBoundedByMaxSize() throws InterruptedException {
+        // 每个条目的最小权重为 maxWeight / maxSize，条目再小也最多保留 maxSize 个
+        ArticleDetailCache cache = new ArticleDetailCache(2, 1024 * 1024, 60);
+        for (long id = 1; id <= 20; id++) {
+            cache.get(id, ArticleDetailCacheTest::article);
+        }
+
+        // Caffeine 在后台线程执行淘汰
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((long) cache.stats().get("size") > 2 && System.currentTimeMillis() < deadline) {
+            cache.getIfPresent(1L);
+            Thread.sleep(10);
+        }
+        assertTrue((long) cache.stats().get("size") <= 2);
+        assertTrue((long) cache.stats().get("evictionCount") >= 18);
+    }
+
+    private static ArticleVO article(Long id) {
+        ArticleVO article = new ArticleVO();
+        article.setId(id);
+        article.setTitle("文章" + id);
+        article.setTags(List.of("java"));
+        return article;
+    }
+}
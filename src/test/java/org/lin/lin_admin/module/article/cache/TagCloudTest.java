@@ -0,0 +1,82 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.lin.lin_admin.module.article.search.ArticleTagIndex;
+import org.lin.lin_admin.module.article.vo.TagCountVO;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 标签云单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TagCloudTest {
+
+    @Mock
+    private ArticleTagIndex articleTagIndex;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @InjectMocks
+    private TagCloud tagCloud;
+
+    @Test
+    void buildsCountsFromTagIndexWithoutCountQueries() {
+        when(tagDictionary.findAll()).thenReturn(List.of(tag(1L, "java"), tag(2L, "go"), tag(3L, "unused"), tag(4L, "rust")));
+        when(articleTagIndex.count(1L)).thenReturn(3);
+        when(articleTagIndex.count(2L)).thenReturn(5);
+        when(articleTagIndex.count(3L)).thenReturn(0);
+        when(articleTagIndex.count(4L)).thenReturn(3);
+
+        List<TagCountVO> cloud = tagCloud.build();
+
+        assertEquals(List.of("go", "java", "rust"), cloud.stream().map(TagCountVO::getName).toList());
+        assertEquals(List.of(5, 3, 3), cloud.stream().map(TagCountVO::getCount).toList());
+        verify(tagDictionary).findAll();
+        verifyNoMoreInteractions(tagDictionary);
+    }
+
+    @Test
+    void versionChangesOnlyWhenPublishedArticlesOrTagsChange() {
+        String etag = tagCloud.etag();
+
+        tagCloud.onArticleChanged(ArticleChangedEvent.updated(article("draft"), article("draft"), null, null));
+        assertEquals(etag, tagCloud.etag());
+
+        tagCloud.onArticleChanged(ArticleChangedEvent.updated(article("draft"), article("published"), null, null));
+        String published = tagCloud.etag();
+        assertNotEquals(etag, published);
+
+        tagCloud.onTagChanged(new TagChangedEvent(1L));
+        assertNotEquals(published, tagCloud.etag());
+    }
+
+    private static Tag tag(Long id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static Article article(String status) {
+        Article article = new Article();
+        article.setId(1L);
+        article.setStatus(status);
+        return article;
+    }
+}
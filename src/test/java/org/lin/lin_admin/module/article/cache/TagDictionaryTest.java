@@ -0,0 +1,78 @@
+package org.lin.lin_admin.module.article.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 标签字典单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TagDictionaryTest {
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @InjectMocks
+    private TagDictionary tagDictionary;
+
+    @Test
+    void lookupsReadSnapshotLoadedOnce() {
+        when(tagMapper.findAll()).thenReturn(List.of(tag(2L, "go"), tag(1L, "java")));
+
+        assertEquals("java", tagDictionary.findById(1L).getName());
+        assertEquals(2L, tagDictionary.findByName("go").getId());
+        assertNull(tagDictionary.findById(3L));
+        assertNull(tagDictionary.findByName("rust"));
+        assertEquals("go", tagDictionary.nameOf(2L));
+        assertNull(tagDictionary.nameOf(3L));
+        assertEquals(List.of(1L, 2L), tagDictionary.findAll().stream().map(Tag::getId).toList());
+        assertEquals(List.of(2L, 1L), tagDictionary.filterExisting(List.of(2L, 3L, 1L)));
+        assertEquals(List.of("go", "java"), tagDictionary.names(List.of(2L, 3L, 1L)));
+
+        verify(tagMapper, times(1)).findAll();
+        verifyNoMoreInteractions(tagMapper);
+    }
+
+    @Test
+    void returnedTagsDoNotModifySnapshot() {
+        when(tagMapper.findAll()).thenReturn(List.of(tag(1L, "java")));
+
+        tagDictionary.findById(1L).setName("changed");
+        tagDictionary.findAll().get(0).setName("changed");
+
+        assertEquals("java", tagDictionary.findById(1L).getName());
+        assertEquals(1L, tagDictionary.findByName("java").getId());
+    }
+
+    @Test
+    void tagChangeSwapsSnapshot() {
+        when(tagMapper.findAll()).thenReturn(List.of(tag(1L, "java")));
+        assertEquals(1L, tagDictionary.findByName("java").getId());
+
+        when(tagMapper.findAll()).thenReturn(List.of(tag(1L, "kotlin"), tag(2L, "go")));
+        tagDictionary.onTagChanged(new TagChangedEvent(1L));
+
+        assertNull(tagDictionary.findByName("java"));
+        assertEquals(1L, tagDictionary.findByName("kotlin").getId());
+        assertEquals(List.of("kotlin", "go"), tagDictionary.names(List.of(1L, 2L)));
+    }
+
+    private static Tag tag(Long id, String name) {
+        return new Tag(id, name);
+    }
+}
@@ -0,0 +1,242 @@
+package org.lin.lin_admin.module.article.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.common.cache.EncodedResponseCache;
+import org.lin.lin_admin.common.paging.CursorPage;
+import org.lin.lin_admin.module.article.cache.ArticleArchive;
+import org.lin.lin_admin.module.article.cache.ArticleVersionTracker;
+import org.lin.lin_admin.module.article.counter.ArticleViewCounter;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.search.ArticleSearchIndex;
+import org.lin.lin_admin.module.article.service.ArticleService;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 公开文章控制器条件请求测试
+ * 列表与归档按列表版本校验，详情按文章更新时间校验
+ */
+class PublicArticleControllerTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    private ArticleService articleService;
+
+    private ArticleArchive articleArchive;
+
+    private ArticleVersionTracker articleVersionTracker;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        articleService = mock(ArticleService.class);
+        articleArchive = mock(ArticleArchive.class);
+        articleVersionTracker = new ArticleVersionTracker();
+        EncodedResponseCache encodedResponseCache = new EncodedResponseCache(1024 * 1024, 60, 256);
+        ReflectionTestUtils.setField(encodedResponseCache, "objectMapper",
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        PublicArticleController controller = new PublicArticleController();
+        ReflectionTestUtils.setField(controller, "articleService", articleService);
+        ReflectionTestUtils.setField(controller, "articleSearchIndex", mock(ArticleSearchIndex.class));
+        ReflectionTestUtils.setField(controller, "articleVersionTracker", articleVersionTracker);
+        ReflectionTestUtils.setField(controller, "articleArchive", articleArchive);
+        ReflectionTestUtils.setField(controller, "articleViewCounter", mock(ArticleViewCounter.class));
+        ReflectionTestUtils.setField(controller, "encodedResponseCache", encodedResponseCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(articleService.findAllPublished(1, 10)).thenReturn(List.of(article(1L, UPDATED)));
+        when(articleArchive.getJson()).thenReturn("{\"code\":200}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void listIsNotModifiedUntilVersionBumps() throws Exception {
+        String etag = mockMvc.perform(get("/articles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/articles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // 草稿变更不影响公开列表
+        articleVersionTracker.onArticleChanged(ArticleChangedEvent.created(published(2L, "draft"), List.of()));
+        mockMvc.perform(get("/articles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        articleVersionTracker.onArticleChanged(ArticleChangedEvent.created(published(2L, "published"), List.of()));
+        String bumped = mockMvc.perform(get("/articles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, bumped);
+        // 版本变化后缓存键随之变化，重新查询列表
+        verify(articleService, times(2)).findAllPublished(1, 10);
+    }
+
+    @Test
+    void archiveSharesListVersion() throws Exception {
+        String etag = mockMvc.perform(get("/articles/archive"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/articles/archive").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(articleArchive, times(1)).getJson();
+
+        articleVersionTracker.onArticleChanged(ArticleChangedEvent.deleted(published(1L, "published"), List.of()));
+        mockMvc.perform(get("/articles/archive").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void detailETagFollowsUpdatedAt() throws Exception {
+        when(articleService.getPublishedUpdatedAt(1L)).thenReturn(UPDATED);
+        when(articleService.getPublishedById(1L)).thenReturn(article(1L, UPDATED));
+
+        String etag = mockMvc.perform(get("/articles/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/articles/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(articleService, times(1)).getPublishedById(1L);
+
+        LocalDateTime changed = UPDATED.plusMinutes(5);
+        when(articleService.getPublishedUpdatedAt(1L)).thenReturn(changed);
+        when(articleService.getPublishedById(1L)).thenReturn(article(1L, changed));
+        String bumped = mockMvc.perform(get("/articles/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, bumped);
+    }
+
+    @Test
+    void detailIsNotModifiedSinceLastModified() throws Exception {
+        when(articleService.getPublishedUpdatedAt(1L)).thenReturn(UPDATED);
+
+        // 详情的最后变更时间不早于本次启动时间
+        mockMvc.perform(get("/articles/1").header(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 1000))
+                .andExpect(status().isNotModified());
+        verify(articleService, never()).getPublishedById(1L);
+    }
+
+    @Test
+    void tagChangeInvalidatesListAndDetailValidators() throws Exception {
+        when(articleService.getPublishedUpdatedAt(1L)).thenReturn(UPDATED);
+        when(articleService.getPublishedById(1L)).thenReturn(article(1L, UPDATED));
+        String listETag = mockMvc.perform(get("/articles"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String detailETag = mockMvc.perform(get("/articles/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 标签重命名不修改文章更新时间，但标签名称已变化
+        articleVersionTracker.onTagChanged(new TagChangedEvent(1L));
+
+        String newListETag = mockMvc.perform(get("/articles").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String newDetailETag = mockMvc.perform(get("/articles/1").header(HttpHeaders.IF_NONE_MATCH, detailETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(listETag, newListETag);
+        assertNotEquals(detailETag, newDetailETag);
+        mockMvc.perform(get("/articles/archive").header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/articles/1").header(HttpHeaders.IF_NONE_MATCH, newDetailETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void tagChangeIsNotServedFromEncodedResponseCache() throws Exception {
+        ArticleVO detail = article(1L, UPDATED);
+        detail.setTags(List.of("java"));
+        when(articleService.getPublishedUpdatedAt(1L)).thenReturn(UPDATED);
+        when(articleService.getPublishedById(1L)).thenReturn(detail);
+        when(articleService.findAllPublished(1, 10)).thenReturn(List.of(detail));
+        mockMvc.perform(get("/articles/1")).andExpect(jsonPath("$.data.tags[0]").value("java"));
+        mockMvc.perform(get("/articles")).andExpect(jsonPath("$.data[0].tags[0]").value("java"));
+
+        ArticleVO renamed = article(1L, UPDATED);
+        renamed.setTags(List.of("kotlin"));
+        when(articleService.getPublishedById(1L)).thenReturn(renamed);
+        when(articleService.findAllPublished(1, 10)).thenReturn(List.of(renamed));
+        articleVersionTracker.onTagChanged(new TagChangedEvent(1L));
+
+        mockMvc.perform(get("/articles/1")).andExpect(jsonPath("$.data.tags[0]").value("kotlin"));
+        mockMvc.perform(get("/articles")).andExpect(jsonPath("$.data[0].tags[0]").value("kotlin"));
+    }
+
+    @Test
+    void invalidPageOrSizeIsRejectedBeforeQuerying() throws Exception {
+        mockMvc.perform(get("/articles").param("page", "0"))
+                .andExpect(jsonPath("$.code").value(400));
+        mockMvc.perform(get("/articles").param("size", "-1"))
+                .andExpect(jsonPath("$.code").value(400));
+        mockMvc.perform(get("/articles").param("after", "").param("size", "0"))
+                .andExpect(jsonPath("$.code").value(400));
+
+        verifyNoInteractions(articleService);
+    }
+
+    @Test
+    void oversizedPagesShareOneClampedCacheEntry() throws Exception {
+        when(articleService.findAllPublished(1000, 100)).thenReturn(List.of());
+        when(articleService.findPublishedAfter("", 100)).thenReturn(new CursorPage<>(List.of(), 100, false, null));
+
+        mockMvc.perform(get("/articles").param("page", "5000").param("size", "100000")).andExpect(status().isOk());
+        mockMvc.perform(get("/articles").param("page", "1001").param("size", "101")).andExpect(status().isOk());
+        mockMvc.perform(get("/articles").param("after", "").param("size", "500")).andExpect(status().isOk());
+        mockMvc.perform(get("/articles").param("after", "").param("size", "100")).andExpect(status().isOk());
+
+        // 限制范围后的参数相同，只查询一次，其余请求命中同一缓存条目
+        verify(articleService, times(1)).findAllPublished(1000, 100);
+        verify(articleService, times(1)).findPublishedAfter("", 100);
+        verifyNoMoreInteractions(articleService);
+    }
+
+    private static ArticleVO article(Long id, LocalDateTime updatedAt) {
+        ArticleVO article = new ArticleVO();
+        article.setId(id);
+        article.setTitle("文章" + id);
+        article.setStatus("published");
+        article.setUpdatedAt(updatedAt);
+        return article;
+    }
+
+    private static Article published(Long id, String status) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedAt(UPDATED);
+        return article;
+    }
+}
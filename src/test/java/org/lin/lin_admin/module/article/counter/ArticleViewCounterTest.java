@@ -0,0 +1,174 @@
+package org.lin.lin_admin.module.article.counter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.ArticleViews;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 浏览量计数器和热门统计单元测试
+ */
+class ArticleViewCounterTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.findMostViewed(3)).thenReturn(List.of(new ArticleViews(1L, 100), new ArticleViews(2L, 50)));
+        counter = new ArticleViewCounter();
+        ReflectionTestUtils.setField(counter, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(counter, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(counter, "popularCapacity", 3);
+        counter.reloadPopular();
+        stubAddViews();
+    }
+
+    /**
+     * 写入时所有文章都存在，影响行数等于文章数
+     */
+    private void stubAddViews() {
+        when(articleMapper.addViews(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesOnlyNewViewsInBatches() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4000; i++) {
+            long id = i % 3 + 2;
+            executor.execute(() -> counter.increment(id));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        counter.flush();
+
+        ArgumentCaptor<List<ArticleViews>> captor = ArgumentCaptor.forClass(List.class);
+        verify(articleMapper, times(2)).addViews(captor.capture());
+        Map<Long, Long> written = new HashMap<>();
+        for (List<ArticleViews> batch : captor.getAllValues()) {
+            assertTrue(batch.size() <= 2);
+            for (ArticleViews delta : batch) {
+                written.merge(delta.getId(), delta.getViews(), Long::sum);
+            }
+        }
+        assertEquals(Map.of(2L, 1334L, 3L, 1333L, 4L, 1333L), written);
+        assertEquals(0, counter.getUnflushed(2L));
+
+        // 没有新的浏览时不执行写入
+        reset(articleMapper);
+        counter.flush();
+        verify(articleMapper, never()).addViews(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushIsRetried() {
+        counter.increment(5L);
+        doThrow(new RuntimeException("db down")).when(articleMapper).addViews(anyList());
+        counter.flush();
+        assertEquals(1, counter.getUnflushed(5L));
+
+        reset(articleMapper);
+        stubAddViews();
+        counter.increment(5L);
+        counter.flush();
+        ArgumentCaptor<List<ArticleViews>> captor = ArgumentCaptor.forClass(List.class);
+        verify(articleMapper).addViews(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2, captor.getValue().get(0).getViews());
+        assertEquals(0, counter.getUnflushed(5L));
+    }
+
+    @Test
+    void popularFollowsFlushedViews() {
+        assertEquals(List.of(1L, 2L), counter.getPopular(10));
+
+        for (int i = 0; i < 60; i++) {
+            counter.increment(2L);
+        }
+        counter.increment(7L);
+        counter.flush();
+        assertEquals(List.of(2L, 1L, 7L), counter.getPopular(10));
+
+        // 已满时新文章替换计数最小的文章
+        for (int i = 0; i < 5; i++) {
+            counter.increment(8L);
+        }
+        counter.flush();
+        assertEquals(List.of(2L, 1L, 8L), counter.getPopular(10));
+        assertEquals(List.of(2L), counter.getPopular(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countersOfDeletedArticlesAreDroppedOnFlush() {
+        for (int i = 0; i < 60; i++) {
+            counter.increment(2L);
+        }
+        counter.increment(9L);
+        counter.flush();
+        assertEquals(List.of(2L, 1L, 9L), counter.getPopular(10));
+
+        // 文章2在两次写入之间被删除，删除后仍有浏览计入
+        counter.increment(2L);
+        counter.increment(9L);
+        when(articleMapper.addViews(anyList())).thenReturn(1);
+        when(articleMapper.findExistingIds(anyList())).thenReturn(List.of(9L));
+        counter.flush();
+
+        assertEquals(0, counter.getUnflushed(2L));
+        assertEquals(List.of(1L, 9L), counter.getPopular(10));
+        Map<Long, ?> counters = (Map<Long, ?>) ReflectionTestUtils.getField(counter, "counters");
+        assertEquals(Set.of(9L), counters.keySet());
+
+        // 下次写入不再包含已删除的文章
+        reset(articleMapper);
+        stubAddViews();
+        counter.increment(9L);
+        counter.flush();
+        ArgumentCaptor<List<ArticleViews>> captor = ArgumentCaptor.forClass(List.class);
+        verify(articleMapper).addViews(captor.capture());
+        assertEquals(List.of(9L), captor.getValue().stream().map(ArticleViews::getId).toList());
+        verify(articleMapper, never()).findExistingIds(anyList());
+    }
+
+    @Test
+    void spaceSavingKeepsErrorBound() {
+        SpaceSavingTopK sketch = new SpaceSavingTopK(2);
+        sketch.add(1, 10);
+        sketch.add(2, 3);
+        sketch.add(3, 1);
+        assertEquals(List.of(1L, 3L), sketch.top(2));
+        assertEquals(4, sketch.estimate(3));
+        assertEquals(3, sketch.error(3));
+        assertEquals(0, sketch.estimate(2));
+
+        sketch.remove(1);
+        assertEquals(List.of(3L), sketch.top(2));
+    }
+}
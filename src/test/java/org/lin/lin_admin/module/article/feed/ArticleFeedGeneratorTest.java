@@ -0,0 +1,140 @@
+package org.lin.lin_admin.module.article.feed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 订阅与站点地图生成器单元测试
+ */
+class ArticleFeedGeneratorTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    private ArticleMapper articleMapper;
+
+    private ArticleFeedGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.findSitemapEntries()).thenReturn(List.of(
+                summary(1L, "第一篇"), summary(2L, "第二篇"), summary(3L, "第三篇")));
+        when(articleMapper.findAllPublished(0, 20)).thenReturn(List.of(summary(3L, "第三篇"), summary(2L, "第二篇")));
+        generator = new ArticleFeedGenerator();
+        ReflectionTestUtils.setField(generator, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(generator, "siteUrl", "https://example.com");
+        ReflectionTestUtils.setField(generator, "siteTitle", "Lin Blog");
+        ReflectionTestUtils.setField(generator, "siteDescription", "");
+        ReflectionTestUtils.setField(generator, "articlePath", "/articles/");
+        ReflectionTestUtils.setField(generator, "feedSize", 20);
+        ReflectionTestUtils.setField(generator, "sitemapMaxUrls", 2);
+        generator.reload();
+    }
+
+    @Test
+    void feedsAreCachedUntilPublishedArticleChanges() {
+        FeedDocument rss = generator.getRss();
+        FeedDocument atom = generator.getAtom();
+        assertSame(rss, generator.getRss());
+        assertSame(atom, generator.getAtom());
+        assertTrue(body(rss).contains("<link>https://example.com/articles/3</link>"));
+
+        generator.onArticleChanged(ArticleChangedEvent.created(article(9L, "draft"), List.of()));
+        assertSame(rss, generator.getRss());
+
+        when(articleMapper.findAllPublished(0, 20)).thenReturn(List.of(summary(4L, "新文章 & 更新")));
+        generator.onArticleChanged(ArticleChangedEvent.created(article(4L, "published"), List.of()));
+
+        FeedDocument regenerated = generator.getRss();
+        assertNotSame(rss, regenerated);
+        assertNotSame(atom, generator.getAtom());
+        assertTrue(body(regenerated).contains("<title>新文章 &amp; 更新</title>"));
+        verify(articleMapper, times(4)).findAllPublished(anyInt(), anyInt());
+    }
+
+    @Test
+    void sitemapSplitsIntoChunksWithIndex() {
+        String index = body(generator.getSitemap());
+        assertTrue(index.contains("<sitemapindex"));
+        assertTrue(index.contains("https://example.com/sitemap-1.xml"));
+        assertTrue(index.contains("https://example.com/sitemap-2.xml"));
+
+        assertTrue(body(generator.getSitemapChunk(1)).contains("/articles/2</loc>"));
+        String second = body(generator.getSitemapChunk(2));
+        assertTrue(second.contains("/articles/3</loc>"));
+        assertFalse(second.contains("/articles/1</loc>"));
+        assertNull(generator.getSitemapChunk(3));
+    }
+
+    @Test
+    void changeOnlyRegeneratesAffectedAndLaterChunks() {
+        FeedDocument first = generator.getSitemapChunk(1);
+        FeedDocument second = generator.getSitemapChunk(2);
+
+        generator.onArticleChanged(ArticleChangedEvent.created(article(4L, "published"), List.of()));
+
+        assertSame(first, generator.getSitemapChunk(1));
+        FeedDocument regenerated = generator.getSitemapChunk(2);
+        assertNotSame(second, regenerated);
+        assertTrue(body(regenerated).contains("/articles/4</loc>"));
+    }
+
+    @Test
+    void unpublishedArticleLeavesSitemap() {
+        FeedDocument first = generator.getSitemapChunk(1);
+
+        Article before = article(1L, "published");
+        generator.onArticleChanged(ArticleChangedEvent.deleted(before, List.of()));
+
+        // 删除第一篇后所有条目前移，分片数减为一时 /sitemap.xml 直接返回站点地图
+        String sitemap = body(generator.getSitemap());
+        assertNotSame(first, generator.getSitemapChunk(1));
+        assertTrue(sitemap.contains("<urlset"));
+        assertFalse(sitemap.contains("/articles/1</loc>"));
+        assertTrue(sitemap.contains("/articles/3</loc>"));
+        assertNull(generator.getSitemapChunk(2));
+    }
+
+    private static String body(FeedDocument document) {
+        return new String(document.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static ArticleSummary summary(Long id, String title) {
+        ArticleSummary summary = new ArticleSummary();
+        summary.setId(id);
+        summary.setTitle(title);
+        summary.setStatus("published");
+        summary.setPublishedAt(UPDATED.minusDays(id));
+        summary.setUpdatedAt(UPDATED);
+        return summary;
+    }
+
+    private static Article article(Long id, String status) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedAt(UPDATED);
+        article.setUpdatedAt(UPDATED);
+        return article;
+    }
+}
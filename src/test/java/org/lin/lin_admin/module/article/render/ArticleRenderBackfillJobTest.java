@@ -0,0 +1,90 @@
+package org.lin.lin_admin.module.article.render;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.cache.ArticleDetailCache;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleRenderBackfillJobTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleDetailCache articleDetailCache;
+
+    private ArticleRenderBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        articleDetailCache = mock(ArticleDetailCache.class);
+        MarkdownRenderer renderer = new MarkdownRenderer();
+        ReflectionTestUtils.setField(renderer, "objectMapper", new ObjectMapper());
+
+        job = new ArticleRenderBackfillJob();
+        ReflectionTestUtils.setField(job, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(job, "markdownRenderer", renderer);
+        ReflectionTestUtils.setField(job, "articleDetailCache", articleDetailCache);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+    }
+
+    @Test
+    void processesRowsInBatchesAfterLastId() {
+        when(articleMapper.findUnrenderedAfter(0, 2)).thenReturn(List.of(article(1L), article(3L)));
+        when(articleMapper.findUnrenderedAfter(3, 2)).thenReturn(List.of(article(4L), article(7L)));
+        when(articleMapper.findUnrenderedAfter(7, 2)).thenReturn(List.of(article(9L)));
+        when(articleMapper.findUnrenderedAfter(9, 2)).thenReturn(List.of());
+
+        assertEquals(5, job.run());
+
+        InOrder order = inOrder(articleMapper);
+        order.verify(articleMapper).findUnrenderedAfter(0, 2);
+        order.verify(articleMapper, times(2)).updateRendered(any(Article.class));
+        order.verify(articleMapper).findUnrenderedAfter(3, 2);
+        order.verify(articleMapper, times(2)).updateRendered(any(Article.class));
+        order.verify(articleMapper).findUnrenderedAfter(7, 2);
+        order.verify(articleMapper).updateRendered(any(Article.class));
+        order.verify(articleMapper).findUnrenderedAfter(9, 2);
+
+        ArgumentCaptor<Article> captor = ArgumentCaptor.forClass(Article.class);
+        verify(articleMapper, times(5)).updateRendered(captor.capture());
+        for (Article rendered : captor.getAllValues()) {
+            assertEquals("<h2 id=\"section-" + rendered.getId() + "\">Section " + rendered.getId() + "</h2>\n",
+                    rendered.getContentHtml());
+            assertTrue(rendered.getToc().contains("section-" + rendered.getId()));
+            assertEquals(2, rendered.getWordCount());
+            verify(articleDetailCache).invalidate(rendered.getId());
+        }
+    }
+
+    @Test
+    void nothingToRenderWritesNothing() {
+        when(articleMapper.findUnrenderedAfter(0, 2)).thenReturn(List.of());
+
+        assertEquals(0, job.run());
+        verify(articleMapper, never()).updateRendered(any(Article.class));
+    }
+
+    private static Article article(Long id) {
+        Article article = new Article();
+        article.setId(id);
+        article.setContent("## Section " + id);
+        return article;
+    }
+}
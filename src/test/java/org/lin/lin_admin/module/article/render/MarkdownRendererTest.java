@@ -0,0 +1,92 @@
+package org.lin.lin_admin.module.article.render;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.model.Article;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownRendererTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MarkdownRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new MarkdownRenderer();
+        ReflectionTestUtils.setField(renderer, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void headingAnchorsMatchToc() {
+        RenderedContent rendered = renderer.render("""
+                # Getting Started
+
+                ## Install `redis`
+
+                ## Getting Started
+                """);
+
+        assertEquals(List.of("getting-started", "install-redis", "getting-started-1"),
+                rendered.getToc().stream().map(TocItem::getAnchor).toList());
+        assertEquals(List.of(1, 2, 2), rendered.getToc().stream().map(TocItem::getLevel).toList());
+        assertEquals("Install redis", rendered.getToc().get(1).getText());
+        assertTrue(rendered.getHtml().contains("<h1 id=\"getting-started\">Getting Started</h1>"));
+        assertTrue(rendered.getHtml().contains("<h2 id=\"install-redis\">Install <code>redis</code></h2>"));
+        assertTrue(rendered.getHtml().contains("<h2 id=\"getting-started-1\">"));
+    }
+
+    @Test
+    void rendersTablesAndStrikethrough() {
+        String html = renderer.render("""
+                | a | b |
+                |---|---|
+                | 1 | 2 |
+
+                ~~old~~
+                """).getHtml();
+
+        assertTrue(html.contains("<table>"));
+        assertTrue(html.contains("<td>1</td>"));
+        assertTrue(html.contains("<del>old</del>"));
+    }
+
+    @Test
+    void wordCountSkipsCodeBlocks() {
+        RenderedContent rendered = renderer.render("""
+                中文内容 and english words
+
+                ```java
+                int ignored = 1;
+                ```
+                """);
+
+        assertEquals(7, rendered.getWordCount());
+        assertEquals(1, rendered.getReadingTime());
+        assertEquals(0, renderer.render("").getReadingTime());
+    }
+
+    @Test
+    void renderIntoFillsPersistedFields() throws Exception {
+        Article article = new Article();
+        article.setContent("# 标题\n\n正文 text");
+
+        renderer.renderInto(article);
+
+        assertTrue(article.getContentHtml().startsWith("<h1 id="));
+        assertTrue(article.getContentHtml().contains("<p>正文 text</p>"));
+        assertEquals(5, article.getWordCount());
+        assertEquals(1, article.getReadingTime());
+        JsonNode toc = objectMapper.readTree(article.getToc());
+        assertEquals(1, toc.size());
+        assertEquals("标题", toc.get(0).get("text").asText());
+        assertEquals(1, toc.get(0).get("level").asInt());
+    }
+}
@@ -0,0 +1,61 @@
+package org.lin.lin_admin.module.article.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownTextExtractorTest {
+
+    @Test
+    void stripsBlockAndInlineMarkup() {
+        String markdown = """
+                # 标题 #
+
+                这是 **加粗**、*斜体*、~~删除~~ 和 `code` 以及 [链接](https://example.com) ![图片](a.png)。
+
+                > 引用内容
+                - [x] 任务
+                1. 有序项
+
+                ---
+
+                | 列1 | 列2 |
+                |-----|:---:|
+                | a | b |
+
+                <div>html</div> <https://example.com/x> snake_case
+                """;
+
+        assertEquals("标题\n"
+                + "这是 加粗、斜体、删除 和 code 以及 链接 图片。\n"
+                + "引用内容\n"
+                + "任务\n"
+                + "有序项\n"
+                + "列1 列2\n"
+                + "a b\n"
+                + "html https://example.com/x snake_case",
+                MarkdownTextExtractor.extract(markdown, Integer.MAX_VALUE, false));
+    }
+
+    @Test
+    void codeBlocksAreOptional() {
+        String markdown = "前文\n\n```java\nint x = 1;\n```\n\n后文";
+
+        assertEquals("前文\n后文", MarkdownTextExtractor.extract(markdown, Integer.MAX_VALUE, false));
+        assertEquals("前文\nint x = 1;\n后文", MarkdownTextExtractor.extract(markdown, Integer.MAX_VALUE, true));
+    }
+
+    @Test
+    void summaryStopsAtLimit() {
+        String markdown = "**开头**" + "文字".repeat(100_000);
+
+        String summary = MarkdownTextExtractor.summary(markdown, 150);
+
+        assertEquals(153, summary.length());
+        assertTrue(summary.startsWith("开头文字"));
+        assertTrue(summary.endsWith("..."));
+        assertEquals("短文", MarkdownTextExtractor.summary("## 短文", 150));
+        assertEquals("", MarkdownTextExtractor.summary("  \n\n ", 150));
+    }
+}
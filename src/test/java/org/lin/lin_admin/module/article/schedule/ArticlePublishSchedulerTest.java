@@ -0,0 +1,74 @@
+package org.lin.lin_admin.module.article.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 定时发布调度器单元测试
+ */
+class ArticlePublishSchedulerTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticlePublishScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        scheduler = new ArticlePublishScheduler();
+        ReflectionTestUtils.setField(scheduler, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(scheduler, "tickMs", 1000L);
+        ReflectionTestUtils.setField(scheduler, "wheelSize", 60);
+        when(articleMapper.findScheduled()).thenReturn(List.of());
+        scheduler.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void importedScheduledArticlesAreRegisteredOnBulkChange() {
+        when(articleMapper.findScheduled()).thenReturn(List.of(
+                scheduled(1L, LocalDateTime.now().plusDays(1)),
+                scheduled(2L, LocalDateTime.now().minusMinutes(1))));
+
+        scheduler.onArticlesBulkChanged(new ArticleBulkChangedEvent("导入文章", 2));
+
+        assertEquals(2, scheduler.getPendingCount());
+    }
+
+    @Test
+    void articleChangesRescheduleAndCancel() {
+        Article article = scheduled(1L, LocalDateTime.now().plusHours(1));
+        scheduler.onArticleChanged(ArticleChangedEvent.created(article, List.of()));
+        assertEquals(1, scheduler.getPendingCount());
+
+        Article draft = scheduled(1L, null);
+        draft.setStatus("draft");
+        scheduler.onArticleChanged(ArticleChangedEvent.updated(article, draft, null, null));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    private static Article scheduled(Long id, LocalDateTime publishAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus("scheduled");
+        article.setPublishAt(publishAt);
+        return article;
+    }
+}
@@ -0,0 +1,99 @@
+package org.lin.lin_admin.module.article.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分层时间轮单元测试
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void expiresOnDeadlineTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 10, START);
+        assertTrue(wheel.add(1L, START + 2500));
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(START + 2999, expired::add);
+        assertTrue(expired.isEmpty());
+
+        // 到期时间向上取整到 tick
+        wheel.advance(START + 3000, expired::add);
+        assertEquals(List.of(1L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsDeadlineThatIsAlreadyDue() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 10, START);
+        assertFalse(wheel.add(1L, START));
+        assertFalse(wheel.add(2L, START - 60_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFarDeadlinesThroughHigherLevels() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 10, START);
+        long far = START + 12_345_000;
+        assertTrue(wheel.add(1L, far));
+        assertTrue(wheel.levelCount() > 1);
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(far - 1000, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(far, expired::add);
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void everyEntryExpiresExactlyOnItsTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 8, START);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            long deadline = START + 1000 + random.nextInt(3_000_000);
+            deadlines.put(id, deadline);
+            assertTrue(wheel.add(id, deadline));
+        }
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        for (long now = START; now <= START + 3_002_000; now += 700) {
+            long tickTime = now - Math.floorMod(now, 1000);
+            wheel.advance(now, id -> expiredAt.put(id, tickTime));
+        }
+
+        assertEquals(deadlines.size(), expiredAt.size());
+        for (Map.Entry<Long, Long> entry : deadlines.entrySet()) {
+            long expected = (entry.getValue() + 999) / 1000 * 1000;
+            assertEquals(expected, expiredAt.get(entry.getKey()), "id " + entry.getKey());
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void acceptsEntriesAddedWhileAdvancing() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1000, 4, START);
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(START + 7000, expired::add);
+        assertTrue(wheel.add(1L, START + 7001));
+        assertTrue(wheel.add(2L, START + 100_000));
+
+        wheel.advance(START + 8000, expired::add);
+        assertEquals(List.of(1L), expired);
+        wheel.advance(START + 99_000, expired::add);
+        assertEquals(List.of(1L), expired);
+        wheel.advance(START + 100_000, expired::add);
+        assertEquals(List.of(1L, 2L), expired);
+    }
+}
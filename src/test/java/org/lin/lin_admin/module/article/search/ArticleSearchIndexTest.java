@@ -0,0 +1,136 @@
+package org.lin.lin_admin.module.article.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.lin.lin_admin.module.article.vo.ArticleSearchVO;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章全文索引单元测试
+ */
+class ArticleSearchIndexTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        MarkdownRenderer markdownRenderer = new MarkdownRenderer();
+        ReflectionTestUtils.setField(markdownRenderer, "objectMapper", new ObjectMapper());
+
+        index = new ArticleSearchIndex();
+        ReflectionTestUtils.setField(index, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(index, "markdownRenderer", markdownRenderer);
+        ReflectionTestUtils.setField(index, "rebuildBatchSize", 2);
+    }
+
+    @Test
+    void ranksTitleMatchesAndHigherTermFrequencyFirst() {
+        // 标题命中按3倍词频计
+        index.index(article(1L, "Redis", "redis"));
+        index.index(article(2L, "数据库", "redis redis"));
+        index.index(article(3L, "数据库", "redis"));
+        index.index(article(4L, "Java", "虚拟机"));
+
+        PageResult<ArticleSearchVO> result = index.search("Redis", 1, 10);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(1L, 2L, 3L), ids(result));
+        assertTrue(result.getContent().get(0).getScore() > result.getContent().get(1).getScore());
+        assertTrue(result.getContent().get(1).getScore() > result.getContent().get(2).getScore());
+    }
+
+    @Test
+    void pagesRankedResultsAndToleratesHugePageNumbers() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(article(id, "标题" + id, "redis ".repeat((int) id)));
+        }
+
+        assertEquals(List.of(5L, 4L), ids(index.search("redis", 1, 2)));
+        assertEquals(List.of(1L), ids(index.search("redis", 3, 2)));
+        assertTrue(index.search("redis", 4, 2).getContent().isEmpty());
+
+        // page * size 超出 int 范围
+        PageResult<ArticleSearchVO> far = index.search("redis", 429496730, 10);
+        assertTrue(far.getContent().isEmpty());
+        assertEquals(5, far.getTotal());
+    }
+
+    @Test
+    void highlightsMergedBigramsAtStoredOffsets() {
+        String content = "a".repeat(50) + "搜索引擎" + "b".repeat(200);
+        index.index(article(1L, "a<b>搜索引擎入门", content));
+
+        ArticleSearchVO hit = index.search("搜索引擎", 1, 10).getContent().get(0);
+
+        assertEquals("a&lt;b&gt;<em>搜索引擎</em>入门", hit.getHighlightedTitle());
+        // 命中位置前保留40个字符、后保留到命中位置起100个字符
+        assertEquals("..." + "a".repeat(40) + "<em>搜索引擎</em>" + "b".repeat(96) + "...", hit.getSnippet());
+    }
+
+    @Test
+    void snippetWithoutContentMatchIsDocumentHead() {
+        index.index(article(1L, "Redis", "短正文"));
+
+        ArticleSearchVO hit = index.search("redis", 1, 10).getContent().get(0);
+
+        assertEquals("<em>Redis</em>", hit.getHighlightedTitle());
+        assertEquals("短正文", hit.getSnippet());
+    }
+
+    @Test
+    void updatesCommittedDuringRebuildAreKept() {
+        index.index(article(2L, "旧标题", "kafka"));
+        when(articleMapper.findPublishedAfterId(eq(0L), anyInt())).thenAnswer(invocation -> {
+            // 读取第一批后、替换前提交的写操作
+            index.index(article(9L, "新文章", "kafka"));
+            index.remove(2L);
+            return List.of(article(1L, "第一篇", "redis"), article(2L, "旧标题", "kafka"));
+        });
+        when(articleMapper.findPublishedAfterId(eq(2L), anyInt())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(List.of(9L), ids(index.search("kafka", 1, 10)));
+        assertEquals(List.of(1L), ids(index.search("redis", 1, 10)));
+        assertEquals(2, index.size());
+
+        // 重建结束后的写操作不再记录
+        index.remove(9L);
+        when(articleMapper.findPublishedAfterId(anyLong(), anyInt())).thenReturn(List.of());
+        index.rebuild();
+        assertEquals(0, index.size());
+    }
+
+    private static List<Long> ids(PageResult<ArticleSearchVO> result) {
+        return result.getContent().stream().map(ArticleSearchVO::getId).toList();
+    }
+
+    private static Article article(Long id, String title, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setStatus("published");
+        article.setPublishedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(id));
+        return article;
+    }
+}
@@ -0,0 +1,119 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * 标签位图索引单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleTagIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @InjectMocks
+    private ArticleTagIndex index;
+
+    /**
+     * 文章1~6按ID顺序发布；标签1：1,2,3,4；标签2：2,4,6
+     */
+    @BeforeEach
+    void setUp() {
+        List<ArticleSummary> published = new ArrayList<>();
+        List<ArticleTag> tags = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            ArticleSummary article = new ArticleSummary();
+            article.setId(id);
+            article.setPublishedAt(BASE.plusDays(id));
+            published.add(article);
+            if (id <= 4) {
+                tags.add(tag(id, 1L));
+            }
+            if (id % 2 == 0) {
+                tags.add(tag(id, 2L));
+            }
+        }
+        when(articleMapper.findPublishedOrder()).thenReturn(published);
+        when(tagMapper.findPublishedArticleTags()).thenReturn(tags);
+        index.reload();
+    }
+
+    @Test
+    void matchAllIntersectsNewestFirst() {
+        PageResult<Long> page = index.page(List.of(1L, 2L), true, 1, 10);
+
+        assertEquals(List.of(4L, 2L), page.getContent());
+        assertEquals(2, page.getTotal());
+    }
+
+    @Test
+    void matchAnyUnionsAndSlicesPages() {
+        assertEquals(List.of(6L, 4L), index.page(List.of(1L, 2L), false, 1, 2).getContent());
+        assertEquals(List.of(3L, 2L), index.page(List.of(1L, 2L), false, 2, 2).getContent());
+        assertEquals(List.of(1L), index.page(List.of(1L, 2L), false, 3, 2).getContent());
+        assertEquals(5, index.page(List.of(1L, 2L), false, 3, 2).getTotal());
+        assertEquals(0, index.page(List.of(1L, 99L), true, 1, 10).getTotal());
+    }
+
+    @Test
+    void eventsKeepIndexInSync() {
+        // 新发布的文章排在最前
+        index.onArticleChanged(ArticleChangedEvent.created(article(7L, BASE.plusDays(7), "published"), List.of(1L)));
+        assertEquals(List.of(7L, 4L), index.page(List.of(1L), false, 1, 2).getContent());
+
+        // 补发的历史文章按发布时间插入中间
+        index.onArticleChanged(ArticleChangedEvent.created(article(8L, BASE.plusHours(36), "published"), List.of(1L)));
+        assertEquals(List.of(7L, 4L, 3L, 2L, 8L, 1L), index.page(List.of(1L), false, 1, 10).getContent());
+
+        // 修改标签
+        index.onArticleChanged(ArticleChangedEvent.updated(article(3L, BASE.plusDays(3), "published"),
+                article(3L, BASE.plusDays(3), "published"), List.of(1L), List.of(2L)));
+        assertEquals(List.of(6L, 4L, 3L, 2L), index.page(List.of(2L), false, 1, 10).getContent());
+
+        // 取消发布和删除
+        index.onArticleChanged(ArticleChangedEvent.updated(article(6L, BASE.plusDays(6), "published"),
+                article(6L, BASE.plusDays(6), "draft"), null, null));
+        index.onArticleChanged(ArticleChangedEvent.deleted(article(4L, BASE.plusDays(4), "published"), List.of(1L, 2L)));
+        assertEquals(List.of(3L, 2L), index.page(List.of(2L), false, 1, 10).getContent());
+        assertEquals(4, index.count(1L));
+    }
+
+    private static Article article(Long id, LocalDateTime publishedAt, String status) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+
+    private static ArticleTag tag(Long articleId, Long tagId) {
+        ArticleTag row = new ArticleTag();
+        row.setArticleId(articleId);
+        row.setTagId(tagId);
+        return row;
+    }
+}
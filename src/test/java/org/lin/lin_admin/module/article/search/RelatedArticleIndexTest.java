@@ -0,0 +1,111 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 相关文章索引单元测试
+ */
+class RelatedArticleIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private ArticleTagIndex tagIndex;
+
+    private RelatedArticleIndex relatedIndex;
+
+    /**
+     * 文章1：标签1,2；文章2：标签1,2；文章3：标签1；文章4：标签3
+     */
+    @BeforeEach
+    void setUp() {
+        ArticleMapper articleMapper = mock(ArticleMapper.class);
+        TagMapper tagMapper = mock(TagMapper.class);
+        List<ArticleSummary> published = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            ArticleSummary article = new ArticleSummary();
+            article.setId(id);
+            article.setPublishedAt(BASE.plusDays(id));
+            published.add(article);
+        }
+        when(articleMapper.findPublishedOrder()).thenReturn(published);
+        when(tagMapper.findPublishedArticleTags()).thenReturn(List.of(
+                tag(1L, 1L), tag(1L, 2L), tag(2L, 1L), tag(2L, 2L), tag(3L, 1L), tag(4L, 3L)));
+
+        tagIndex = new ArticleTagIndex();
+        ReflectionTestUtils.setField(tagIndex, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(tagIndex, "tagMapper", tagMapper);
+        tagIndex.reload();
+
+        relatedIndex = new RelatedArticleIndex();
+        ReflectionTestUtils.setField(relatedIndex, "articleTagIndex", tagIndex);
+        ReflectionTestUtils.setField(relatedIndex, "topK", 2);
+        ReflectionTestUtils.setField(relatedIndex, "halfLifeDays", 180.0);
+        relatedIndex.rebuild();
+    }
+
+    @Test
+    void ranksBySharedTagsThenRecency() {
+        assertEquals(List.of(2L, 3L), relatedIndex.getRelated(1L, 10));
+        assertEquals(List.of(1L, 3L), relatedIndex.getRelated(2L, 10));
+        assertEquals(List.of(2L, 1L), relatedIndex.getRelated(3L, 10));
+        assertEquals(List.of(), relatedIndex.getRelated(4L, 10));
+        assertEquals(List.of(2L), relatedIndex.getRelated(1L, 1));
+    }
+
+    @Test
+    void changesUpdateAffectedLists() {
+        // 新文章与文章1标签完全相同且更新，进入文章1、2的列表
+        publish(ArticleChangedEvent.created(article(5L, "published"), List.of(1L, 2L)));
+        assertEquals(List.of(5L, 2L), relatedIndex.getRelated(1L, 10));
+        assertEquals(List.of(5L, 1L), relatedIndex.getRelated(2L, 10));
+        assertEquals(List.of(5L, 2L), relatedIndex.getRelated(3L, 10));
+
+        // 删除后引用它的列表重新补齐
+        publish(ArticleChangedEvent.deleted(article(5L, "published"), List.of(1L, 2L)));
+        assertEquals(List.of(2L, 3L), relatedIndex.getRelated(1L, 10));
+        assertEquals(List.of(2L, 1L), relatedIndex.getRelated(3L, 10));
+
+        // 修改标签后不再相关
+        publish(ArticleChangedEvent.updated(article(2L, "published"), article(2L, "published"),
+                List.of(1L, 2L), List.of(3L)));
+        assertEquals(List.of(3L), relatedIndex.getRelated(1L, 10));
+        assertEquals(List.of(4L), relatedIndex.getRelated(2L, 10));
+        assertEquals(List.of(2L), relatedIndex.getRelated(4L, 10));
+    }
+
+    private void publish(ArticleChangedEvent event) {
+        tagIndex.onArticleChanged(event);
+        relatedIndex.onArticleChanged(event);
+    }
+
+    private static Article article(Long id, String status) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedAt(BASE.plusDays(id));
+        return article;
+    }
+
+    private static ArticleTag tag(Long articleId, Long tagId) {
+        ArticleTag row = new ArticleTag();
+        row.setArticleId(articleId);
+        row.setTagId(tagId);
+        return row;
+    }
+}
@@ -0,0 +1,43 @@
+package org.lin.lin_admin.module.article.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 搜索分词器单元测试
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void indexTokensMixCjkBigramsUnigramsAndLowercasedWords() {
+        List<SearchTokenizer.Token> tokens = SearchTokenizer.tokenizeForIndex("Java搜索引擎v2");
+
+        assertEquals(List.of("java", "搜", "搜索", "索", "索引", "引", "引擎", "擎", "v2"), terms(tokens));
+        assertEquals(List.of("0-4", "4-5", "4-6", "5-6", "5-7", "6-7", "6-8", "7-8", "8-10"), offsets(tokens));
+    }
+
+    @Test
+    void queryTokensUseBigramsOnlyUnlessCjkRunIsSingleChar() {
+        assertEquals(List.of("spring", "搜索", "索引", "引擎"), terms(SearchTokenizer.tokenizeForQuery("Spring 搜索引擎")));
+        assertEquals(List.of("用", "redis"), terms(SearchTokenizer.tokenizeForQuery("用 Redis")));
+    }
+
+    @Test
+    void punctuationSplitsTokensAndKeepsOriginalOffsets() {
+        List<SearchTokenizer.Token> tokens = SearchTokenizer.tokenizeForIndex("Hello, 世界!");
+
+        assertEquals(List.of("hello", "世", "世界", "界"), terms(tokens));
+        assertEquals(List.of("0-5", "7-8", "7-9", "8-9"), offsets(tokens));
+    }
+
+    private static List<String> terms(List<SearchTokenizer.Token> tokens) {
+        return tokens.stream().map(SearchTokenizer.Token::getTerm).toList();
+    }
+
+    private static List<String> offsets(List<SearchTokenizer.Token> tokens) {
+        return tokens.stream().map(token -> token.getStart() + "-" + token.getEnd()).toList();
+    }
+}
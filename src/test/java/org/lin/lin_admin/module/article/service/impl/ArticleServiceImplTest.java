@@ -0,0 +1,498 @@
+package org.lin.lin_admin.module.article.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.lin.lin_admin.common.exception.VersionConflictException;
+import org.lin.lin_admin.common.paging.CursorPage;
+import org.lin.lin_admin.common.paging.PageResult;
+import org.lin.lin_admin.common.response.BatchResult;
+import org.lin.lin_admin.module.article.cache.ArticleDetailCache;
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.counter.ArticleViewCounter;
+import org.lin.lin_admin.module.article.dto.ArticleCursor;
+import org.lin.lin_admin.module.article.dto.ArticleDTO;
+import org.lin.lin_admin.module.article.dto.ArticleQuery;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleSummary;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.lin.lin_admin.module.article.search.ArticleTagIndex;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章服务单元测试，通过Mock的Mapper统计每次调用执行的SQL语句数
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleServiceImplTest {
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @Mock
+    private ArticleDetailCache articleDetailCache;
+
+    @Mock
+    private MarkdownRenderer markdownRenderer;
+
+    @Mock
+    private ArticleViewCounter articleViewCounter;
+
+    @Mock
+    private ArticleTagIndex articleTagIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @SuppressWarnings("unchecked")
+    void findAllPublishedLoadsTagsWithSingleQuery(int size) {
+        List<ArticleSummary> articles = articles(size);
+        when(articleMapper.findAllPublished(0, size)).thenReturn(articles);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(tagRows(articles));
+        when(tagDictionary.names(anyList())).thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).stream()
+                .map(tagId -> "tag-" + tagId).toList());
+
+        List<ArticleVO> result = articleService.findAllPublished(1, size);
+
+        assertEquals(size, result.size());
+        for (ArticleVO vo : result) {
+            assertEquals(List.of("tag-" + vo.getId()), vo.getTags());
+        }
+        verify(articleMapper, times(1)).findAllPublished(0, size);
+        verify(tagMapper, times(1)).findByArticleIds(anyList());
+        verifyNoMoreInteractions(articleMapper, tagMapper);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void pageByStatusLoadsTagsWithSingleQuery(int size) {
+        List<ArticleSummary> articles = articles(size);
+        when(articleMapper.findPage(any(ArticleQuery.class), anyInt(), eq(size))).thenReturn(articles);
+        when(articleMapper.countByQuery(any(ArticleQuery.class))).thenReturn((long) size);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(new ArrayList<>());
+
+        articleService.page(1, size, "published");
+
+        verify(tagMapper, times(1)).findByArticleIds(anyList());
+        verifyNoMoreInteractions(tagMapper);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void pageWithoutStatusIsPagedInDatabase(int size) {
+        when(articleMapper.findPage(any(ArticleQuery.class), eq(2 * size), eq(size))).thenReturn(articles(size));
+        when(articleMapper.countByQuery(any(ArticleQuery.class))).thenReturn(1000L);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(new ArrayList<>());
+
+        PageResult<ArticleVO> result = articleService.page(3, size, null);
+
+        assertEquals(size, result.getContent().size());
+        assertEquals(1000L, result.getTotal());
+        ArgumentCaptor<ArticleQuery> captor = ArgumentCaptor.forClass(ArticleQuery.class);
+        verify(articleMapper, times(1)).findPage(captor.capture(), eq(2 * size), eq(size));
+        verify(articleMapper, times(1)).countByQuery(any(ArticleQuery.class));
+        verify(articleMapper, never()).findAll();
+        verifyNoMoreInteractions(articleMapper);
+        assertNull(captor.getValue().getStatuses());
+    }
+
+    @Test
+    void pageWithFiltersPassesQueryToMapper() {
+        ArticleQuery query = new ArticleQuery();
+        query.setPageNum(1);
+        query.setPageSize(20);
+        query.setStatuses(List.of("draft", "archived"));
+        query.setAuthorId(7L);
+        query.setCreatedFrom(LocalDateTime.of(2025, 1, 1, 0, 0));
+        query.setCreatedTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+        when(articleMapper.findPage(query, 0, 20)).thenReturn(articles(20));
+        when(articleMapper.countByQuery(query)).thenReturn(20L);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(new ArrayList<>());
+
+        PageResult<ArticleVO> result = articleService.page(query);
+
+        assertEquals(20, result.getContent().size());
+        assertEquals(1, result.getTotalPages());
+    }
+
+    @Test
+    void emptyPageSkipsTagQuery() {
+        when(articleMapper.findAllPublished(0, 10)).thenReturn(new ArrayList<>());
+
+        List<ArticleVO> result = articleService.findAllPublished(1, 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(tagMapper);
+    }
+
+    @Test
+    void findPublishedAfterReturnsCursorOfLastRow() {
+        List<ArticleSummary> articles = articles(3);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (ArticleSummary article : articles) {
+            article.setPublishedAt(base.minusDays(article.getId()));
+        }
+        when(articleMapper.findPublishedAfter(null, null, 3)).thenReturn(articles);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(new ArrayList<>());
+
+        CursorPage<ArticleVO> page = articleService.findPublishedAfter("", 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasMore());
+        ArticleCursor cursor = ArticleCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(base.minusDays(2), cursor.getPublishedAt());
+    }
+
+    @Test
+    void findPopularOverFetchesOnlyTwiceTheLimit() {
+        when(articleViewCounter.getPopular(4)).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(articleTagIndex.getPublishedAt(anyLong())).thenAnswer(invocation ->
+                (Long) invocation.getArgument(0) % 2 == 1 ? LocalDateTime.now() : null);
+        when(articleMapper.findSummariesByIds(List.of(1L, 3L))).thenReturn(articles(3));
+
+        List<ArticleVO> result = articleService.findPopular(2);
+
+        assertEquals(List.of(1L, 3L), result.stream().map(ArticleVO::getId).toList());
+        verify(articleViewCounter, never()).getPopular(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void findPopularFallsBackToFullRankingWhenTooFewArePublished() {
+        when(articleViewCounter.getPopular(4)).thenReturn(List.of(2L, 4L, 6L, 8L));
+        when(articleViewCounter.getPopular(Integer.MAX_VALUE)).thenReturn(List.of(2L, 4L, 6L, 8L, 9L, 10L, 11L));
+        when(articleTagIndex.getPublishedAt(anyLong())).thenAnswer(invocation ->
+                (Long) invocation.getArgument(0) > 8 ? LocalDateTime.now() : null);
+        when(articleMapper.findSummariesByIds(List.of(9L, 10L))).thenReturn(List.of());
+
+        articleService.findPopular(2);
+
+        verify(articleMapper).findSummariesByIds(List.of(9L, 10L));
+    }
+
+    @Test
+    void findPopularDoesNotFallBackWhenRankingIsShort() {
+        when(articleViewCounter.getPopular(4)).thenReturn(List.of(2L));
+
+        assertTrue(articleService.findPopular(2).isEmpty());
+
+        verify(articleViewCounter, never()).getPopular(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void changeStatusUpdatesStatusColumnsWithoutLoadingContent() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "draft", 3));
+        when(articleMapper.updateStatus(eq(1L), eq("published"), any(LocalDateTime.class), any(LocalDateTime.class), eq(3)))
+                .thenReturn(1);
+        when(tagMapper.findTagIdsByArticleId(1L)).thenReturn(new ArrayList<>());
+
+        ArticleVO result = articleService.changeStatus(1L, "published", null, 1L);
+
+        assertEquals("published", result.getStatus());
+        assertEquals(4, result.getVersion());
+        assertEquals(result.getUpdatedAt(), result.getPublishedAt());
+        verify(articleMapper, times(1)).findHeadById(1L);
+        verify(articleMapper, times(1)).updateStatus(eq(1L), eq("published"), any(LocalDateTime.class), any(LocalDateTime.class), eq(3));
+        verifyNoMoreInteractions(articleMapper);
+        verify(eventPublisher, times(1)).publishEvent(any(ArticleChangedEvent.class));
+    }
+
+    @Test
+    void changeStatusWithStaleVersionIsRejectedBeforeWriting() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "draft", 3));
+
+        assertThrows(VersionConflictException.class, () -> articleService.changeStatus(1L, "published", 2, 1L));
+
+        verify(articleMapper, never()).updateStatus(any(), any(), any(), any(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateWritesOnlyChangedColumns() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "published", 0));
+        when(articleMapper.updateSelective(any(Article.class), eq(0))).thenReturn(1);
+        when(tagMapper.findTagIdsByArticleId(1L)).thenReturn(new ArrayList<>());
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(1L);
+        dto.setTitle("new title");
+
+        ArticleVO result = articleService.update(dto, 1L);
+
+        ArgumentCaptor<Article> captor = ArgumentCaptor.forClass(Article.class);
+        verify(articleMapper).updateSelective(captor.capture(), eq(0));
+        Article changes = captor.getValue();
+        assertEquals("new title", changes.getTitle());
+        assertNull(changes.getContent());
+        assertNull(changes.getSummary());
+        assertNull(changes.getStatus());
+        assertEquals("new title", result.getTitle());
+        assertEquals("summary-1", result.getSummary());
+        assertEquals(1, result.getVersion());
+        verify(articleMapper, never()).findById(any());
+    }
+
+    @Test
+    void createStoresRenderedHtml() {
+        useRealRenderer();
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle("title");
+        dto.setContent("## Intro\n\n**bold** text");
+
+        ArticleVO result = articleService.create(dto, 1L);
+
+        ArgumentCaptor<Article> captor = ArgumentCaptor.forClass(Article.class);
+        verify(articleMapper).insert(captor.capture());
+        Article inserted = captor.getValue();
+        assertEquals("<h2 id=\"intro\">Intro</h2>\n<p><strong>bold</strong> text</p>\n", inserted.getContentHtml());
+        assertTrue(inserted.getToc().contains("\"anchor\":\"intro\""));
+        assertEquals(3, inserted.getWordCount());
+        assertEquals(1, inserted.getReadingTime());
+        assertEquals(inserted.getContentHtml(), result.getContentHtml());
+    }
+
+    @Test
+    void updateRerendersOnlyWhenContentChanges() {
+        useRealRenderer();
+        when(articleMapper.findHeadById(1L)).thenAnswer(invocation -> head(1L, "published", 0));
+        when(articleMapper.updateSelective(any(Article.class), anyInt())).thenReturn(1);
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(1L);
+        dto.setContent("# New");
+
+        articleService.update(dto, 1L);
+
+        ArgumentCaptor<Article> captor = ArgumentCaptor.forClass(Article.class);
+        verify(articleMapper).updateSelective(captor.capture(), eq(0));
+        assertEquals("<h1 id=\"new\">New</h1>\n", captor.getValue().getContentHtml());
+        assertEquals(1, captor.getValue().getWordCount());
+
+        ArticleDTO titleOnly = new ArticleDTO();
+        titleOnly.setId(1L);
+        titleOnly.setTitle("renamed");
+        articleService.update(titleOnly, 1L);
+
+        verify(articleMapper, times(2)).updateSelective(captor.capture(), eq(0));
+        Article changes = captor.getValue();
+        assertNull(changes.getContentHtml());
+        assertNull(changes.getToc());
+        assertNull(changes.getWordCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @SuppressWarnings("unchecked")
+    void createAssignsTagsWithConstantNumberOfStatements(int count) {
+        List<Long> tagIds = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tagIds.add(id);
+        }
+        when(tagDictionary.filterExisting(anyList())).thenReturn(tagIds);
+        ArticleDTO dto = new ArticleDTO();
+        dto.setTitle("title");
+        dto.setContent("content");
+        dto.setTagIds(tagIds);
+
+        articleService.create(dto, 1L);
+
+        ArgumentCaptor<List<ArticleTag>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tagDictionary, times(1)).filterExisting(tagIds);
+        verify(tagMapper, times(1)).insertArticleTags(captor.capture());
+        verifyNoMoreInteractions(tagMapper);
+        assertEquals(count, captor.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateWritesOnlyChangedTagPairs() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "published", 0));
+        when(articleMapper.updateSelective(any(Article.class), eq(0))).thenReturn(1);
+        when(tagMapper.findTagIdsByArticleId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(tagDictionary.filterExisting(anyList())).thenReturn(List.of(2L, 3L, 4L, 5L));
+        when(tagDictionary.names(List.of(2L, 3L, 4L, 5L))).thenReturn(List.of("b", "c", "d", "e"));
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(1L);
+        dto.setTitle("title");
+        dto.setTagIds(List.of(2L, 3L, 4L, 5L, 4L, 99L));
+
+        ArticleVO result = articleService.update(dto, 1L);
+
+        ArgumentCaptor<List<ArticleTag>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(tagMapper, times(1)).findTagIdsByArticleId(1L);
+        verify(tagDictionary, times(1)).filterExisting(List.of(2L, 3L, 4L, 5L, 99L));
+        verify(tagMapper, times(1)).deleteArticleTags(1L, List.of(1L));
+        verify(tagMapper, times(1)).insertArticleTags(inserted.capture());
+        verifyNoMoreInteractions(tagMapper);
+        assertEquals(List.of(4L, 5L), inserted.getValue().stream().map(ArticleTag::getTagId).toList());
+        assertEquals(List.of("b", "c", "d", "e"), result.getTags());
+
+        ArgumentCaptor<ArticleChangedEvent> event = ArgumentCaptor.forClass(ArticleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(1L, 2L, 3L), event.getValue().getBeforeTagIds());
+        assertEquals(List.of(2L, 3L, 4L, 5L), event.getValue().getAfterTagIds());
+    }
+
+    @Test
+    void updateWithUnchangedTagsOnlyReads() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "published", 0));
+        when(articleMapper.updateSelective(any(Article.class), eq(0))).thenReturn(1);
+        when(tagMapper.findTagIdsByArticleId(1L)).thenReturn(List.of(1L, 2L));
+        when(tagDictionary.filterExisting(anyList())).thenReturn(List.of(2L, 1L));
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(1L);
+        dto.setTitle("title");
+        dto.setTagIds(List.of(2L, 1L));
+
+        articleService.update(dto, 1L);
+
+        verify(tagMapper, times(1)).findTagIdsByArticleId(1L);
+        verify(tagDictionary, times(1)).filterExisting(anyList());
+        verifyNoMoreInteractions(tagMapper);
+        ArgumentCaptor<ArticleChangedEvent> event = ArgumentCaptor.forClass(ArticleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(!event.getValue().isTagsChanged());
+    }
+
+    @Test
+    void updateLosingVersionRaceThrowsConflict() {
+        when(articleMapper.findHeadById(1L)).thenReturn(head(1L, "draft", 5));
+        when(articleMapper.updateSelective(any(Article.class), eq(5))).thenReturn(0);
+        ArticleDTO dto = new ArticleDTO();
+        dto.setId(1L);
+        dto.setTitle("new title");
+
+        assertThrows(VersionConflictException.class, () -> articleService.update(dto, 1L));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteBatchUsesConstantNumberOfStatements() {
+        List<Long> ids = new ArrayList<>();
+        List<Article> heads = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            ids.add(id);
+            Article head = head(id, "published", 0);
+            if (id % 100 == 0) {
+                head.setAuthorId(2L);
+            }
+            heads.add(head);
+        }
+        ids.add(9999L);
+        when(articleMapper.lockHeadsByIds(anyList())).thenReturn(heads);
+        when(tagMapper.findByArticleIds(anyList())).thenReturn(new ArrayList<>());
+
+        BatchResult result = articleService.deleteBatch(ids, 1L);
+
+        assertEquals(495, result.getSucceeded().size());
+        assertEquals(6, result.getFailed().size());
+        assertEquals("文章不存在", result.getFailed().get(9999L));
+        ArgumentCaptor<List<Long>> captor = ArgumentCaptor.forClass(List.class);
+        verify(articleMapper, times(1)).lockHeadsByIds(anyList());
+        verify(articleMapper, times(1)).deleteByIds(captor.capture(), eq(1L));
+        assertEquals(495, captor.getValue().size());
+        verify(tagMapper, times(1)).findByArticleIds(anyList());
+        verify(tagMapper, times(1)).deleteArticleTagsByArticleIds(anyList());
+        verifyNoMoreInteractions(articleMapper, tagMapper);
+        verify(eventPublisher, times(495)).publishEvent(any(ArticleChangedEvent.class));
+    }
+
+    @Test
+    void changeStatusBatchSkipsArticlesAlreadyInTargetStatus() {
+        when(articleMapper.lockHeadsByIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(head(1L, "draft", 0), head(2L, "published", 0), head(3L, "draft", 0)));
+
+        BatchResult result = articleService.changeStatusBatch(List.of(1L, 2L, 3L, 2L), "published", 1L);
+
+        assertTrue(result.isAllSucceeded());
+        assertEquals(List.of(2L, 1L, 3L), result.getSucceeded());
+        verify(articleMapper, times(1)).updateStatusByIds(eq(List.of(1L, 3L)), eq("published"),
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(1L));
+        verify(eventPublisher, times(2)).publishEvent(any(ArticleChangedEvent.class));
+    }
+
+    /**
+     * 使用真实的Markdown渲染器，校验写入数据库的渲染结果
+     */
+    private void useRealRenderer() {
+        MarkdownRenderer renderer = new MarkdownRenderer();
+        ReflectionTestUtils.setField(renderer, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(articleService, "markdownRenderer", renderer);
+    }
+
+    private static Article head(Long id, String status, int version) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle("title-" + id);
+        article.setSummary("summary-" + id);
+        article.setAuthorId(1L);
+        article.setStatus(status);
+        article.setVersion(version);
+        return article;
+    }
+
+    private static List<ArticleSummary> articles(int count) {
+        List<ArticleSummary> articles = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ArticleSummary article = new ArticleSummary();
+            article.setId(id);
+            article.setTitle("title-" + id);
+            article.setStatus("published");
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    private static List<ArticleTag> tagRows(List<ArticleSummary> articles) {
+        List<ArticleTag> rows = new ArrayList<>();
+        for (ArticleSummary article : articles) {
+            ArticleTag row = new ArticleTag();
+            row.setArticleId(article.getId());
+            row.setTagId(article.getId());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
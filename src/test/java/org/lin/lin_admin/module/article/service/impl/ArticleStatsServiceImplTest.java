@@ -0,0 +1,193 @@
+package org.lin.lin_admin.module.article.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.GroupCount;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章统计单元测试，通过事件驱动计数器并检查增量结果
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleStatsServiceImplTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    private static final LocalDateTime FEB = LocalDateTime.of(2025, 2, 10, 10, 0);
+
+    @Mock
+    private ArticleMapper articleMapper;
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private TagDictionary tagDictionary;
+
+    @InjectMocks
+    private ArticleStatsServiceImpl statsService;
+
+    /**
+     * 初始：草稿2篇、已发布3篇（均为1月），标签1关联2篇、标签2关联1篇
+     */
+    @BeforeEach
+    void setUp() {
+        when(articleMapper.countGroupByStatus()).thenReturn(List.of(count("draft", 2), count("published", 3)));
+        when(articleMapper.countPublishedGroupByMonth()).thenReturn(List.of(count("2025-01", 3)));
+        when(tagMapper.countGroupByTag()).thenReturn(List.of(count("1", 2), count("2", 1)));
+        statsService.reload();
+    }
+
+    @Test
+    void publishMovesStatusAndAddsMonth() {
+        statsService.onArticleChanged(ArticleChangedEvent.updated(
+                article(10L, "draft", null), article(10L, "published", FEB), null, null));
+
+        Map<String, Object> stats = stats();
+        assertEquals(1L, stats.get("draftCount"));
+        assertEquals(4L, stats.get("publishedCount"));
+        assertEquals(5L, stats.get("totalCount"));
+        assertEquals(Map.of("2025-01", 3L, "2025-02", 1L), stats.get("monthlyPublishedCounts"));
+    }
+
+    @Test
+    void unpublishRemovesMonthAndKeepsTags() {
+        statsService.onArticleChanged(ArticleChangedEvent.updated(
+                article(10L, "published", JAN), article(10L, "archived", JAN), null, null));
+
+        Map<String, Object> stats = stats();
+        assertEquals(2L, stats.get("publishedCount"));
+        assertEquals(1L, stats.get("archivedCount"));
+        assertEquals(5L, stats.get("totalCount"));
+        assertEquals(Map.of("2025-01", 2L), stats.get("monthlyPublishedCounts"));
+        assertEquals(Map.of(1L, 2L, 2L, 1L), tagCounts(stats));
+    }
+
+    @Test
+    void deleteDecrementsStatusMonthAndTagsAndDropsEmptyBuckets() {
+        statsService.onArticleChanged(ArticleChangedEvent.deleted(article(10L, "published", JAN), List.of(1L, 2L)));
+
+        Map<String, Object> stats = stats();
+        assertEquals(2L, stats.get("publishedCount"));
+        assertEquals(4L, stats.get("totalCount"));
+        assertEquals(Map.of("2025-01", 2L), stats.get("monthlyPublishedCounts"));
+        // 计数归零的标签不再出现
+        assertEquals(Map.of(1L, 1L), tagCounts(stats));
+    }
+
+    @Test
+    void createAndTagChangeAdjustTagBuckets() {
+        statsService.onArticleChanged(ArticleChangedEvent.created(article(10L, "draft", null), List.of(3L)));
+        statsService.onArticleChanged(ArticleChangedEvent.updated(
+                article(10L, "draft", null), article(10L, "draft", null), List.of(3L), List.of(1L)));
+
+        Map<String, Object> stats = stats();
+        assertEquals(3L, stats.get("draftCount"));
+        assertEquals(6L, stats.get("totalCount"));
+        assertEquals(Map.of(1L, 3L, 2L, 1L), tagCounts(stats));
+        assertEquals(List.of(1L, 2L), tagList(stats).stream().map(item -> item.get("tagId")).toList());
+        assertEquals("java", tagList(stats).get(0).get("name"));
+    }
+
+    @Test
+    void bulkImportReloadsFromDatabase() {
+        statsService.onArticleChanged(ArticleChangedEvent.created(article(10L, "draft", null), List.of()));
+        when(articleMapper.countGroupByStatus()).thenReturn(List.of(count("published", 100)));
+        when(articleMapper.countPublishedGroupByMonth()).thenReturn(List.of(count("2025-02", 100)));
+        when(tagMapper.countGroupByTag()).thenReturn(List.of(count("2", 100)));
+
+        statsService.onArticlesBulkChanged(new ArticleBulkChangedEvent("导入文章", 100));
+
+        Map<String, Object> stats = stats();
+        assertEquals(0L, stats.get("draftCount"));
+        assertEquals(100L, stats.get("totalCount"));
+        assertEquals(Map.of("2025-02", 100L), stats.get("monthlyPublishedCounts"));
+        assertEquals(Map.of(2L, 100L), tagCounts(stats));
+    }
+
+    @Test
+    void changeCommittedDuringReloadIsNotLost() throws Exception {
+        Thread[] changer = new Thread[1];
+        CountDownLatch loading = new CountDownLatch(1);
+        when(articleMapper.countGroupByStatus()).thenAnswer(invocation -> {
+            loading.countDown();
+            // 等增量更新线程阻塞在锁上（或已执行完）后再完成加载
+            while (changer[0] == null || (changer[0].getState() != Thread.State.BLOCKED
+                    && changer[0].getState() != Thread.State.TERMINATED)) {
+                Thread.sleep(1);
+            }
+            return List.of(count("draft", 2), count("published", 3));
+        });
+
+        Thread reloader = new Thread(() -> statsService.onArticlesBulkChanged(new ArticleBulkChangedEvent("导入文章", 0)));
+        reloader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        changer[0] = new Thread(() -> statsService.onArticleChanged(ArticleChangedEvent.updated(
+                article(10L, "draft", null), article(10L, "published", JAN), null, null)));
+        changer[0].start();
+        reloader.join(5000);
+        changer[0].join(5000);
+
+        Map<String, Object> stats = stats();
+        assertEquals(1L, stats.get("draftCount"));
+        assertEquals(4L, stats.get("publishedCount"));
+        assertEquals(Map.of("2025-01", 4L), stats.get("monthlyPublishedCounts"));
+    }
+
+    private Map<String, Object> stats() {
+        lenient().when(tagDictionary.nameOf(1L)).thenReturn("java");
+        lenient().when(tagDictionary.nameOf(2L)).thenReturn("go");
+        Map<String, Object> stats = statsService.getStats();
+        // 标签名只从内存字典读取
+        verify(tagMapper, never()).findAll();
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> tagList(Map<String, Object> stats) {
+        return (List<Map<String, Object>>) stats.get("tagCounts");
+    }
+
+    private static Map<Long, Long> tagCounts(Map<String, Object> stats) {
+        return tagList(stats).stream()
+                .collect(Collectors.toMap(item -> (Long) item.get("tagId"), item -> (Long) item.get("count")));
+    }
+
+    private static GroupCount count(String key, long total) {
+        GroupCount count = new GroupCount();
+        count.setGroupKey(key);
+        count.setTotal(total);
+        return count;
+    }
+
+    private static Article article(Long id, String status, LocalDateTime publishedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+}
@@ -0,0 +1,130 @@
+package org.lin.lin_admin.module.article.storage;
+
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.model.Article;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.BeanUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 正文存储编码单元测试
+ */
+class ArticleContentCodecTest {
+
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    void storesShortContentAsPlainUtf8() {
+        String text = "# 标题\n\n短正文";
+        byte[] stored = ArticleContentCodec.encode(text, THRESHOLD, 6);
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), stored);
+        assertFalse(ArticleContentCodec.isEncoded(stored));
+        assertEquals(text, ArticleContentCodec.decode(stored));
+    }
+
+    @Test
+    void compressesLongContentWithMarker() {
+        String text = "```java\nSystem.out.println(\"中文代码块\");\n```\n".repeat(200);
+        byte[] stored = ArticleContentCodec.encode(text, THRESHOLD, 6);
+        assertTrue(ArticleContentCodec.isEncoded(stored));
+        assertEquals(ArticleContentCodec.FORMAT_DEFLATE, stored[1]);
+        assertTrue(stored.length < text.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertEquals(text, ArticleContentCodec.decode(stored));
+    }
+
+    @Test
+    void keepsContentUncompressedWhenDeflateDoesNotHelp() {
+        // 内容太短，压缩数据加上格式头比原文更长
+        String text = "abcdefgh";
+        byte[] stored = ArticleContentCodec.encode(text, 1, 6);
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(text, ArticleContentCodec.decode(stored));
+    }
+
+    @Test
+    void escapesPlainContentStartingWithMarkerByte() {
+        String text = "\u0000\u0001不是压缩数据";
+        byte[] stored = ArticleContentCodec.encode(text, THRESHOLD, 6);
+        assertEquals(ArticleContentCodec.FORMAT_RAW, stored[1]);
+        assertEquals(text, ArticleContentCodec.decode(stored));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThrows(IllegalStateException.class, () -> ArticleContentCodec.decode(new byte[]{0, 9, 1}));
+    }
+
+    @Test
+    void articleDecodesStoredContentLazily() {
+        String text = "正文".repeat(1000);
+        Article article = new Article();
+        article.setStoredContent(ArticleContentCodec.encode(text, THRESHOLD, 6));
+
+        long decodes = (long) ArticleContentCodec.getStats().get("decodeCalls");
+        String first = article.getContent();
+        assertEquals(text, first);
+        assertNull(article.getStoredContent());
+        assertSame(first, article.getContent());
+        assertEquals(decodes + 1, (long) ArticleContentCodec.getStats().get("decodeCalls"));
+    }
+
+    @Test
+    void copyingArticleKeepsDecodedContent() {
+        String text = "正文".repeat(1000);
+        Article source = new Article();
+        source.setStoredContent(ArticleContentCodec.encode(text, THRESHOLD, 6));
+
+        Article copy = new Article();
+        BeanUtils.copyProperties(source, copy);
+        assertEquals(text, copy.getContent());
+
+        // 源对象已解码后再复制，storedContent 为null，不能清掉正文
+        Article again = new Article();
+        BeanUtils.copyProperties(source, again);
+        assertEquals(text, again.getContent());
+    }
+
+    @Test
+    void roundTripsThroughTypeHandler() throws SQLException {
+        String text = "# 标题\n\n".concat("中文正文 english text\n".repeat(500));
+        ArticleContentTypeHandler handler = new ArticleContentTypeHandler(THRESHOLD, 6);
+        PreparedStatement ps = mock(PreparedStatement.class);
+
+        handler.setParameter(ps, 1, text, JdbcType.BLOB);
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(ps).setBytes(eq(1), captor.capture());
+        byte[] stored = captor.getValue();
+        assertTrue(ArticleContentCodec.isEncoded(stored));
+
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getBytes("content")).thenReturn(stored);
+        when(rs.getBytes("stored_content")).thenReturn(stored);
+        assertEquals(text, handler.getResult(rs, "content"));
+
+        // 读取文章时按 stored_content 映射，首次读取正文时解码
+        Article article = new Article();
+        article.setStoredContent(rs.getBytes("stored_content"));
+        assertEquals(text, article.getContent());
+
+        when(rs.getBytes("content")).thenReturn(null);
+        assertNull(handler.getResult(rs, "content"));
+    }
+}
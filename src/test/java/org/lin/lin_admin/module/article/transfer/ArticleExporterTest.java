@@ -0,0 +1,119 @@
+package org.lin.lin_admin.module.article.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.cache.TagDictionary;
+import org.lin.lin_admin.module.article.model.ArticleExportRow;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章导出单元测试
+ */
+class ArticleExporterTest {
+
+    private ArticleMapper articleMapper;
+
+    private TagDictionary tagDictionary;
+
+    private ObjectMapper objectMapper;
+
+    private ArticleExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        tagDictionary = mock(TagDictionary.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exporter = new ArticleExporter();
+        ReflectionTestUtils.setField(exporter, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(exporter, "tagDictionary", tagDictionary);
+        ReflectionTestUtils.setField(exporter, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void exportsEveryTagOfArticleWithManyTags() throws Exception {
+        List<Tag> tags = new ArrayList<>();
+        StringJoiner tagIds = new StringJoiner(",");
+        for (long id = 100_000; id < 100_300; id++) {
+            tags.add(new Tag(id, "tag" + id));
+            tagIds.add(String.valueOf(id));
+        }
+        // 超过 MySQL 默认的 group_concat_max_len
+        assertTrue(tagIds.length() > 1024);
+        when(tagDictionary.findAll()).thenReturn(tags);
+        mockCursor(row(1L, tagIds.toString()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exporter.export(out);
+
+        assertEquals(1, count);
+        ArticleRecord record = objectMapper.readValue(out.toString(StandardCharsets.UTF_8).trim(), ArticleRecord.class);
+        assertEquals(300, record.getTags().size());
+        assertEquals("tag100299", record.getTags().get(299));
+
+        InOrder order = inOrder(articleMapper);
+        order.verify(articleMapper).setGroupConcatMaxLen(ArticleExporter.TAG_IDS_MAX_LENGTH);
+        order.verify(articleMapper).cursorForExport();
+    }
+
+    @Test
+    void exportsScheduledPublishTime() throws Exception {
+        when(tagDictionary.findAll()).thenReturn(List.of());
+        ArticleExportRow row = row(1L, null);
+        row.setStatus("scheduled");
+        row.setPublishAt(LocalDateTime.of(2030, 1, 1, 8, 0));
+        mockCursor(row);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(out);
+
+        ArticleRecord record = objectMapper.readValue(out.toString(StandardCharsets.UTF_8).trim(), ArticleRecord.class);
+        assertEquals("scheduled", record.getStatus());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 8, 0), record.getPublishAt());
+    }
+
+    @Test
+    void truncatedTagIdsFailInsteadOfDroppingTags() {
+        when(tagDictionary.findAll()).thenReturn(List.of());
+        mockCursor(row(1L, "1,".repeat((int) ArticleExporter.TAG_IDS_MAX_LENGTH / 2)));
+
+        assertThrows(IllegalStateException.class, () -> exporter.export(new ByteArrayOutputStream()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockCursor(ArticleExportRow... rows) {
+        Cursor<ArticleExportRow> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(rows).iterator());
+        when(articleMapper.cursorForExport()).thenReturn(cursor);
+    }
+
+    private static ArticleExportRow row(Long id, String tagIds) {
+        ArticleExportRow row = new ArticleExportRow();
+        row.setId(id);
+        row.setTitle("title" + id);
+        row.setContent("content");
+        row.setStatus("published");
+        row.setTagIds(tagIds);
+        return row;
+    }
+}
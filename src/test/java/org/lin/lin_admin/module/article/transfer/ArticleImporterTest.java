@@ -0,0 +1,165 @@
+package org.lin.lin_admin.module.article.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lin.lin_admin.module.article.event.ArticleBulkChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.mapper.TagMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.model.ArticleTag;
+import org.lin.lin_admin.module.article.model.Tag;
+import org.lin.lin_admin.module.article.render.MarkdownRenderer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章导入单元测试，验证按批写入和进度回调
+ */
+class ArticleImporterTest {
+
+    private ArticleMapper articleMapper;
+
+    private TagMapper tagMapper;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private ArticleImporter importer;
+
+    /**
+     * 每次写入的文章副本，写入后批次会被清空复用
+     */
+    private final List<List<Article>> inserted = new ArrayList<>();
+
+    private final List<List<ArticleTag>> insertedTags = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        tagMapper = mock(TagMapper.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        AtomicLong nextId = new AtomicLong(1);
+        when(articleMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            articles.forEach(article -> article.setId(nextId.getAndIncrement()));
+            inserted.add(new ArrayList<>(articles));
+            return articles.size();
+        });
+        when(tagMapper.insertArticleTags(anyList())).thenAnswer(invocation -> {
+            List<ArticleTag> rows = invocation.getArgument(0);
+            insertedTags.add(new ArrayList<>(rows));
+            return rows.size();
+        });
+        Tag existing = new Tag();
+        existing.setId(7L);
+        existing.setName("java");
+        when(tagMapper.findByNames(anyList())).thenReturn(List.of(existing));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        importer = new ArticleImporter();
+        ReflectionTestUtils.setField(importer, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(importer, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(importer, "markdownRenderer", mock(MarkdownRenderer.class));
+        ReflectionTestUtils.setField(importer, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(importer, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(importer, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(importer, "batchSize", 100);
+        ReflectionTestUtils.setField(importer, "batchChars", 1L << 20);
+    }
+
+    @Test
+    void importsInBatchesAndReportsProgress() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 250; i++) {
+            if (i == 42) {
+                ndjson.append("{\"title\":\"\",\"content\":\"x\"}\n");
+            } else if (i == 43) {
+                ndjson.append("not json\n");
+            } else {
+                ndjson.append("{\"title\":\"t").append(i).append("\",\"content\":\"# body\",\"status\":\"published\",")
+                        .append("\"createdAt\":\"2024-01-01T00:00:00\",\"tags\":[\"java\",\" java \"]}\n");
+            }
+            if (i == 100) {
+                ndjson.append("\n");
+            }
+        }
+        List<ImportProgress> events = new ArrayList<>();
+
+        ImportProgress result = importer.importArticles(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1L, events::add);
+
+        assertEquals(250L, result.getProcessed());
+        assertEquals(248L, result.getImported());
+        assertEquals(2L, result.getFailed());
+
+        assertEquals(List.of(100, 100, 48), inserted.stream().map(List::size).toList());
+        Article first = inserted.get(0).get(0);
+        assertEquals(first.getCreatedAt(), first.getPublishedAt());
+        assertEquals(1L, first.getAuthorId());
+
+        assertEquals(3, insertedTags.size());
+        assertEquals(248, insertedTags.stream().mapToInt(List::size).sum());
+        assertEquals(7L, insertedTags.get(0).get(0).getTagId());
+
+        List<ImportProgress> errors = events.stream().filter(e -> ImportProgress.ERROR.equals(e.getType())).toList();
+        assertEquals(List.of(42, 43), errors.stream().map(ImportProgress::getLine).toList());
+        assertEquals(3, events.stream().filter(e -> ImportProgress.PROGRESS.equals(e.getType())).count());
+        verify(eventPublisher, times(1)).publishEvent(any(ArticleBulkChangedEvent.class));
+    }
+
+    @Test
+    void failedBatchIsCountedAndImportContinues() throws Exception {
+        when(articleMapper.insertBatch(anyList()))
+                .thenThrow(new RuntimeException("packet too large"))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        ReflectionTestUtils.setField(importer, "batchSize", 2);
+        String ndjson = "{\"title\":\"a\",\"content\":\"a\"}\n".repeat(3);
+        List<ImportProgress> events = new ArrayList<>();
+
+        ImportProgress result = importer.importArticles(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 1L, events::add);
+
+        assertEquals(1L, result.getImported());
+        assertEquals(2L, result.getFailed());
+        assertEquals(1, events.stream().filter(e -> ImportProgress.ERROR.equals(e.getType())).count());
+    }
+
+    @Test
+    void scheduledArticlesKeepPublishTimeAndRequireIt() throws Exception {
+        String ndjson = "{\"title\":\"a\",\"content\":\"a\",\"status\":\"scheduled\",\"publishAt\":\"2030-01-01T08:00:00\"}\n"
+                + "{\"title\":\"b\",\"content\":\"b\",\"status\":\"scheduled\"}\n";
+        List<ImportProgress> events = new ArrayList<>();
+
+        ImportProgress result = importer.importArticles(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), 1L, events::add);
+
+        assertEquals(1L, result.getImported());
+        assertEquals(1L, result.getFailed());
+        Article article = inserted.get(0).get(0);
+        assertEquals("scheduled", article.getStatus());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 8, 0), article.getPublishAt());
+        assertNull(article.getPublishedAt());
+        assertEquals(List.of(2), events.stream().filter(e -> ImportProgress.ERROR.equals(e.getType()))
+                .map(ImportProgress::getLine).toList());
+    }
+}
@@ -0,0 +1,330 @@
+package org.lin.lin_admin.module.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lin.lin_admin.common.config.WebConfig;
+import org.lin.lin_admin.module.article.event.ArticleChangedEvent;
+import org.lin.lin_admin.module.article.event.TagChangedEvent;
+import org.lin.lin_admin.module.article.mapper.ArticleMapper;
+import org.lin.lin_admin.module.article.model.Article;
+import org.lin.lin_admin.module.article.service.ArticleService;
+import org.lin.lin_admin.module.article.vo.ArticleVO;
+import org.lin.lin_admin.module.tool.service.ToolService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.handler.AbstractHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 静态快照发布单元测试
+ * 文章数据由内存中的已发布列表模拟，快照写入临时目录
+ */
+class SnapshotPublisherTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @TempDir
+    Path snapshotDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /**
+     * 按发布时间倒序排列的已发布文章
+     */
+    private final List<ArticleVO> published = new ArrayList<>();
+
+    private final Map<Long, ArticleVO> articles = new LinkedHashMap<>();
+
+    private ArticleService articleService;
+
+    private ArticleMapper articleMapper;
+
+    private SnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        SnapshotStore snapshotStore = new SnapshotStore();
+        ReflectionTestUtils.setField(snapshotStore, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(snapshotStore, "snapshotDir", snapshotDir.toString());
+        ReflectionTestUtils.setField(snapshotStore, "gzip", true);
+
+        articleService = mock(ArticleService.class);
+        articleMapper = mock(ArticleMapper.class);
+        ToolService toolService = mock(ToolService.class);
+        when(toolService.findAll()).thenReturn(List.of());
+        when(articleService.getById(anyLong())).thenAnswer(invocation -> articles.get(invocation.<Long>getArgument(0)));
+        when(articleService.findAllPublished(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int page = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            int from = (page - 1) * size;
+            if (from >= published.size()) {
+                return List.of();
+            }
+            return new ArrayList<>(published.subList(from, Math.min(from + size, published.size())));
+        });
+        when(articleMapper.findPublishedAfterId(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return published.stream()
+                    .map(ArticleVO::getId)
+                    .filter(id -> id > afterId)
+                    .sorted()
+                    .limit(limit)
+                    .map(SnapshotPublisherTest::article)
+                    .toList();
+        });
+
+        publisher = new SnapshotPublisher();
+        ReflectionTestUtils.setField(publisher, "snapshotStore", snapshotStore);
+        ReflectionTestUtils.setField(publisher, "articleService", articleService);
+        ReflectionTestUtils.setField(publisher, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(publisher, "toolService", toolService);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(publisher, "maxPages", 20);
+    }
+
+    @Test
+    void publishAllWritesOneFilePerPageAndArticle() throws IOException {
+        publish(5);
+
+        publisher.publishAll();
+
+        assertEquals(List.of("1.json", "2.json", "3.json", "4.json", "5.json",
+                "page-1.json", "page-2.json", "page-3.json"), articleFiles());
+        assertEquals(List.of(5L, 4L), pageIds(1));
+        assertEquals(List.of(3L, 2L), pageIds(2));
+        assertEquals(List.of(1L), pageIds(3));
+        assertTrue(Files.exists(snapshotDir.resolve("tools.json")));
+    }
+
+    @Test
+    void publishAllRemovesStaleSnapshots() throws IOException {
+        publish(5);
+        publisher.publishAll();
+
+        unpublish(5L);
+        unpublish(4L);
+        publisher.publishAll();
+
+        assertEquals(List.of("1.json", "2.json", "3.json", "page-1.json", "page-2.json"), articleFiles());
+        assertFalse(Files.exists(snapshotDir.resolve("articles/page-3.json.gz")));
+        assertFalse(Files.exists(snapshotDir.resolve("articles/5.json.gz")));
+    }
+
+    @Test
+    void publishAllStopsAtMaxPages() throws IOException {
+        ReflectionTestUtils.setField(publisher, "maxPages", 2);
+        publish(7);
+
+        publisher.publishAll();
+
+        assertTrue(articleFiles().contains("page-2.json"));
+        assertFalse(articleFiles().contains("page-3.json"));
+        verify(articleService, never()).findAllPublished(eq(3), anyInt());
+    }
+
+    @Test
+    void emptyListStillWritesFirstPage() throws IOException {
+        publisher.publishAll();
+
+        assertEquals(List.of("page-1.json"), articleFiles());
+        assertEquals(List.of(), pageIds(1));
+    }
+
+    @Test
+    void unpublishRewritesFromAffectedPage() throws Exception {
+        publish(5);
+        publisher.publishAll();
+        clearInvocations(articleService);
+
+        // 文章3位于第2页（前面有2篇），取消发布后第2页起整体前移，原第3页不再存在
+        ArticleVO removed = unpublish(3L);
+        when(articleMapper.countPublishedBefore(removed.getPublishedAt(), 3L)).thenReturn(2L);
+        Article before = article(3L);
+        before.setPublishedAt(removed.getPublishedAt());
+        Article after = article(3L);
+        after.setStatus("draft");
+        publisher.onArticleChanged(ArticleChangedEvent.updated(before, after, null, null));
+        awaitPublisher();
+
+        assertEquals(List.of("1.json", "2.json", "4.json", "5.json", "page-1.json", "page-2.json"), articleFiles());
+        assertEquals(List.of(2L, 1L), pageIds(2));
+        verify(articleService, never()).findAllPublished(eq(1), anyInt());
+    }
+
+    @Test
+    void tagChangeRepublishesEverySnapshot() throws Exception {
+        publish(3);
+        articles.values().forEach(vo -> vo.setTags(List.of("java")));
+        publisher.publishAll();
+
+        // 标签重命名后文章本身未变化，快照只能由标签事件触发重写
+        articles.values().forEach(vo -> vo.setTags(List.of("kotlin")));
+        publisher.onTagChanged(new TagChangedEvent(1L));
+        awaitPublisher();
+
+        for (long id = 1; id <= 3; id++) {
+            JsonNode detail = objectMapper.readTree(snapshotDir.resolve("articles/" + id + ".json").toFile());
+            assertEquals("kotlin", detail.get("data").get("tags").get(0).asText());
+        }
+        JsonNode page = objectMapper.readTree(snapshotDir.resolve("articles/page-1.json").toFile());
+        page.get("data").forEach(node -> assertEquals("kotlin", node.get("tags").get(0).asText()));
+        assertArrayEquals(Files.readAllBytes(snapshotDir.resolve("articles/1.json")),
+                gunzip(snapshotDir.resolve("articles/1.json.gz")));
+    }
+
+    @Test
+    void compressedSnapshotMatchesJson() throws IOException {
+        publish(1);
+        publisher.publishAll();
+
+        Path json = snapshotDir.resolve("articles/page-1.json");
+        Path gzipped = snapshotDir.resolve("articles/page-1.json.gz");
+        assertArrayEquals(Files.readAllBytes(json), gunzip(gzipped));
+    }
+
+    @Test
+    void snapshotsAreServedPrecompressed() throws Exception {
+        publish(1);
+        publisher.publishAll();
+
+        WebConfig webConfig = new WebConfig();
+        ReflectionTestUtils.setField(webConfig, "uploadDir", snapshotDir.resolve("uploads").toString());
+        ReflectionTestUtils.setField(webConfig, "snapshotDir", snapshotDir.toString());
+        MockServletContext servletContext = new MockServletContext();
+        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context.setServletContext(servletContext);
+        context.refresh();
+        ExposedRegistry registry = new ExposedRegistry(context, servletContext);
+        webConfig.addResourceHandlers(registry);
+        AbstractHandlerMapping mapping = registry.handlerMapping();
+        mapping.setApplicationContext(context);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/snapshots/articles/page-1.json");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerExecutionChain chain = mapping.getHandler(request);
+        assertNotNull(chain);
+        for (HandlerInterceptor interceptor : chain.getInterceptorList()) {
+            interceptor.preHandle(request, response, chain.getHandler());
+        }
+        ResourceHttpRequestHandler handler = (ResourceHttpRequestHandler) chain.getHandler();
+        handler.afterPropertiesSet();
+        handler.handleRequest(request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(Files.readAllBytes(snapshotDir.resolve("articles/page-1.json.gz")), response.getContentAsByteArray());
+    }
+
+    private void publish(int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (long id = 1; id <= count; id++) {
+            ArticleVO vo = new ArticleVO();
+            vo.setId(id);
+            vo.setTitle("文章" + id);
+            vo.setStatus("published");
+            vo.setPublishedAt(base.plusDays(id));
+            articles.put(id, vo);
+            published.add(0, vo);
+        }
+    }
+
+    private ArticleVO unpublish(Long id) {
+        ArticleVO vo = articles.get(id);
+        vo.setStatus("draft");
+        published.remove(vo);
+        return vo;
+    }
+
+    private void awaitPublisher() throws InterruptedException {
+        publisher.shutdown();
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(publisher, "executor");
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private List<String> articleFiles() throws IOException {
+        try (var files = Files.list(snapshotDir.resolve("articles"))) {
+            List<String> names = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .sorted()
+                    .toList();
+            for (String name : names) {
+                assertTrue(Files.exists(snapshotDir.resolve("articles/" + name + ".gz")), name + " 缺少压缩版本");
+            }
+            return names;
+        }
+    }
+
+    private List<Long> pageIds(int page) throws IOException {
+        JsonNode data = objectMapper.readTree(snapshotDir.resolve("articles/page-" + page + ".json").toFile()).get("data");
+        List<Long> ids = new ArrayList<>();
+        data.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    private static byte[] gunzip(Path path) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Article article(Long id) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus("published");
+        return article;
+    }
+
+    /**
+     * 暴露 WebConfig 注册出的资源处理映射
+     */
+    private static class ExposedRegistry extends ResourceHandlerRegistry {
+
+        ExposedRegistry(StaticWebApplicationContext context, MockServletContext servletContext) {
+            super(context, servletContext);
+        }
+
+        AbstractHandlerMapping handlerMapping() {
+            return getHandlerMapping();
+        }
+    }
+}